@@ -0,0 +1,29 @@
+package com.quizme.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+/**
+ * Runs the QuizMe benchmarks with the GC profiler attached, so that every result
+ * reports the throughput, the latency percentiles and the allocation rate.
+ * Any standard JMH command line option can be passed in, e.g. a benchmark name regex.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+
+        //Runs every QuizMe benchmark when no benchmark was picked on the command line
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("com\\.quizme\\.benchmark\\..*");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
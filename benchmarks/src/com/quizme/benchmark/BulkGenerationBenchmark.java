@@ -0,0 +1,45 @@
+package com.quizme.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionGenerator;
+
+/**
+ * Compares generating large question sets on one thread against generating them on the fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkGenerationBenchmark {
+
+    @Param({"ALGEBRA", "SHAPES"})
+    public Topic topic;
+
+    @Param({"10000", "100000"})
+    public int amount;
+
+    private QuestionGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new QuestionGenerator();
+    }
+
+    @Benchmark
+    public Question[] sequential() {
+        return generator.generateQuestions(topic, Difficulty.HARD, amount, true);
+    }
+
+    @Benchmark
+    public Question[] parallel() {
+        return generator.generateQuestionsParallel(topic, Difficulty.HARD, amount, true);
+    }
+}
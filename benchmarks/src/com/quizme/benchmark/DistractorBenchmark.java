@@ -0,0 +1,88 @@
+package com.quizme.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.base.DistractorEngine;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+import com.quizme.generator.modules.algebra.AlgebraQuestionGenerator;
+import com.quizme.generator.modules.shapes.modules.TriangleQuestionGenerator;
+import com.quizme.generator.modules.shapes.modules.RectangleQuestionGenerator;
+
+/**
+ * Measures the cost of making the wrong answers of a multiple choice question distinct.
+ * The multiple choices of a question are rendered every time they're requested, so getMultipleChoices
+ * is compared against getAnswer, which formats a single answer, and pickDistractors is the engine on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistractorBenchmark {
+
+    private static final int QUESTION_COUNT = 1024;
+
+    @Param({"ALGEBRA", "RECTANGLE", "TRIANGLE"})
+    public String module;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    private final Question[] questions = new Question[QUESTION_COUNT];
+    private final long[][] candidates = new long[QUESTION_COUNT][];
+    private int index;
+
+    @Setup
+    public void setup() {
+        AbstractQuestionGenerator generator;
+
+        switch (module) {
+            case "ALGEBRA":
+                generator = new AlgebraQuestionGenerator();
+                break;
+
+            case "RECTANGLE":
+                generator = new RectangleQuestionGenerator();
+                break;
+
+            case "TRIANGLE":
+            default:
+                generator = new TriangleQuestionGenerator();
+                break;
+        }
+
+        //Cycling through many questions stops the branches from being predicted perfectly
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            questions[i] = generator.generateQuestion(difficulty, true);
+            candidates[i] = new long[] {i % 7, (i % 5) - 2, i % 3};
+        }
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (QUESTION_COUNT - 1);
+        return index;
+    }
+
+    @Benchmark
+    public String getAnswer() {
+        return questions[nextIndex()].getAnswer();
+    }
+
+    @Benchmark
+    public String[] getMultipleChoices() {
+        return questions[nextIndex()].getMultipleChoices();
+    }
+
+    /**
+     * The candidates collide with the answer and with each other often, so some are replaced
+     */
+    @Benchmark
+    public long[] pickDistractors() {
+        return DistractorEngine.pick(2, candidates[nextIndex()], 3, 1, code -> code > 0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.quizme.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.quizme.generator.formatting.MathFormat;
+import com.quizme.generator.modules.shapes.models.Units;
+
+/**
+ * Compares the String.format calls the generators used to make against MathFormat.
+ * Run it through BenchmarkRunner to see the allocation rate (gc.alloc.rate.norm) of each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormattingBenchmark {
+
+    private final Units units = Units.CM;
+    private double decimal = 12.5;
+    private int number = 42;
+    private char variable = 'x';
+
+    @Benchmark
+    public String decimalMeasurementFormatter() {
+        return String.format("%.2f%s%c", decimal, units, MathFormat.SQUARED).toLowerCase();
+    }
+
+    @Benchmark
+    public String decimalMeasurementMathFormat() {
+        StringBuilder sb = MathFormat.appendFixed2(MathFormat.buffer(), decimal);
+        return MathFormat.appendUnits(sb, units, true).toString();
+    }
+
+    @Benchmark
+    public String integerMeasurementFormatter() {
+        return String.format("%d%s%s", number, units.toString().toLowerCase(), MathFormat.SQUARED);
+    }
+
+    @Benchmark
+    public String integerMeasurementMathFormat() {
+        StringBuilder sb = MathFormat.appendInt(MathFormat.buffer(), number);
+        return MathFormat.appendUnits(sb, units, true).toString();
+    }
+
+    @Benchmark
+    public String bracketFormatter() {
+        return String.format("(%s %s %s)", variable, number > 0 ? '+' : '-', Math.abs(number));
+    }
+
+    @Benchmark
+    public String bracketMathFormat() {
+        return MathFormat.appendBracket(MathFormat.buffer(), variable, number).toString();
+    }
+}
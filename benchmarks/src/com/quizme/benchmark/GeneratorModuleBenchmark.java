@@ -0,0 +1,74 @@
+package com.quizme.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+import com.quizme.generator.modules.algebra.AlgebraQuestionGenerator;
+import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
+import com.quizme.generator.modules.shapes.modules.TriangleQuestionGenerator;
+import com.quizme.generator.modules.shapes.modules.RectangleQuestionGenerator;
+
+/**
+ * Measures the cost of generating a single question with each generator module,
+ * for every difficulty level and with and without multiple choices.
+ * Run it with more threads (e.g. -t 4) to see how generation scales across cores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorModuleBenchmark {
+
+    @Param({"ALGEBRA", "SHAPES", "RECTANGLE", "TRIANGLE"})
+    public String module;
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    @Param({"false", "true"})
+    public boolean multiChoice;
+
+    private AbstractQuestionGenerator generator;
+
+    @Setup
+    public void setup() {
+        switch (module) {
+            case "ALGEBRA":
+                generator = new AlgebraQuestionGenerator();
+                break;
+
+            case "SHAPES":
+                generator = new ShapesQuestionGenerator();
+                break;
+
+            case "RECTANGLE":
+                generator = new RectangleQuestionGenerator();
+                break;
+
+            case "TRIANGLE":
+            default:
+                generator = new TriangleQuestionGenerator();
+                break;
+        }
+    }
+
+    @Benchmark
+    public Question generateQuestion() {
+        return generator.generateQuestion(difficulty, multiChoice);
+    }
+
+    /**
+     * Shape images are only rendered when they're displayed, this includes the cost of displaying it
+     */
+    @Benchmark
+    public Object generateAndRenderQuestion() {
+        Question question = generator.generateQuestion(difficulty, multiChoice);
+        return question.hasImage() ? question.getRasterImage() : question;
+    }
+}
@@ -0,0 +1,54 @@
+package com.quizme.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionGenerator;
+
+/**
+ * Measures the cost of generating a whole quiz through both QuestionGenerator.generateQuestions overloads.
+ * The score is per quiz, divide it by the amount to get the cost per question.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionGeneratorBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    @Param({"false", "true"})
+    public boolean multiChoice;
+
+    @Param({"10", "99"})
+    public int amount;
+
+    private QuestionGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new QuestionGenerator();
+    }
+
+    @Benchmark
+    public Question[] algebraQuiz() {
+        return generator.generateQuestions(Topic.ALGEBRA, difficulty, amount, multiChoice);
+    }
+
+    @Benchmark
+    public Question[] shapesQuiz() {
+        return generator.generateQuestions(Topic.SHAPES, difficulty, amount, multiChoice);
+    }
+
+    @Benchmark
+    public Question[] mixedQuiz() {
+        return generator.generateQuestions(difficulty, amount, multiChoice);
+    }
+}
@@ -4,17 +4,20 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import com.quizme.app.misc.ResourceCache;
 
 public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) throws Exception {
+        //Starts loading the images and sounds of the quiz window in the background while the setup window opens
+        ResourceCache resources = ResourceCache.getDefault();
+
         Parent root = FXMLLoader.load(getClass().getResource("/com/quizme/app/views/ViewSetup.fxml"));
         primaryStage.setTitle("QuizMe - Setup");
         primaryStage.setScene(new Scene(root));
-        primaryStage.getIcons().add(new Image("com/quizme/app/resources/images/main-icon.png"));
+        primaryStage.getIcons().add(resources.getMainIcon());
 
         primaryStage.setResizable(false);
         primaryStage.sizeToScene();
@@ -10,17 +10,22 @@ import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
 import javafx.event.ActionEvent;
-import javafx.scene.media.Media;
+import javafx.scene.media.AudioClip;
 import javafx.fxml.Initializable;
 import javafx.scene.input.KeyEvent;
 import javafx.application.Platform;
 import javafx.scene.image.ImageView;
-import javafx.scene.media.MediaPlayer;
 import javafx.scene.effect.GaussianBlur;
 import javafx.animation.RotateTransition;
 
 import com.quizme.app.misc.AlertBox;
+import com.quizme.app.misc.ResourceCache;
 import com.quizme.generator.models.Question;
+import com.quizme.generator.grading.Score;
+import com.quizme.generator.provider.QuestionFeed;
+import com.quizme.generator.grading.AnswerChecker;
+import com.quizme.generator.metrics.FlightEvent;
+import com.quizme.generator.metrics.FlightEventType;
 
 public class QuizController implements Initializable {
 
@@ -35,12 +40,13 @@ public class QuizController implements Initializable {
     @FXML
     private ToggleGroup groupMultiChoices;
 
-    private int score, maxNumQuestions;
-    private Queue<Question> unansweredQuestions;
+    private int score, maxNumQuestions, currentQuestionNum;
+    private QuestionFeed questionFeed;
     private Question currentQuestion;
     private Image defaultImg;
     private RotateTransition rotateTransition;
-    private MediaPlayer mediaPlayer;
+    private AudioClip answerCorrectSound;
+    private FlightEvent sceneLoadEvent, submissionEvent;
 
     /**
      * Called to initialize a controller after its root element has been
@@ -60,13 +66,21 @@ public class QuizController implements Initializable {
     }
 
     /**
-     * Initializes all the media objects used in the program
+     * Sets the event that's committed once the first question is displayed, it's called before the questions are initialized
+     * @param sceneLoadEvent the event begun when the quiz window started loading
+     */
+    void setSceneLoadEvent(FlightEvent sceneLoadEvent) {
+        this.sceneLoadEvent = sceneLoadEvent;
+    }
+
+    /**
+     * Initializes all the media objects used in the program, they're shared by every quiz and were loaded at startup
      */
     private void initializeMedia() {
-        String resourceDirectory = "/com/quizme/app/resources";
-        defaultImg = new Image(resourceDirectory + "/images/default_question_img.jpg");
-        imageViewFeedback.setImage(new Image(resourceDirectory + "/images/1460367827_tick_green.png"));
-        mediaPlayer = new MediaPlayer(new Media(getClass().getResource(resourceDirectory + "/sounds/answer_correct.mp3").toString()));
+        ResourceCache resources = ResourceCache.getDefault();
+        defaultImg = resources.getDefaultQuestionImage();
+        imageViewFeedback.setImage(resources.getTickImage());
+        answerCorrectSound = resources.getAnswerCorrectSound();
     }
 
     /**
@@ -88,17 +102,13 @@ public class QuizController implements Initializable {
      * Initializes the generated questions
      */
     private void initializeQuestions() {
-        //Gets the questions that was attached to the stage user data object property
+        //Gets the feed of questions that was attached to the stage user data object property
+        //The rest of its questions are still being prepared in the background
         Stage currentStage = (Stage) imageQuestion.getScene().getWindow();
-        Question[] questions = (Question[]) currentStage.getUserData();
+        questionFeed = (QuestionFeed) currentStage.getUserData();
+        maxNumQuestions = questionFeed.getTotal();
 
-        //Adds all questions to a queue data structure
-        unansweredQuestions = new ArrayDeque<>();
-        Collections.addAll(unansweredQuestions, questions);
-        maxNumQuestions = unansweredQuestions.size();
-
-        displayQuestion(unansweredQuestions.poll());
-        lblQuestionProgress.setText(String.format("Question: 1/%s", maxNumQuestions));
+        pollNextQuestion();
     }
 
     /**
@@ -115,37 +125,81 @@ public class QuizController implements Initializable {
             return;
         }
 
-        if (isAnswerCorrect(userAnswer, currentQuestion.getAnswer())) {
+        FlightEvent flightEvent = FlightEvent.begin(FlightEventType.ANSWER_SUBMISSION);
+        boolean isCorrect = AnswerChecker.isCorrect(currentQuestion, userAnswer);
+
+        if (! isCorrect) {
+            AlertBox.show("Quiz Me", "Wrong Answer", "You've got the answer wrong.\n" +
+                            "The correct answer is = " + currentQuestion.getAnswer());
+            //Begun again once the alert is closed, so the time the user spends reading it isn't counted
+            flightEvent = FlightEvent.begin(FlightEventType.ANSWER_SUBMISSION);
+        }
+
+        //Committed once the next question is displayed
+        submissionEvent = flightEvent.set("questionNumber", currentQuestionNum).set("topic", currentQuestion.getTopic())
+                .set("difficulty", currentQuestion.getDifficulty()).set("correct", isCorrect);
+
+        if (isCorrect) {
             imageViewFeedback.setVisible(true);
-            mediaPlayer.stop();
-            mediaPlayer.play();
+            answerCorrectSound.stop();
+            answerCorrectSound.play();
             rotateTransition.play();
             score++;
         } else {
-            AlertBox.show("Quiz Me", "Wrong Answer", "You've got the answer wrong.\n" +
-                            "The correct answer is = " + currentQuestion.getAnswer());
             pollNextQuestion();
         }
     }
 
     /**
-     * Used to move to the next question in the queue
+     * Used to move to the next question in the feed, if it isn't ready yet it's displayed as soon as it is
      */
     private void pollNextQuestion() {
-        if (unansweredQuestions.isEmpty()) {
+        if (questionFeed.isComplete()) {
+            //The quiz ends early if the rest of its questions couldn't be prepared
+            maxNumQuestions = questionFeed.getAddedCount();
+        }
+
+        Question nextQuestion = currentQuestionNum < maxNumQuestions ? questionFeed.poll() : null;
+
+        if (nextQuestion == null && currentQuestionNum < maxNumQuestions) {
+            mainPane.setDisable(true);
+            questionFeed.whenReady(() -> Platform.runLater(() -> {
+                mainPane.setDisable(false);
+                pollNextQuestion();
+            }));
+        } else if (nextQuestion == null) {
+            commitDisplayEvents();
+
             //To avoid a showAndWait error because the animation may not have fully finished yet
             Platform.runLater(() -> {
-                double percentage = (score * 100f) / maxNumQuestions;
-                String msg = String.format("You've scored %d out of %d which is %.2f%%", score, maxNumQuestions, percentage);
+                Score finalScore = new Score(score, maxNumQuestions);
+                String msg = String.format("You've scored %d out of %d which is %.2f%%",
+                        finalScore.getCorrect(), finalScore.getTotal(), finalScore.getPercentage());
                 AlertBox.show("Quiz Me", "Quiz Finished", msg);
                 mainPane.setEffect(new GaussianBlur(4.2));
                 mainPane.setDisable(true);
             });
         } else {
             clearUserInputs();
-            displayQuestion(unansweredQuestions.poll());
-            int currentQuestionNum = maxNumQuestions - unansweredQuestions.size();
+            displayQuestion(nextQuestion);
+            currentQuestionNum++;
             lblQuestionProgress.setText(String.format("Question: %s/%s", currentQuestionNum, maxNumQuestions));
+            commitDisplayEvents();
+        }
+    }
+
+    /**
+     * Commits the flight events that end once the next question is displayed, or once the quiz has finished
+     */
+    private void commitDisplayEvents() {
+        if (sceneLoadEvent != null) {
+            sceneLoadEvent.commit();
+            sceneLoadEvent = null;
+        }
+
+        if (submissionEvent != null) {
+            submissionEvent.commit();
+            submissionEvent = null;
         }
     }
 
@@ -160,7 +214,8 @@ public class QuizController implements Initializable {
      */
     private void displayQuestion(Question question) {
         lblQuestion.setText(question.getQuestion());
-        imageQuestion.setImage(question.getImage() == null ? defaultImg : question.getImage());
+        //The question image is rendered the first time it's requested
+        imageQuestion.setImage(question.hasImage() ? question.getImage() : defaultImg);
 
         setMultiChoiceDisplay(question.isMultiChoice());
 
@@ -191,18 +246,6 @@ public class QuizController implements Initializable {
         txtAnswer.setVisible(! value);
     }
 
-    /**
-     * Checks if the users answer is correct
-     * @param usersAnswer the users answer to compare
-     * @param actualAnswer the actual question answer
-     * @return the boolean result of the operation
-     */
-    private boolean isAnswerCorrect(String usersAnswer, String actualAnswer) {
-        String strippedUserAnswer = usersAnswer.replace(" ", "").toLowerCase();
-        String strippedAnswer = actualAnswer.replace(" ", "").toLowerCase();
-        return strippedUserAnswer.equals(strippedAnswer);
-    }
-
     /**
      *
      * @return the users answer
@@ -12,15 +12,23 @@ import javafx.scene.Parent;
 import javafx.stage.Modality;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.event.ActionEvent;
+import javafx.stage.Window;
+import javafx.event.EventHandler;
+import javafx.stage.WindowEvent;
 import javafx.fxml.Initializable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.WorkerStateEvent;
 
 import com.quizme.app.misc.AlertBox;
+import com.quizme.app.misc.ResourceCache;
+import com.quizme.app.misc.QuizPreparationTask;
 import com.quizme.generator.models.Topic;
-import com.quizme.generator.models.Question;
 import com.quizme.generator.models.Difficulty;
-import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.metrics.FlightEvent;
+import com.quizme.generator.provider.QuestionPool;
+import com.quizme.generator.metrics.FlightEventType;
 
 public class SetupController implements Initializable {
 
@@ -32,6 +40,10 @@ public class SetupController implements Initializable {
     private CheckBox chkMultiChoice;
     @FXML
     private ToggleGroup difficultyGroup;
+    @FXML
+    private Button btnStart;
+    @FXML
+    private ProgressBar progressPreparation;
 
     /**
      * Called to initialize a controller after its root element has been
@@ -44,6 +56,9 @@ public class SetupController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         cboTopics.getItems().addAll("Mixed", "Shapes", "Algebra");
+
+        //Starts filling the question pools while the user is choosing their quiz
+        QuestionPool.getDefault();
     }
 
     /**
@@ -65,16 +80,52 @@ public class SetupController implements Initializable {
         boolean isMultiChoice = chkMultiChoice.isSelected();
         int amount = Integer.parseInt(txtQuestionAmount.getText());
 
-        QuestionGenerator generator = new QuestionGenerator();
-        Question[] questions;
-
-        if (topic == null) {
-            questions = generator.generateQuestions(difficulty, amount, isMultiChoice);
-        } else {
-            questions = generator.generateQuestions(topic, difficulty, amount, isMultiChoice);
-        }
+        startPreparation(new QuizPreparationTask(QuestionPool.getDefault(), topic, difficulty, amount, isMultiChoice));
+    }
 
-        loadQuizScene(questions);
+    /**
+     * Prepares the quiz in the background, the quiz window is opened as soon as its first question is ready
+     * and the rest of the questions keep being prepared while the user answers
+     * @param task the task that prepares the quiz
+     */
+    private void startPreparation(QuizPreparationTask task) {
+        btnStart.setDisable(true);
+        progressPreparation.progressProperty().bind(task.progressProperty());
+        progressPreparation.setVisible(true);
+
+        //Stops preparing the quiz if the setup window is closed
+        Window setupWindow = btnStart.getScene().getWindow();
+        EventHandler<WindowEvent> onSetupHidden = e -> task.cancel();
+        setupWindow.addEventHandler(WindowEvent.WINDOW_HIDDEN, onSetupHidden);
+
+        task.workDoneProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                if (newValue.doubleValue() >= 1) {
+                    task.workDoneProperty().removeListener(this);
+                    loadQuizScene(task);
+                }
+            }
+        });
+
+        EventHandler<WorkerStateEvent> onFinished = e -> {
+            //Otherwise the setup window would keep every finished task, and its questions, reachable
+            setupWindow.removeEventHandler(WindowEvent.WINDOW_HIDDEN, onSetupHidden);
+            progressPreparation.progressProperty().unbind();
+            progressPreparation.setVisible(false);
+            btnStart.setDisable(false);
+        };
+
+        task.setOnSucceeded(onFinished);
+        task.setOnCancelled(onFinished);
+        task.setOnFailed(e -> {
+            onFinished.handle(e);
+            AlertBox.show("Quiz Me", "The quiz couldn't be prepared", String.valueOf(task.getException()));
+        });
+
+        Thread thread = new Thread(task, "quizme-quiz-preparation");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     /**
@@ -131,26 +182,38 @@ public class SetupController implements Initializable {
 
     /**
      * Loads the next stage/window
-     * @param generatedQuestions the list of generated questions to associate with the next stage/window
+     * @param task the task preparing the questions to associate with the next stage/window
      */
-    private void loadQuizScene(Question[] generatedQuestions) {
+    private void loadQuizScene(QuizPreparationTask task) {
+        FlightEvent flightEvent = FlightEvent.begin(FlightEventType.QUIZ_SCENE_LOAD).set("amount", task.getFeed().getTotal());
+
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/com/quizme/app/views/ViewQuiz.fxml"));
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/quizme/app/views/ViewQuiz.fxml"));
+            Parent root = loader.load();
+
+            //The quiz window commits the event once it's displayed its first question
+            QuizController controller = loader.getController();
+            controller.setSceneLoadEvent(flightEvent);
+
             Stage stage = new Stage();
             stage.setTitle("QuizMe - Quiz Setup");
             stage.setScene(new Scene(root));
             stage.initModality(Modality.APPLICATION_MODAL);
-            stage.getIcons().add(new Image("com/quizme/app/resources/images/main-icon.png"));
+            stage.getIcons().add(ResourceCache.getDefault().getMainIcon());
             stage.setResizable(false);
             stage.sizeToScene();
 
-            //Passes the list of generated questions to the next Stage(JavaFX equivalent to Jframe)
+            //Passes the feed of prepared questions to the next Stage(JavaFX equivalent to Jframe)
             //This can then be retrieved from the next Stage's controller class
-            stage.setUserData(generatedQuestions);
+            stage.setUserData(task.getFeed());
+
+            //There's no need to keep preparing questions once the quiz is closed
+            stage.setOnHidden(e -> task.cancel());
 
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
+            flightEvent.commit();
         }
     }
 }
\ No newline at end of file
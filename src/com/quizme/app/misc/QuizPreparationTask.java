@@ -0,0 +1,81 @@
+package com.quizme.app.misc;
+
+import javafx.concurrent.Task;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionFeed;
+import com.quizme.generator.provider.QuestionPool;
+
+/**
+ * Prepares the questions of a quiz off the JavaFX thread, including rendering their images,
+ * and adds each one to the quiz's feed as soon as it's ready
+ */
+public class QuizPreparationTask extends Task<Void> {
+
+    //The amount of questions taken from the pool at a time after the first one
+    private static final int BATCH_SIZE = 8;
+
+    private final QuestionPool questionPool;
+    private final QuestionFeed feed;
+    private final Topic topic;
+    private final Difficulty difficulty;
+    private final boolean isMultiChoice;
+
+    /**
+     * Creates a new preparation task
+     * @param questionPool the pool the questions are taken from
+     * @param topic the topic of the questions, or null for random topics
+     * @param difficulty the difficulty level of the questions
+     * @param amount the amount of questions
+     * @param isMultiChoice if the questions are multiple choice questions
+     */
+    public QuizPreparationTask(QuestionPool questionPool, Topic topic, Difficulty difficulty, int amount, boolean isMultiChoice) {
+        this.questionPool = questionPool;
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.isMultiChoice = isMultiChoice;
+        feed = new QuestionFeed(amount);
+    }
+
+    /**
+     *
+     * @return the feed the prepared questions are added to
+     */
+    public QuestionFeed getFeed() {
+        return feed;
+    }
+
+    @Override
+    protected Void call() throws Exception {
+        int amount = feed.getTotal();
+        int prepared = 0;
+
+        try {
+            //The first question is prepared on its own so the quiz can open as soon as possible
+            for (int batchSize = 1; prepared < amount && !isCancelled(); batchSize = BATCH_SIZE) {
+                Question[] questions = questionPool.take(topic, difficulty, Math.min(batchSize, amount - prepared), isMultiChoice);
+
+                for (Question question : questions) {
+                    if (isCancelled()) {
+                        break;
+                    }
+
+                    if (question.hasImage()) {
+                        question.getImage();
+                    }
+
+                    feed.add(question);
+                    updateProgress(++prepared, amount);
+                }
+            }
+        } catch (RuntimeException ex) {
+            feed.close(ex);
+            throw ex;
+        }
+
+        //Only closes the feed if the quiz was cancelled before all of its questions were ready
+        feed.close(null);
+        return null;
+    }
+}
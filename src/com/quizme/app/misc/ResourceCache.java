@@ -0,0 +1,65 @@
+package com.quizme.app.misc;
+
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+
+/**
+ * Loads the images and sounds used by the windows once when the program starts, the quiz window's in the background,
+ * and shares the same instances with every window so opening a quiz doesn't read or decode any resources.
+ */
+public final class ResourceCache {
+
+    private static final String RESOURCE_DIRECTORY = "/com/quizme/app/resources";
+
+    private final Image mainIcon;
+    private final Image defaultQuestionImage;
+    private final Image tickImage;
+    private final CompletableFuture<AudioClip> answerCorrectSound;
+
+    private ResourceCache() {
+        //The icon is needed straight away by the setup window, and a window doesn't show an icon that's still loading
+        mainIcon = new Image(RESOURCE_DIRECTORY + "/images/main-icon.png");
+
+        //The quiz window's images are decoded on JavaFX's background loading threads, an image view shows them once they're ready
+        defaultQuestionImage = new Image(RESOURCE_DIRECTORY + "/images/default_question_img.jpg", true);
+        tickImage = new Image(RESOURCE_DIRECTORY + "/images/1460367827_tick_green.png", true);
+
+        //An audio clip is decoded into memory up front, so it starts playing with less latency than a media player
+        String soundUrl = ResourceCache.class.getResource(RESOURCE_DIRECTORY + "/sounds/answer_correct.mp3").toExternalForm();
+        answerCorrectSound = CompletableFuture.supplyAsync(() -> new AudioClip(soundUrl));
+    }
+
+    /**
+     * The resources start loading the first time this is called, which Main.start does
+     * @return the cache shared by every window
+     */
+    public static ResourceCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+        private static final ResourceCache INSTANCE = new ResourceCache();
+    }
+
+    public Image getMainIcon() {
+        return mainIcon;
+    }
+
+    public Image getDefaultQuestionImage() {
+        return defaultQuestionImage;
+    }
+
+    public Image getTickImage() {
+        return tickImage;
+    }
+
+    /**
+     *
+     * @return the sound played when an answer is correct, it waits for the sound to finish loading if it hasn't yet
+     */
+    public AudioClip getAnswerCorrectSound() {
+        return answerCorrectSound.join();
+    }
+}
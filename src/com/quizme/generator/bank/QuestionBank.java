@@ -0,0 +1,219 @@
+package com.quizme.generator.bank;
+
+import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionGenerator;
+
+/**
+ * A bank of pre-generated questions, read from a memory mapped file written by QuestionBankWriter.
+ *
+ * The file starts with a 16 byte header: the magic number, the format version, the amount of topics and
+ * difficulty levels and the total amount of records. It's followed by an index with the first record and the
+ * amount of records of every topic and difficulty level, and then the records themselves, each 8 bytes long.
+ * Opening a bank only reads the header and the index, a question is read from its record when it's requested,
+ * so only the pages of the file that are used are ever loaded. A bank is safe to share between threads.
+ */
+public final class QuestionBank {
+
+    static final int MAGIC = 0x515A424B;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int INDEX_ENTRY_BYTES = 16;
+    static final int RECORD_BYTES = Long.BYTES;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final Topic[] TOPICS = Topic.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final ByteBuffer records;
+    private final int[] sectionStarts, sectionSizes;
+    private final QuestionGenerator questionGenerator;
+
+    private QuestionBank(ByteBuffer records, int[] sectionStarts, int[] sectionSizes, QuestionGenerator questionGenerator) {
+        this.records = records;
+        this.sectionStarts = sectionStarts;
+        this.sectionSizes = sectionSizes;
+        this.questionGenerator = questionGenerator;
+    }
+
+    /**
+     * Opens a question bank, reading its questions with the default question generator's modules
+     * @param path the path of the bank file
+     * @return the question bank
+     * @throws IOException if the file can't be read or isn't a valid question bank
+     */
+    public static QuestionBank open(Path path) throws IOException {
+        return open(path, QuestionGenerator.getDefault());
+    }
+
+    /**
+     * Opens a question bank
+     * @param path the path of the bank file
+     * @param questionGenerator the question generator whose modules read the questions from their records
+     * @return the question bank
+     * @throws IOException if the file can't be read or isn't a valid question bank
+     */
+    public static QuestionBank open(Path path, QuestionGenerator questionGenerator) throws IOException {
+        //The mapping stays valid after the channel is closed, until the buffer is garbage collected
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("The question bank is larger than 2GB");
+            }
+
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("The file isn't a question bank");
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(BYTE_ORDER);
+            return read(buffer, questionGenerator);
+        }
+    }
+
+    private static QuestionBank read(ByteBuffer buffer, QuestionGenerator questionGenerator) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("The file isn't a question bank");
+        }
+
+        if (buffer.getShort(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported question bank version " + buffer.getShort(4));
+        }
+
+        if (buffer.get(6) != TOPICS.length || buffer.get(7) != DIFFICULTIES.length) {
+            throw new IOException("The question bank was written with different topics or difficulty levels");
+        }
+
+        long recordCount = buffer.getLong(8);
+        int sectionCount = TOPICS.length * DIFFICULTIES.length;
+        int recordsOffset = getRecordsOffset();
+
+        if (recordCount < 0 || recordsOffset + (recordCount * RECORD_BYTES) != buffer.capacity()) {
+            throw new IOException("The question bank is truncated or corrupted");
+        }
+
+        int[] sectionStarts = new int[sectionCount];
+        int[] sectionSizes = new int[sectionCount];
+
+        for (int i = 0; i < sectionCount; i++) {
+            long start = buffer.getLong(HEADER_BYTES + (i * INDEX_ENTRY_BYTES));
+            long size = buffer.getLong(HEADER_BYTES + (i * INDEX_ENTRY_BYTES) + 8);
+
+            if (start < 0 || size < 0 || start + size > recordCount) {
+                throw new IOException("The index of the question bank is corrupted");
+            }
+
+            sectionStarts[i] = (int) start;
+            sectionSizes[i] = (int) size;
+        }
+
+        buffer.position(recordsOffset);
+        ByteBuffer records = buffer.slice().order(BYTE_ORDER);
+
+        return new QuestionBank(records, sectionStarts, sectionSizes, questionGenerator);
+    }
+
+    /**
+     *
+     * @return the offset of the first record in the file, after the header and the index
+     */
+    static int getRecordsOffset() {
+        return HEADER_BYTES + (TOPICS.length * DIFFICULTIES.length * INDEX_ENTRY_BYTES);
+    }
+
+    /**
+     * @return the index of the section of the topic and difficulty level in the index
+     */
+    static int getSectionIndex(Topic topic, Difficulty difficulty) {
+        return (topic.ordinal() * DIFFICULTIES.length) + difficulty.ordinal();
+    }
+
+    /**
+     *
+     * @return the total amount of questions in the bank
+     */
+    public int size() {
+        return records.capacity() / RECORD_BYTES;
+    }
+
+    /**
+     * @param topic the topic of the questions
+     * @param difficulty the difficulty level of the questions
+     * @return the amount of questions in the bank of the topic and difficulty level
+     */
+    public int size(Topic topic, Difficulty difficulty) {
+        return sectionSizes[getSectionIndex(topic, difficulty)];
+    }
+
+    /**
+     * @param index the index of the question in the whole bank
+     * @return the record of the question
+     */
+    public long getRecord(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Question " + index + " isn't in the bank of " + size() + " questions");
+        }
+
+        return records.getLong(index * RECORD_BYTES);
+    }
+
+    /**
+     * @param index the index of the question in the whole bank
+     * @return the question
+     */
+    public Question getQuestion(int index) {
+        return questionGenerator.readQuestion(getRecord(index));
+    }
+
+    /**
+     * @param topic the topic of the question
+     * @param difficulty the difficulty level of the question
+     * @param index the index of the question amongst the questions of the topic and difficulty level
+     * @return the question
+     */
+    public Question getQuestion(Topic topic, Difficulty difficulty, int index) {
+        int section = getSectionIndex(topic, difficulty);
+
+        if (index < 0 || index >= sectionSizes[section]) {
+            throw new IndexOutOfBoundsException("Question " + index + " isn't in the " + topic + " " + difficulty
+                    + " questions of the bank");
+        }
+
+        return getQuestion(sectionStarts[section] + index);
+    }
+
+    /**
+     * Picks random questions from the bank, questions can be picked more than once
+     * @param topic the topic of the questions, or null for questions of random topics
+     * @param difficulty the difficulty level of the questions
+     * @param amount the amount of questions to pick
+     * @return the questions
+     * @throws IllegalArgumentException if the bank doesn't have any questions of the topic and difficulty level
+     */
+    public Question[] getRandomQuestions(Topic topic, Difficulty difficulty, int amount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Question[] questions = new Question[amount];
+
+        for (int i = 0; i < amount; i++) {
+            Topic questionTopic = topic != null ? topic : TOPICS[random.nextInt(TOPICS.length)];
+            int section = getSectionIndex(questionTopic, difficulty);
+
+            if (sectionSizes[section] == 0) {
+                throw new IllegalArgumentException("The bank doesn't have any " + questionTopic + " "
+                        + difficulty + " questions");
+            }
+
+            questions[i] = getQuestion(sectionStarts[section] + random.nextInt(sectionSizes[section]));
+        }
+
+        return questions;
+    }
+}
@@ -0,0 +1,152 @@
+package com.quizme.generator.bank;
+
+import java.util.List;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.MappedByteBuffer;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionGenerator;
+
+/**
+ * Writes question banks that can be opened with QuestionBank.
+ * The size of the file is known up front, so it's memory mapped and the questions are generated in parallel chunks,
+ * each chunk writes the records of its own range of the file. The magic number is written last,
+ * so a bank that wasn't completely written can't be opened.
+ */
+public class QuestionBankWriter {
+
+    //The amount of questions generated and written by each task
+    private static final int CHUNK_SIZE = 4096;
+    private static final Topic[] TOPICS = Topic.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final QuestionGenerator questionGenerator;
+    private final Executor executor;
+
+    public QuestionBankWriter() {
+        this(QuestionGenerator.getDefault(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new question bank writer
+     * @param questionGenerator the question generator the questions are generated with
+     * @param executor the executor the chunks of questions are generated on
+     */
+    public QuestionBankWriter(QuestionGenerator questionGenerator, Executor executor) {
+        this.questionGenerator = questionGenerator;
+        this.executor = executor;
+    }
+
+    /**
+     * Generates a question bank with the same amount of questions of every topic and difficulty level
+     * @param path the path of the bank file, it's replaced if it already exists
+     * @param amountPerSection the amount of questions of each topic and difficulty level
+     * @param isMultiChoice if the questions are multiple choice questions
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path path, int amountPerSection, boolean isMultiChoice) throws IOException {
+        int sectionCount = TOPICS.length * DIFFICULTIES.length;
+        long recordCount = (long) amountPerSection * sectionCount;
+        long fileSize = QuestionBank.getRecordsOffset() + (recordCount * QuestionBank.RECORD_BYTES);
+
+        if (amountPerSection < 0 || fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A question bank can hold up to 2GB of questions");
+        }
+
+        StandardOpenOption[] options = {
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE
+        };
+
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.order(QuestionBank.BYTE_ORDER);
+            buffer.putShort(4, QuestionBank.FORMAT_VERSION);
+            buffer.put(6, (byte) TOPICS.length);
+            buffer.put(7, (byte) DIFFICULTIES.length);
+            buffer.putLong(8, recordCount);
+
+            int chunksPerSection = (amountPerSection + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            List<CompletableFuture<Void>> chunks = new ArrayList<>(sectionCount * chunksPerSection);
+
+            for (Topic topic : TOPICS) {
+                for (Difficulty difficulty : DIFFICULTIES) {
+                    int section = QuestionBank.getSectionIndex(topic, difficulty);
+                    long sectionStart = (long) section * amountPerSection;
+                    int entryOffset = QuestionBank.HEADER_BYTES + (section * QuestionBank.INDEX_ENTRY_BYTES);
+                    buffer.putLong(entryOffset, sectionStart);
+                    buffer.putLong(entryOffset + 8, amountPerSection);
+
+                    for (int i = 0; i < chunksPerSection; i++) {
+                        int from = (int) sectionStart + (i * CHUNK_SIZE);
+                        int amount = Math.min(CHUNK_SIZE, amountPerSection - (i * CHUNK_SIZE));
+                        chunks.add(CompletableFuture.runAsync(
+                                () -> writeChunk(buffer, topic, difficulty, from, amount, isMultiChoice), executor));
+                    }
+                }
+            }
+
+            try {
+                CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : ex;
+            }
+
+            buffer.force();
+            buffer.putInt(0, QuestionBank.MAGIC);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Generates a chunk of questions and writes their records
+     * @param buffer the mapped file, each chunk writes through its own view of it
+     * @param from the index of the chunk's first record in the bank
+     * @param amount the amount of questions in the chunk
+     */
+    private void writeChunk(ByteBuffer buffer, Topic topic, Difficulty difficulty, int from, int amount,
+                            boolean isMultiChoice) {
+        ByteBuffer view = buffer.duplicate().order(QuestionBank.BYTE_ORDER);
+        int offset = QuestionBank.getRecordsOffset() + (from * QuestionBank.RECORD_BYTES);
+
+        for (Question question : questionGenerator.generateQuestions(topic, difficulty, amount, isMultiChoice)) {
+            view.putLong(offset, question.toRecord());
+            offset += QuestionBank.RECORD_BYTES;
+        }
+    }
+
+    /**
+     * Generates a question bank file
+     * @param args the path of the file, the amount of questions of each topic and difficulty level (100000 by default)
+     *             and if they're multiple choice questions (false by default)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: QuestionBankWriter <path> [amountPerSection] [multiChoice]");
+            System.exit(1);
+        }
+
+        Path path = Paths.get(args[0]);
+        int amountPerSection = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        boolean isMultiChoice = args.length > 2 && Boolean.parseBoolean(args[2]);
+
+        long start = System.nanoTime();
+        new QuestionBankWriter().write(path, amountPerSection, isMultiChoice);
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        System.out.printf("Wrote %d questions to %s in %dms%n",
+                (long) amountPerSection * TOPICS.length * DIFFICULTIES.length, path, elapsedMillis);
+    }
+}
@@ -1,9 +1,15 @@
 package com.quizme.generator.base;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 import com.quizme.generator.models.Topic;
+import com.quizme.generator.metrics.LatencyMetrics;
 import com.quizme.generator.models.Question;
 import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.models.QuestionRecord;
+import com.quizme.generator.metrics.Operation;
+import com.quizme.generator.metrics.FlightEvent;
+import com.quizme.generator.metrics.FlightEventType;
 
 /**
  * The base class for all question generator modules.
@@ -12,7 +18,6 @@ import com.quizme.generator.models.Difficulty;
 public abstract class AbstractQuestionGenerator {
 
     private final Topic TOPIC;
-    private Random rand;
 
     /**
      * Creates a new instance of the abstract question generator class
@@ -20,7 +25,6 @@ public abstract class AbstractQuestionGenerator {
      */
     public AbstractQuestionGenerator(Topic topic) {
         this.TOPIC = topic;
-        this.rand = new Random();
     }
 
     /**
@@ -30,7 +34,61 @@ public abstract class AbstractQuestionGenerator {
      * @param isMultiChoice if the questions to generate are multiple choices questions
      * @return an array of the generated questions
      */
-    public abstract Question[] generateQuestions(int amount, Difficulty difficultyLevel, boolean isMultiChoice);
+    public Question[] generateQuestions(int amount, Difficulty difficultyLevel, boolean isMultiChoice) {
+        long start = LatencyMetrics.start();
+        FlightEvent event = FlightEvent.begin(FlightEventType.QUESTION_GENERATION);
+        boolean failed = true;
+
+        try {
+            Question[] questions = new Question[amount];
+
+            for (int i = 0; i < amount; i++) {
+                questions[i] = generateQuestion(difficultyLevel, isMultiChoice);
+            }
+
+            failed = false;
+            return questions;
+        } finally {
+            LatencyMetrics.record(Operation.GENERATE, getClass(), TOPIC, difficultyLevel, start, failed);
+            event.set("module", getClass()).set("topic", TOPIC).set("difficulty", difficultyLevel).set("amount", amount).commit();
+        }
+    }
+
+    /**
+     * Generates a single random question
+     * @param difficultyLevel the difficulty level of the question to generate
+     * @param isMultiChoice if the question to generate is a multiple choice question
+     * @return the generated question
+     */
+    public abstract Question generateQuestion(Difficulty difficultyLevel, boolean isMultiChoice);
+
+    /**
+     * Reads a question back from the record it was stored as
+     * @param record the record of the question, created by Question.toRecord
+     * @return the question
+     * @throws IllegalArgumentException if the record isn't a valid record of the module's questions
+     */
+    public abstract Question readQuestion(long record);
+
+    /**
+     * Checks that a record is of a question of the module's topic
+     * @param record the record of a question
+     * @throws IllegalArgumentException if the record is of a question of another topic
+     */
+    protected final void checkRecordTopic(long record) {
+        if (QuestionRecord.getTopic(record) != TOPIC) {
+            throw new IllegalArgumentException("The question record isn't of the " + TOPIC + " topic");
+        }
+    }
+
+    /**
+     * Modules whose questions depend on settings, e.g. system properties, override this so that seeded quizzes
+     * aren't regenerated with different settings
+     * @return a hash of the settings the module was created with, 0 for the default settings
+     */
+    public int getSettingsHash() {
+        return 0;
+    }
 
     /**
      *
@@ -41,20 +99,40 @@ public abstract class AbstractQuestionGenerator {
     }
 
     /**
-     * Returns a pseudo random integer between a specified range
+     * Returns a pseudo random integer between a specified range.
+     * The random number generator of the current RandomScope is used if there is one,
+     * otherwise the current thread's own generator is used so a module can be shared between threads.
      * @param min the lower bound
      * @param max the upper bound
      * @return the pseudo random generated number
      */
     protected final int nextInt(int min, int max) {
-        return rand.nextInt((max - min) + 1) + min;
+        SplittableRandom scoped = RandomScope.current();
+
+        if (scoped != null) {
+            return scoped.nextInt((max - min) + 1) + min;
+        }
+
+        return ThreadLocalRandom.current().nextInt((max - min) + 1) + min;
     }
 
     /**
-     * Returns the next pseudo random boolean value
+     * Returns the next pseudo random boolean value.
+     * The random number generator of the current RandomScope is used if there is one.
      * @return pseudo random boolean value
      */
     protected final boolean nextBoolean() {
-        return rand.nextBoolean();
+        SplittableRandom scoped = RandomScope.current();
+        return scoped != null ? scoped.nextBoolean() : ThreadLocalRandom.current().nextBoolean();
+    }
+
+    /**
+     * Returns the next pseudo random double value between 0 inclusive and 1 exclusive.
+     * The random number generator of the current RandomScope is used if there is one.
+     * @return pseudo random double value
+     */
+    protected final double nextDouble() {
+        SplittableRandom scoped = RandomScope.current();
+        return scoped != null ? scoped.nextDouble() : ThreadLocalRandom.current().nextDouble();
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.quizme.generator.base;
+
+import java.util.Arrays;
+
+/**
+ * Picks an index with a probability proportional to its weight in constant time, using Vose's alias method.
+ * Each index owns a column that's split between itself and one alias, so a sample is a uniformly random
+ * column followed by a single biased coin flip.
+ */
+public final class AliasTable {
+
+    private final double[] probabilities;
+    private final int[] aliases;
+    private final boolean isUniform;
+
+    /**
+     * Builds the table
+     * @param weights the relative weight of each index, they must not be negative and at least one must be positive
+     */
+    public AliasTable(double[] weights) {
+        int size = weights.length;
+        double total = 0;
+
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+
+            total += weight;
+        }
+
+        if (size == 0 || total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        probabilities = new double[size];
+        aliases = new int[size];
+
+        //Scales the weights so that the average column is exactly full
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0, largeCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            scaled[i] = (weights[i] * size) / total;
+
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        //Tops up each under-full column with part of an over-full one
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        //Whatever is left over is full, apart from floating point error
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1;
+        }
+
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1;
+        }
+
+        double first = weights[0];
+        isUniform = Arrays.stream(weights).allMatch(weight -> weight == first);
+    }
+
+    /**
+     * Picks an index
+     * @param column a uniformly random column, between 0 and the size exclusive
+     * @param coin a uniformly random number between 0 inclusive and 1 exclusive
+     * @return the picked index
+     */
+    public int sample(int column, double coin) {
+        return coin < probabilities[column] ? column : aliases[column];
+    }
+
+    public int size() {
+        return probabilities.length;
+    }
+
+    /**
+     *
+     * @return true if every index has the same weight
+     */
+    public boolean isUniform() {
+        return isUniform;
+    }
+}
@@ -0,0 +1,72 @@
+package com.quizme.generator.base;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Picks the wrong answers of a multiple choice question so that they're always distinct from each other
+ * and from the correct answer, in a bounded amount of steps.
+ *
+ * Answers are compared as numeric codes, e.g. the constant of a polynomial or a measurement in hundredths,
+ * which the question turns back into text. The plausible candidates the question suggests are used first,
+ * any that are repeats or invalid are replaced by the nearest free codes around the correct answer,
+ * alternating above and below it: answer + step, answer - step, answer + 2 * step and so on.
+ */
+public final class DistractorEngine {
+
+    private DistractorEngine() {
+    }
+
+    /**
+     * Picks the wrong answers
+     * @param answer the code of the correct answer
+     * @param candidates the codes of the preferred wrong answers, in order of preference
+     * @param count the amount of wrong answers to pick
+     * @param step the distance between the codes of the replacement wrong answers, it keeps them in the same form
+     *             as the answer, e.g. a step of 2 keeps the lowest bit of a code the same
+     * @param isValid checks if a code is a valid wrong answer, it must accept every code above the answer
+     * @return the codes of the wrong answers, with the valid unique candidates first and in order
+     */
+    public static long[] pick(long answer, long[] candidates, int count, long step, LongPredicate isValid) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("The step must be positive");
+        }
+
+        long[] picked = new long[count];
+        int size = 0;
+
+        for (int i = 0; i < candidates.length && size < count; i++) {
+            long candidate = candidates[i];
+
+            if (candidate != answer && isValid.test(candidate) && !contains(picked, size, candidate)) {
+                picked[size++] = candidate;
+            }
+        }
+
+        //Each code above the answer is new unless it's already been picked, so this always finishes within 2 * count steps
+        for (long distance = 1; size < count; distance++) {
+            long above = answer + (distance * step);
+
+            if (!contains(picked, size, above)) {
+                picked[size++] = above;
+            }
+
+            long below = answer - (distance * step);
+
+            if (size < count && isValid.test(below) && !contains(picked, size, below)) {
+                picked[size++] = below;
+            }
+        }
+
+        return picked;
+    }
+
+    private static boolean contains(long[] values, int size, long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
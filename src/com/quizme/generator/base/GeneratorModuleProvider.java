@@ -0,0 +1,25 @@
+package com.quizme.generator.base;
+
+import com.quizme.generator.models.Topic;
+
+/**
+ * The service provider interface of question generator modules.
+ * Providers are discovered with java.util.ServiceLoader, so a module can be added by putting a jar on the
+ * classpath that lists its provider in META-INF/services/com.quizme.generator.base.GeneratorModuleProvider.
+ * A provider must have a public no argument constructor and should be cheap to create, the module itself
+ * is only created the first time its topic is requested.
+ */
+public interface GeneratorModuleProvider {
+
+    /**
+     *
+     * @return the topic of the questions the module generates
+     */
+    Topic getTopic();
+
+    /**
+     * Creates the generator module
+     * @return a new instance of the module
+     */
+    AbstractQuestionGenerator create();
+}
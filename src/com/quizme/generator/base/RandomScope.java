@@ -0,0 +1,47 @@
+package com.quizme.generator.base;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Lets a thread generate questions with its own random number generator.
+ * Whilst a scope is active, every question generator module used by the thread draws its
+ * random numbers from the scope's generator instead of its own shared one.
+ * This is what allows independent (and reproducible) streams of questions to be generated in parallel.
+ */
+public final class RandomScope {
+
+    private static final ThreadLocal<SplittableRandom> CURRENT = new ThreadLocal<>();
+
+    private RandomScope() { }
+
+    /**
+     *
+     * @return the random number generator of the current thread's scope, or null if there isn't an active scope
+     */
+    public static SplittableRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs an action with a scoped random number generator, scopes can be nested
+     * @param random the random number generator to use within the scope
+     * @param action the action to run
+     * @param <T> the result type of the action
+     * @return the result of the action
+     */
+    public static <T> T call(SplittableRandom random, Supplier<T> action) {
+        SplittableRandom previous = CURRENT.get();
+        CURRENT.set(random);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
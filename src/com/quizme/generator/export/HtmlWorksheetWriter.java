@@ -0,0 +1,144 @@
+package com.quizme.generator.export;
+
+import java.util.Base64;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.BufferedOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.quizme.generator.rendering.RasterImage;
+
+/**
+ * Writes a worksheet or an answer key as a single HTML page, the images are embedded as PNG data URIs
+ * so the page can be printed or shared without any other files.
+ */
+public class HtmlWorksheetWriter extends WorksheetWriter {
+
+    //The images are drawn at 350 pixels, which is too big for a printed page
+    private static final double IMAGE_SCALE = 0.5;
+
+    private static final String STYLE = "body{font-family:sans-serif;margin:2em}"
+            + "li{margin-bottom:1.5em;page-break-inside:avoid}"
+            + "img{display:block;margin:0.5em 0}"
+            + "ol.choices{list-style-type:upper-alpha}"
+            + ".answer-line{border-bottom:1px solid #000;width:15em;height:1.5em}"
+            + ".answer{font-weight:bold}";
+
+    private final OutputStream out;
+    private final StringBuilder sb = new StringBuilder(512);
+
+    /**
+     * Creates an HTML worksheet writer and writes the start of the page
+     * @param out the stream the page is written to, it's closed when the writer is closed
+     * @param title the title of the page
+     * @param isAnswerKey if the page is an answer key rather than a worksheet
+     * @throws IOException if the start of the page can't be written
+     */
+    public HtmlWorksheetWriter(OutputStream out, String title, boolean isAnswerKey) throws IOException {
+        super(isAnswerKey);
+        this.out = new BufferedOutputStream(out, 64 * 1024);
+
+        sb.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>");
+        appendEscaped(title).append("</title>\n<style>").append(STYLE).append("</style>\n</head>\n<body>\n<h1>");
+        appendEscaped(title).append("</h1>\n<ol>\n");
+        flushText();
+    }
+
+    /**
+     * Encodes the image as a base64 PNG
+     * @param image the image of the question
+     * @return the base64 PNG
+     */
+    @Override
+    public byte[] encodeImage(RasterImage image) {
+        return Base64.getEncoder().encode(ImageEncoding.encodePng(image));
+    }
+
+    @Override
+    public void write(WorksheetItem item, byte[] encodedImage) throws IOException {
+        sb.append("<li value=\"").append(item.getNumber()).append("\"><p>");
+        appendEscaped(item.getQuestion()).append("</p>\n");
+
+        if (encodedImage != null) {
+            sb.append("<img alt=\"\" width=\"").append((int) (item.getImageWidth() * IMAGE_SCALE))
+                    .append("\" height=\"").append((int) (item.getImageHeight() * IMAGE_SCALE))
+                    .append("\" src=\"data:image/png;base64,");
+            flushText();
+            out.write(encodedImage);
+            sb.append("\">\n");
+        }
+
+        if (isAnswerKey()) {
+            sb.append("<p class=\"answer\">");
+
+            if (item.getAnswerChoice() >= 0) {
+                sb.append(WorksheetItem.getChoiceLetter(item.getAnswerChoice())).append(") ");
+            }
+
+            appendEscaped(item.getAnswer()).append("</p>");
+        } else if (item.getChoiceCount() > 0) {
+            sb.append("<ol class=\"choices\">");
+
+            for (int i = 0; i < item.getChoiceCount(); i++) {
+                sb.append("<li>");
+                appendEscaped(item.getChoice(i)).append("</li>");
+            }
+
+            sb.append("</ol>");
+        } else {
+            sb.append("<div class=\"answer-line\"></div>");
+        }
+
+        sb.append("</li>\n");
+        flushText();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sb.append("</ol>\n</body>\n</html>\n");
+            flushText();
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private StringBuilder appendEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+
+                case '>':
+                    sb.append("&gt;");
+                    break;
+
+                case '&':
+                    sb.append("&amp;");
+                    break;
+
+                case '"':
+                    sb.append("&quot;");
+                    break;
+
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+
+        return sb;
+    }
+
+    /**
+     * Writes the buffered text to the output, so only the text of a single question is ever buffered
+     */
+    private void flushText() throws IOException {
+        out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        sb.setLength(0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.quizme.generator.export;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.nio.ByteBuffer;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import com.quizme.generator.rendering.RasterImage;
+
+/**
+ * Encodes the images of questions for the documents.
+ * The images are opaque and mostly flat colours, so their RGB samples are deflated at the fastest level,
+ * which makes files only slightly bigger than ImageIO's PNG writer but takes a fraction of the time.
+ */
+final class ImageEncoding {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private ImageEncoding() {
+    }
+
+    /**
+     * Deflates the RGB samples of an image, row by row
+     * @param image the image
+     * @param hasFilterBytes if each row starts with a PNG filter type byte of 0, meaning the row isn't filtered
+     * @return the zlib stream of the samples
+     */
+    static byte[] deflateRgb(RasterImage image, boolean hasFilterBytes) {
+        int width = image.getWidth();
+        int[] pixels = image.getPixels();
+        int rowBytes = (width * 3) + (hasFilterBytes ? 1 : 0);
+        byte[] samples = new byte[rowBytes * image.getHeight()];
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            int position = (y * rowBytes) + (hasFilterBytes ? 1 : 0);
+
+            for (int x = 0; x < width; x++) {
+                int argb = pixels[(y * width) + x];
+                samples[position++] = (byte) (argb >> 16);
+                samples[position++] = (byte) (argb >> 8);
+                samples[position++] = (byte) argb;
+            }
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try {
+            deflater.setInput(samples);
+            deflater.finish();
+
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(samples.length / 16);
+            byte[] buffer = new byte[16 * 1024];
+
+            while (!deflater.finished()) {
+                deflated.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param image the image
+     * @return the image as an 8 bit RGB PNG file
+     */
+    static byte[] encodePng(RasterImage image) {
+        byte[] data = deflateRgb(image, true);
+        ByteBuffer png = ByteBuffer.allocate(PNG_SIGNATURE.length + 25 + (12 + data.length) + 12);
+        png.put(PNG_SIGNATURE);
+
+        ByteBuffer header = ByteBuffer.allocate(13);
+        header.putInt(image.getWidth()).putInt(image.getHeight());
+        //8 bits per sample, RGB colour, deflate compression, adaptive filtering and no interlacing
+        header.put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+
+        putChunk(png, "IHDR", header.array());
+        putChunk(png, "IDAT", data);
+        putChunk(png, "IEND", new byte[0]);
+        return png.array();
+    }
+
+    private static void putChunk(ByteBuffer png, String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+
+        png.putInt(data.length).put(typeBytes).put(data).putInt((int) crc.getValue());
+    }
+}
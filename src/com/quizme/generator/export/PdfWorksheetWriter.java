@@ -0,0 +1,284 @@
+package com.quizme.generator.export;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.BufferedOutputStream;
+import java.nio.charset.StandardCharsets;
+import com.quizme.generator.rendering.RasterImage;
+
+/**
+ * Writes a worksheet or an answer key as a PDF document, without a PDF library.
+ *
+ * The objects of the document are written as soon as they're complete: each image as soon as its question is written,
+ * and each page's content once the page is full. Only the content of the current page is buffered, along with the
+ * offset of every object and the object number of every page, which the cross reference table and the page tree
+ * at the end of the document need. The text uses the standard Helvetica font, so no font has to be embedded.
+ */
+public class PdfWorksheetWriter extends WorksheetWriter {
+
+    //An A4 page in points
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 50;
+    private static final int FONT_SIZE = 12;
+    private static final int TITLE_FONT_SIZE = 18;
+    private static final int LINE_HEIGHT = 18;
+    private static final int ITEM_SPACING = 12;
+    private static final int IMAGE_SPACING = 4;
+    private static final int CHOICE_WIDTH = 120;
+    //The images are drawn at 350 pixels, which is too big for a printed page
+    private static final double IMAGE_SCALE = 0.35;
+
+    private static final int CATALOG_OBJECT = 1;
+    private static final int PAGES_OBJECT = 2;
+    private static final int FONT_OBJECT = 3;
+
+    private final CountingOutputStream out;
+    private final StringBuilder content = new StringBuilder(4096);
+    private final StringBuilder pageImages = new StringBuilder(256);
+    private long[] objectOffsets = new long[64];
+    private int[] pageObjects = new int[16];
+    private int objectCount = FONT_OBJECT;
+    private int pageCount;
+    private double y;
+
+    /**
+     * Creates a PDF worksheet writer and writes the start of the document
+     * @param out the stream the document is written to, it's closed when the writer is closed
+     * @param title the title of the document, shown at the top of the first page
+     * @param isAnswerKey if the document is an answer key rather than a worksheet
+     * @throws IOException if the start of the document can't be written
+     */
+    public PdfWorksheetWriter(OutputStream out, String title, boolean isAnswerKey) throws IOException {
+        super(isAnswerKey);
+        this.out = new CountingOutputStream(new BufferedOutputStream(out, 64 * 1024));
+
+        //The binary comment tells programs that the file contains binary data
+        writeAscii("%PDF-1.4\n%\u00E2\u00E3\u00CF\u00D3\n");
+        beginObject(CATALOG_OBJECT);
+        writeAscii("<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>\nendobj\n");
+        beginObject(FONT_OBJECT);
+        writeAscii("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+        beginPage();
+        y -= TITLE_FONT_SIZE;
+        appendText(MARGIN, y, TITLE_FONT_SIZE, title);
+        y -= LINE_HEIGHT;
+    }
+
+    /**
+     * Encodes the image as deflated RGB samples, which a PDF image can use directly
+     * @param image the image of the question
+     * @return the deflated samples
+     */
+    @Override
+    public byte[] encodeImage(RasterImage image) {
+        return ImageEncoding.deflateRgb(image, false);
+    }
+
+    @Override
+    public void write(WorksheetItem item, byte[] encodedImage) throws IOException {
+        double imageHeight = encodedImage == null ? 0 : item.getImageHeight() * IMAGE_SCALE;
+        //The question line, the image, the answer or choices line and the spacing, the same amounts y is moved down by below
+        double itemHeight = LINE_HEIGHT + (encodedImage == null ? 0 : imageHeight + IMAGE_SPACING) + LINE_HEIGHT + ITEM_SPACING;
+
+        if (y - itemHeight < MARGIN) {
+            endPage();
+            beginPage();
+        }
+
+        y -= LINE_HEIGHT;
+        appendText(MARGIN, y, FONT_SIZE, item.getNumber() + ". " + item.getQuestion());
+
+        if (encodedImage != null) {
+            double imageWidth = item.getImageWidth() * IMAGE_SCALE;
+            int imageObject = writeImage(item, encodedImage);
+
+            y -= imageHeight + IMAGE_SPACING;
+            pageImages.append(" /Im").append(imageObject).append(' ').append(imageObject).append(" 0 R");
+            content.append("q ").append(format(imageWidth)).append(" 0 0 ").append(format(imageHeight)).append(' ')
+                    .append(MARGIN + 15).append(' ').append(format(y)).append(" cm /Im").append(imageObject).append(" Do Q\n");
+        }
+
+        y -= LINE_HEIGHT;
+
+        if (isAnswerKey()) {
+            String letter = item.getAnswerChoice() >= 0
+                    ? WorksheetItem.getChoiceLetter(item.getAnswerChoice()) + ") "
+                    : "";
+            appendText(MARGIN + 15, y, FONT_SIZE, "Answer: " + letter + item.getAnswer());
+        } else if (item.getChoiceCount() > 0) {
+            for (int i = 0; i < item.getChoiceCount(); i++) {
+                appendText(MARGIN + 15 + (i * CHOICE_WIDTH), y, FONT_SIZE,
+                        WorksheetItem.getChoiceLetter(i) + ") " + item.getChoice(i));
+            }
+        } else {
+            appendText(MARGIN + 15, y, FONT_SIZE, "Answer: ______________________");
+        }
+
+        y -= ITEM_SPACING;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            endPage();
+
+            beginObject(PAGES_OBJECT);
+            writeAscii("<< /Type /Pages /Count " + pageCount + " /Kids [");
+
+            for (int i = 0; i < pageCount; i++) {
+                writeAscii(" " + pageObjects[i] + " 0 R");
+            }
+
+            writeAscii(" ] >>\nendobj\n");
+
+            long crossReferenceOffset = out.getCount();
+            writeAscii("xref\n0 " + (objectCount + 1) + "\n0000000000 65535 f \n");
+
+            for (int i = 1; i <= objectCount; i++) {
+                writeAscii(String.format("%010d 00000 n \n", objectOffsets[i]));
+            }
+
+            writeAscii("trailer\n<< /Size " + (objectCount + 1) + " /Root " + CATALOG_OBJECT + " 0 R >>\n");
+            writeAscii("startxref\n" + crossReferenceOffset + "\n%%EOF\n");
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void beginPage() {
+        content.setLength(0);
+        pageImages.setLength(0);
+        y = PAGE_HEIGHT - MARGIN;
+    }
+
+    /**
+     * Writes the content of the current page followed by the page itself
+     */
+    private void endPage() throws IOException {
+        byte[] pageContent = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int contentObject = beginObject(++objectCount);
+        writeAscii("<< /Length " + pageContent.length + " >>\nstream\n");
+        out.write(pageContent);
+        writeAscii("\nendstream\nendobj\n");
+
+        int pageObject = beginObject(++objectCount);
+        writeAscii("<< /Type /Page /Parent " + PAGES_OBJECT + " 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "]"
+                + " /Resources << /Font << /F1 " + FONT_OBJECT + " 0 R >> /XObject <<" + pageImages + " >> >>"
+                + " /Contents " + contentObject + " 0 R >>\nendobj\n");
+
+        if (pageCount == pageObjects.length) {
+            pageObjects = Arrays.copyOf(pageObjects, pageCount * 2);
+        }
+
+        pageObjects[pageCount++] = pageObject;
+    }
+
+    /**
+     * Writes the image of a question as an image object
+     * @return the object number of the image
+     */
+    private int writeImage(WorksheetItem item, byte[] encodedImage) throws IOException {
+        int imageObject = beginObject(++objectCount);
+        writeAscii("<< /Type /XObject /Subtype /Image /Width " + item.getImageWidth() + " /Height " + item.getImageHeight()
+                + " /ColorSpace /DeviceRGB /BitsPerComponent 8 /Filter /FlateDecode /Length " + encodedImage.length
+                + " >>\nstream\n");
+        out.write(encodedImage);
+        writeAscii("\nendstream\nendobj\n");
+        return imageObject;
+    }
+
+    /**
+     * Records the offset of an object and writes the start of it
+     * @param object the object number
+     * @return the object number
+     */
+    private int beginObject(int object) throws IOException {
+        if (object >= objectOffsets.length) {
+            objectOffsets = Arrays.copyOf(objectOffsets, objectOffsets.length * 2);
+        }
+
+        objectOffsets[object] = out.getCount();
+        writeAscii(object + " 0 obj\n");
+        return object;
+    }
+
+    /**
+     * Adds a line of text to the content of the current page
+     */
+    private void appendText(double x, double y, int fontSize, String text) {
+        content.append("BT /F1 ").append(fontSize).append(" Tf ").append(format(x)).append(' ').append(format(y))
+                .append(" Td (");
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c == '(' || c == ')' || c == '\\') {
+                content.append('\\').append(c);
+            } else if (c == '\u2212') {
+                content.append('-');
+            } else if (c >= ' ' && c <= '\u00FF') {
+                //Latin-1 characters, including ², have the same codes in the WinAnsi encoding of the font
+                content.append(c);
+            } else {
+                content.append('?');
+            }
+        }
+
+        content.append(") Tj ET\n");
+    }
+
+    /**
+     * @return the number with at most 2 decimal places, PDF numbers can't be in scientific notation
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private void writeAscii(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Counts the bytes written, the cross reference table needs the offset of every object
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.quizme.generator.export;
+
+import java.util.Locale;
+import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.provider.QuestionGenerator;
+
+/**
+ * Exports questions to worksheets and answer keys.
+ * The questions are pulled from an iterator one at a time and rendered in parallel on the executor, rendering a
+ * question's image and encoding it for each document, whilst the rendered questions are written in order on the
+ * calling thread. Only a bounded amount of questions are ever being rendered, so the memory used doesn't grow with
+ * the amount of questions exported.
+ */
+public class WorksheetExporter {
+
+    //The amount of questions being rendered for each thread of the executor, so the threads never wait for work
+    private static final int QUESTIONS_PER_THREAD = 4;
+
+    private final Executor executor;
+    private final int parallelism;
+
+    public WorksheetExporter() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Creates a new worksheet exporter
+     * @param executor the executor that the questions are rendered on
+     * @param parallelism the amount of threads of the executor, used to decide how many questions are rendered at once
+     */
+    public WorksheetExporter(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Exports questions to documents, the documents aren't closed
+     * @param questions the questions to export, e.g. QuestionGenerator.iterator
+     * @param amount the maximum amount of questions to export
+     * @param writers the documents to write every question to
+     * @return the amount of questions exported, less than the amount if the iterator ran out of questions
+     * @throws IOException if a document can't be written
+     */
+    public int export(Iterator<Question> questions, int amount, WorksheetWriter... writers) throws IOException {
+        ArrayDeque<CompletableFuture<RenderedQuestion>> rendering = new ArrayDeque<>();
+        int maxRendering = parallelism * QUESTIONS_PER_THREAD;
+        int submitted = 0;
+        int written = 0;
+
+        while (written < amount) {
+            while (submitted < amount && rendering.size() < maxRendering && questions.hasNext()) {
+                Question question = questions.next();
+                int number = ++submitted;
+                rendering.add(CompletableFuture.supplyAsync(() -> render(number, question, writers), executor));
+            }
+
+            if (rendering.isEmpty()) {
+                break;
+            }
+
+            RenderedQuestion rendered = join(rendering.poll());
+
+            for (int i = 0; i < writers.length; i++) {
+                writers[i].write(rendered.item, rendered.images[i]);
+            }
+
+            written++;
+        }
+
+        return written;
+    }
+
+    /**
+     * Works out the text of a question and renders and encodes its image for each document
+     * @param number the number of the question
+     * @param question the question
+     * @param writers the documents the question is written to
+     * @return the rendered question
+     */
+    private static RenderedQuestion render(int number, Question question, WorksheetWriter[] writers) {
+        RasterImage image = question.hasImage() ? question.getRasterImage() : null;
+        byte[][] images = new byte[writers.length][];
+
+        if (image == null) {
+            return new RenderedQuestion(WorksheetItem.of(number, question, 0, 0), images);
+        }
+
+        for (int i = 0; i < writers.length; i++) {
+            images[i] = writers[i].isAnswerKey() ? null : writers[i].encodeImage(image);
+        }
+
+        return new RenderedQuestion(WorksheetItem.of(number, question, image.getWidth(), image.getHeight()), images);
+    }
+
+    private static RenderedQuestion join(CompletableFuture<RenderedQuestion> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : ex;
+        }
+    }
+
+    /**
+     * A question with its image encoded for each document
+     */
+    private static class RenderedQuestion {
+
+        private final WorksheetItem item;
+        private final byte[][] images;
+
+        RenderedQuestion(WorksheetItem item, byte[][] images) {
+            this.item = item;
+            this.images = images;
+        }
+    }
+
+    /**
+     * Exports a worksheet and an answer key as both HTML and PDF files
+     * @param args the directory to write the files to, the amount of questions, the topic or MIXED (MIXED by default),
+     *             the difficulty level (EASY by default) and if they're multiple choice questions (false by default)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: WorksheetExporter <directory> <amount> [topic|MIXED] [difficulty] [multiChoice]");
+            System.exit(1);
+        }
+
+        Path directory = Files.createDirectories(Paths.get(args[0]));
+        int amount = Integer.parseInt(args[1]);
+        String topicName = args.length > 2 ? args[2].toUpperCase(Locale.ROOT) : "MIXED";
+        Topic topic = topicName.equals("MIXED") ? null : Topic.valueOf(topicName);
+        Difficulty difficulty = args.length > 3 ? Difficulty.valueOf(args[3].toUpperCase(Locale.ROOT)) : Difficulty.EASY;
+        boolean isMultiChoice = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        String title = "QuizMe " + (topic == null ? "mixed" : topic.name().toLowerCase(Locale.ROOT))
+                + " worksheet, " + difficulty.name().toLowerCase(Locale.ROOT);
+        Iterator<Question> questions = QuestionGenerator.getDefault().iterator(topic, difficulty, isMultiChoice);
+        long start = System.nanoTime();
+        int exported;
+
+        try (WorksheetWriter htmlWorksheet = new HtmlWorksheetWriter(
+                Files.newOutputStream(directory.resolve("worksheet.html")), title, false);
+             WorksheetWriter htmlAnswers = new HtmlWorksheetWriter(
+                Files.newOutputStream(directory.resolve("answers.html")), title + " answers", true);
+             WorksheetWriter pdfWorksheet = new PdfWorksheetWriter(
+                Files.newOutputStream(directory.resolve("worksheet.pdf")), title, false);
+             WorksheetWriter pdfAnswers = new PdfWorksheetWriter(
+                Files.newOutputStream(directory.resolve("answers.pdf")), title + " answers", true)) {
+            exported = new WorksheetExporter().export(questions, amount, htmlWorksheet, htmlAnswers, pdfWorksheet, pdfAnswers);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        System.out.printf("Exported %d questions to %s in %dms%n", exported, directory, elapsedMillis);
+    }
+}
@@ -0,0 +1,116 @@
+package com.quizme.generator.export;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import com.quizme.generator.models.Question;
+
+/**
+ * The text of a question on a worksheet, worked out on the rendering threads so writing it is just copying text.
+ * It doesn't reference the question or its image, so the question can be garbage collected as soon as it's rendered.
+ */
+public final class WorksheetItem {
+
+    private final int number;
+    private final String question;
+    private final String answer;
+    private final String[] choices;
+    private final int answerChoice;
+    private final int imageWidth, imageHeight;
+
+    private WorksheetItem(int number, String question, String answer, String[] choices, int answerChoice,
+                          int imageWidth, int imageHeight) {
+        this.number = number;
+        this.question = question;
+        this.answer = answer;
+        this.choices = choices;
+        this.answerChoice = answerChoice;
+        this.imageWidth = imageWidth;
+        this.imageHeight = imageHeight;
+    }
+
+    /**
+     * Creates the worksheet item of a question.
+     * The choices of a multiple choice question are shuffled by its number, so exporting the same questions
+     * again gives the same worksheet
+     * @param number the number of the question on the worksheet, starting from 1
+     * @param question the question
+     * @param imageWidth the width of the question's image in pixels, or 0 if it doesn't have one
+     * @param imageHeight the height of the question's image in pixels, or 0 if it doesn't have one
+     * @return the worksheet item
+     */
+    public static WorksheetItem of(int number, Question question, int imageWidth, int imageHeight) {
+        String answer = question.getAnswer();
+        String[] choices = null;
+        int answerChoice = -1;
+
+        if (question.isMultiChoice()) {
+            List<String> shuffled = new ArrayList<>(Arrays.asList(question.getMultipleChoices()));
+            shuffled.add(answer);
+            Collections.shuffle(shuffled, new Random(number));
+
+            choices = shuffled.toArray(new String[0]);
+            answerChoice = shuffled.indexOf(answer);
+        }
+
+        return new WorksheetItem(number, question.getQuestion(), answer, choices, answerChoice, imageWidth, imageHeight);
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    /**
+     *
+     * @return the shuffled choices of a multiple choice question, including the answer, or null if it isn't one
+     */
+    public String[] getChoices() {
+        return choices == null ? null : choices.clone();
+    }
+
+    public int getChoiceCount() {
+        return choices == null ? 0 : choices.length;
+    }
+
+    public String getChoice(int index) {
+        return choices[index];
+    }
+
+    /**
+     *
+     * @return the index of the answer in the choices, or -1 if it isn't a multiple choice question
+     */
+    public int getAnswerChoice() {
+        return answerChoice;
+    }
+
+    /**
+     * @param index the index of a choice
+     * @return the letter the choice is labelled with, e.g. A for the first choice
+     */
+    public static char getChoiceLetter(int index) {
+        return (char) ('A' + index);
+    }
+
+    public boolean hasImage() {
+        return imageWidth > 0;
+    }
+
+    public int getImageWidth() {
+        return imageWidth;
+    }
+
+    public int getImageHeight() {
+        return imageHeight;
+    }
+}
@@ -0,0 +1,50 @@
+package com.quizme.generator.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import com.quizme.generator.rendering.RasterImage;
+
+/**
+ * The base class of the document formats worksheets are exported to.
+ * A writer streams each question straight into its output, so a document of any length is written in constant memory.
+ * A worksheet has the questions and their images, an answer key has the questions and their answers.
+ */
+public abstract class WorksheetWriter implements Closeable {
+
+    private final boolean isAnswerKey;
+
+    /**
+     * @param isAnswerKey if the document is an answer key rather than a worksheet
+     */
+    protected WorksheetWriter(boolean isAnswerKey) {
+        this.isAnswerKey = isAnswerKey;
+    }
+
+    public final boolean isAnswerKey() {
+        return isAnswerKey;
+    }
+
+    /**
+     * Encodes the image of a question the way the document embeds it.
+     * It's called in parallel on the rendering threads, so it mustn't use the state of the writer
+     * @param image the image of the question
+     * @return the encoded image
+     */
+    public abstract byte[] encodeImage(RasterImage image);
+
+    /**
+     * Writes a question, the questions are written in the order of their numbers
+     * @param item the question
+     * @param encodedImage the image encoded by encodeImage, or null if the question doesn't have an image
+     *                     or the document is an answer key
+     * @throws IOException if the question can't be written
+     */
+    public abstract void write(WorksheetItem item, byte[] encodedImage) throws IOException;
+
+    /**
+     * Finishes the document and closes its output
+     * @throws IOException if the document can't be finished
+     */
+    @Override
+    public abstract void close() throws IOException;
+}
@@ -0,0 +1,155 @@
+package com.quizme.generator.formatting;
+
+import java.util.Locale;
+import java.text.DecimalFormatSymbols;
+
+import com.quizme.generator.modules.shapes.models.Units;
+
+/**
+ * Formats the maths used in question and answer strings without going through String.format.
+ * It produces exactly the same output as the format strings it replaces, but it doesn't parse a format string,
+ * doesn't box its arguments and builds the strings in a reusable per-thread buffer.
+ */
+public final class MathFormat {
+
+    public static final char SQUARED = '²';
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+    //Doubles with a bigger magnitude than this can't be scaled to hundredths exactly
+    private static final double MAX_EXACT_HUNDREDTHS = 1e15;
+
+    private static volatile LocaleSymbols symbols = new LocaleSymbols(Locale.getDefault(Locale.Category.FORMAT));
+
+    private MathFormat() { }
+
+    /**
+     * Returns the calling thread's buffer, emptied.
+     * The buffer is reused by the next call on the same thread, so it must be turned into a string straight away.
+     * @return the empty buffer
+     */
+    public static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    /**
+     * Appends an integer, the same way as the %d conversion
+     * @param sb the buffer to append to
+     * @param value the value to append
+     * @return the buffer
+     */
+    public static StringBuilder appendInt(StringBuilder sb, int value) {
+        LocaleSymbols current = currentSymbols();
+
+        if (!current.hasAsciiDigits) {
+            return sb.append(String.format(current.locale, "%d", value));
+        }
+
+        return sb.append(value);
+    }
+
+    /**
+     * Appends a decimal rounded to 2 decimal places, the same way as the %.2f conversion
+     * @param sb the buffer to append to
+     * @param value the value to append
+     * @return the buffer
+     */
+    public static StringBuilder appendFixed2(StringBuilder sb, double value) {
+        LocaleSymbols current = currentSymbols();
+        double scaled = value * 100;
+
+        //Only values that are a whole number of hundredths take the fast path, the rest are left to the Formatter
+        boolean isExact = Math.abs(scaled) < MAX_EXACT_HUNDREDTHS && scaled == Math.rint(scaled);
+        boolean isNegativeZero = value == 0 && Double.doubleToRawLongBits(value) != 0;
+
+        if (!current.hasAsciiDigits || !isExact || isNegativeZero) {
+            return sb.append(String.format(current.locale, "%.2f", value));
+        }
+
+        long hundredths = (long) scaled;
+
+        if (hundredths < 0) {
+            sb.append('-');
+            hundredths = -hundredths;
+        }
+
+        long fraction = hundredths % 100;
+        sb.append(hundredths / 100).append(current.decimalSeparator);
+
+        if (fraction < 10) {
+            sb.append('0');
+        }
+
+        return sb.append(fraction);
+    }
+
+    /**
+     * Appends a signed term of an expression, e.g. " + 5" or " - 5"
+     * @param sb the buffer to append to
+     * @param value the value of the term, it must not be 0
+     * @return the buffer
+     */
+    public static StringBuilder appendSignedTerm(StringBuilder sb, int value) {
+        return sb.append(value > 0 ? " + " : " - ").append(Math.abs(value));
+    }
+
+    /**
+     * Appends an algebra bracket, e.g. "(x + 3)".
+     * A 0 is written as a subtraction, i.e. "(x - 0)"
+     * @param sb the buffer to append to
+     * @param variable the variable of the bracket
+     * @param number the number of the bracket
+     * @return the buffer
+     */
+    public static StringBuilder appendBracket(StringBuilder sb, char variable, int number) {
+        return sb.append('(').append(variable).append(' ')
+                .append(number > 0 ? '+' : '-').append(' ')
+                .append(Math.abs(number)).append(')');
+    }
+
+    /**
+     * Appends a unit of measurement, e.g. "cm" or "cm²"
+     * @param sb the buffer to append to
+     * @param units the units to append
+     * @param isSquared if the units are squared
+     * @return the buffer
+     */
+    public static StringBuilder appendUnits(StringBuilder sb, Units units, boolean isSquared) {
+        sb.append(units.getSymbol());
+        return isSquared ? sb.append(SQUARED) : sb;
+    }
+
+    /**
+     * The symbols of the default locale are looked up again whenever the default locale changes
+     * @return the symbols of the default format locale
+     */
+    private static LocaleSymbols currentSymbols() {
+        LocaleSymbols current = symbols;
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+
+        if (current.locale != locale) {
+            current = new LocaleSymbols(locale);
+            symbols = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * The parts of a locale that change how numbers are formatted
+     */
+    private static final class LocaleSymbols {
+
+        private final Locale locale;
+        private final char decimalSeparator;
+        private final boolean hasAsciiDigits;
+
+        LocaleSymbols(Locale locale) {
+            DecimalFormatSymbols decimalSymbols = DecimalFormatSymbols.getInstance(locale);
+            this.locale = locale;
+            this.decimalSeparator = decimalSymbols.getDecimalSeparator();
+            this.hasAsciiDigits = decimalSymbols.getZeroDigit() == '0';
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.quizme.generator.grading;
+
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.metrics.LatencyMetrics;
+import com.quizme.generator.metrics.Operation;
+
+/**
+ * Checks a user's answer by comparing answer keys instead of strings
+ */
+public final class AnswerChecker {
+
+    private AnswerChecker() {
+    }
+
+    /**
+     * Checks if an answer is correct
+     * @param question the question that was answered
+     * @param usersAnswer the answer the user gave
+     * @return true if the answer is equivalent to the correct answer of the question
+     */
+    public static boolean isCorrect(Question question, String usersAnswer) {
+        if (usersAnswer == null) {
+            return false;
+        }
+
+        long start = LatencyMetrics.start();
+        boolean failed = true;
+
+        try {
+            boolean isCorrect = compareAnswers(question, usersAnswer);
+            failed = false;
+            return isCorrect;
+        } finally {
+            LatencyMetrics.record(Operation.CHECK_ANSWER, question.getClass(), question.getTopic(), question.getDifficulty(), start, failed);
+        }
+    }
+
+    private static boolean compareAnswers(Question question, String usersAnswer) {
+        AnswerKey answerKey = question.getAnswerKey();
+        AnswerKey usersKey = AnswerParser.parse(usersAnswer, answerKey.getType());
+
+        if (usersKey != null) {
+            return answerKey.equals(usersKey);
+        }
+
+        //An answer that can't be parsed is still compared the way answers always have been
+        String strippedUserAnswer = usersAnswer.replace(" ", "").toLowerCase();
+        String strippedAnswer = question.getAnswer().replace(" ", "").toLowerCase();
+        return strippedUserAnswer.equals(strippedAnswer);
+    }
+}
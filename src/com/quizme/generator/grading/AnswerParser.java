@@ -0,0 +1,329 @@
+package com.quizme.generator.grading;
+
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.modules.shapes.models.Units;
+
+/**
+ * Parses a user's answer into an answer key in a single pass, without regular expressions or intermediate strings.
+ * It accepts the answer in any of the usual ways of typing it, e.g. spaces, upper case, ^2 instead of ² and
+ * terms in any order, so that equivalent answers get the same key.
+ */
+public final class AnswerParser {
+
+    private static final char SQUARED = '²';
+    //Keeps the parsed numbers well within the range of a long
+    private static final int MAX_DIGITS = 12;
+
+    private final String input;
+    private int position;
+
+    private AnswerParser(String input) {
+        this.input = input;
+    }
+
+    /**
+     * Parses an answer
+     * @param input the answer to parse
+     * @param type the type of answer that is expected
+     * @return the key of the answer, or null if the answer isn't a valid answer of that type
+     */
+    public static AnswerKey parse(String input, AnswerKey.Type type) {
+        if (input == null) {
+            return null;
+        }
+
+        AnswerParser parser = new AnswerParser(input);
+        return type == AnswerKey.Type.POLYNOMIAL ? parser.parsePolynomial() : parser.parseMeasurement();
+    }
+
+    /**
+     * Parses a polynomial made up of squared, linear and constant terms, in any order
+     * @return the key of the polynomial, or null if it's invalid
+     */
+    private AnswerKey parsePolynomial() {
+        long squared = 0, linear = 0, constant = 0;
+        char variable = Character.MIN_VALUE;
+        boolean isFirstTerm = true;
+
+        while (peek() != Character.MIN_VALUE) {
+            //Every term apart from the first must start with a sign
+            int sign = parseSign();
+
+            if (sign == 0) {
+                if (!isFirstTerm) {
+                    return null;
+                }
+                sign = 1;
+            }
+
+            int digitCount = countDigits();
+
+            if (digitCount > MAX_DIGITS) {
+                return null;
+            }
+
+            long coefficient = digitCount == 0 ? 1 : parseDigits(digitCount);
+            char termVariable = Character.toLowerCase(peek());
+
+            if (!Character.isLetter(termVariable)) {
+                //A constant term must have a number
+                if (digitCount == 0 || parsePower() != 1) {
+                    return null;
+                }
+
+                constant += sign * coefficient;
+            } else {
+                position++;
+
+                if (variable != Character.MIN_VALUE && variable != termVariable) {
+                    return null;
+                }
+
+                variable = termVariable;
+                int power = parsePower();
+
+                if (power == 2) {
+                    squared += sign * coefficient;
+                } else if (power == 1) {
+                    linear += sign * coefficient;
+                } else {
+                    return null;
+                }
+            }
+
+            isFirstTerm = false;
+        }
+
+        return isFirstTerm ? null : AnswerKey.polynomial(variable, squared, linear, constant);
+    }
+
+    /**
+     * Parses a measurement, e.g. 12.5cm^2
+     * @return the key of the measurement, or null if it's invalid
+     */
+    private AnswerKey parseMeasurement() {
+        int sign = parseSign();
+        sign = sign == 0 ? 1 : sign;
+
+        int digitCount = countDigits();
+
+        if (digitCount == 0 || digitCount > MAX_DIGITS) {
+            return null;
+        }
+
+        long hundredths = parseDigits(digitCount) * 100;
+        char separator = peek();
+
+        //A comma followed by 3 digits is a thousands separator, otherwise it's a decimal separator
+        if (separator == ',' && countDigitsAfter(1) == 3) {
+            position++;
+            hundredths = (hundredths * 1000) + (parseDigits(3) * 100);
+            separator = peek();
+        }
+
+        if (separator == '.' || separator == ',') {
+            position++;
+            int decimals = countDigits();
+
+            for (int i = 0; i < decimals; i++) {
+                int digit = input.charAt(skipIgnored()) - '0';
+                position++;
+
+                if (i == 0) {
+                    hundredths += digit * 10;
+                } else if (i == 1) {
+                    hundredths += digit;
+                } else if (digit != 0) {
+                    //Measurements are compared in hundredths, anything more precise can't be equal
+                    return null;
+                }
+            }
+        }
+
+        Units units = parseUnits();
+
+        if (units == null) {
+            return null;
+        }
+
+        int power = parsePower();
+
+        if (power == 1 && peek() == '2') {
+            //e.g. cm2
+            position++;
+            power = 2;
+        }
+
+        if (power == -1 || peek() != Character.MIN_VALUE) {
+            return null;
+        }
+
+        return AnswerKey.measurement(sign * hundredths, units, power);
+    }
+
+    /**
+     * The symbols are matched longest first, so cm is never read as c followed by m
+     * @return the parsed units, or null if there aren't any valid units
+     */
+    private Units parseUnits() {
+        Units match = null;
+        int matchLength = 0;
+
+        for (Units units : Units.values()) {
+            String symbol = units.getSymbol();
+
+            if (symbol.length() > matchLength && matches(symbol)) {
+                match = units;
+                matchLength = symbol.length();
+            }
+        }
+
+        if (match != null) {
+            for (int i = 0; i < matchLength; i++) {
+                skipIgnored();
+                position++;
+            }
+        }
+
+        return match;
+    }
+
+    /**
+     * @param symbol the lower case text to look for
+     * @return true if the text is next in the input, ignoring case and spaces
+     */
+    private boolean matches(String symbol) {
+        int saved = position;
+
+        try {
+            for (int i = 0; i < symbol.length(); i++) {
+                if (Character.toLowerCase(peek()) != symbol.charAt(i)) {
+                    return false;
+                }
+                position++;
+            }
+
+            //The symbol must not just be the start of a longer word
+            return !Character.isLetter(peek());
+        } finally {
+            position = saved;
+        }
+    }
+
+    /**
+     * Parses an optional power, either ² or ^ followed by a number
+     * @return the power, 1 if there isn't one or -1 if it's invalid
+     */
+    private int parsePower() {
+        char c = peek();
+
+        if (c == SQUARED) {
+            position++;
+            return 2;
+        }
+
+        if (c == '^') {
+            position++;
+            int digitCount = countDigits();
+            return (digitCount == 0 || digitCount > MAX_DIGITS) ? -1 : (int) Math.min(parseDigits(digitCount), Integer.MAX_VALUE);
+        }
+
+        return 1;
+    }
+
+    /**
+     * Parses any amount of signs, e.g. "- -" is positive
+     * @return 1 for positive, -1 for negative and 0 if there isn't a sign
+     */
+    private int parseSign() {
+        int sign = 0;
+        char c = peek();
+
+        while (c == '+' || c == '-' || c == '−') {
+            sign = (sign == 0 ? 1 : sign) * (c == '+' ? 1 : -1);
+            position++;
+            c = peek();
+        }
+
+        return sign;
+    }
+
+    /**
+     * @return the amount of consecutive digits next in the input, ignoring spaces
+     */
+    private int countDigits() {
+        return countDigitsAfter(0);
+    }
+
+    /**
+     * @param skip the amount of characters to skip first
+     * @return the amount of consecutive digits in the input after the skipped characters, ignoring spaces
+     */
+    private int countDigitsAfter(int skip) {
+        int saved = position;
+        int count = 0;
+
+        try {
+            for (int i = 0; i < skip; i++) {
+                skipIgnored();
+                position++;
+            }
+
+            while (isDigit(peek())) {
+                count++;
+                position++;
+            }
+
+            return count;
+        } finally {
+            position = saved;
+        }
+    }
+
+    /**
+     * Parses digits that have already been counted
+     * @param digitCount the amount of digits to parse
+     * @return the parsed number
+     */
+    private long parseDigits(int digitCount) {
+        long value = 0;
+
+        for (int i = 0; i < digitCount; i++) {
+            value = (value * 10) + (input.charAt(skipIgnored()) - '0');
+            position++;
+        }
+
+        return value;
+    }
+
+    /**
+     *
+     * @return the next character that isn't ignored, or Character.MIN_VALUE at the end of the input
+     */
+    private char peek() {
+        int index = skipIgnored();
+        return index < input.length() ? input.charAt(index) : Character.MIN_VALUE;
+    }
+
+    /**
+     * Moves past any white space and control characters
+     * @return the current position
+     */
+    private int skipIgnored() {
+        while (position < input.length()) {
+            char c = input.charAt(position);
+
+            if (!Character.isWhitespace(c) && !Character.isISOControl(c) && !Character.isSpaceChar(c) && c != '*') {
+                break;
+            }
+
+            position++;
+        }
+
+        return position;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,59 @@
+package com.quizme.generator.grading;
+
+import java.util.Map;
+import java.util.EnumMap;
+import java.util.Collections;
+import com.quizme.generator.models.Topic;
+
+/**
+ * The results of grading a batch of submissions, in the same order as the submissions
+ */
+public final class GradingReport {
+
+    private final boolean[] results;
+    private final Score score;
+    private final Map<Topic, Score> topicScores;
+
+    GradingReport(boolean[] results, Score score, EnumMap<Topic, Score> topicScores) {
+        this.results = results;
+        this.score = score;
+        this.topicScores = Collections.unmodifiableMap(topicScores);
+    }
+
+    /**
+     * @param index the index of the submission
+     * @return true if the submission was correct
+     */
+    public boolean isCorrect(int index) {
+        return results[index];
+    }
+
+    /**
+     *
+     * @return the amount of submissions that were graded
+     */
+    public int size() {
+        return results.length;
+    }
+
+    /**
+     *
+     * @return the score of the whole batch
+     */
+    public Score getScore() {
+        return score;
+    }
+
+    /**
+     *
+     * @return the score of each topic that had at least one submission
+     */
+    public Map<Topic, Score> getTopicScores() {
+        return topicScores;
+    }
+
+    @Override
+    public String toString() {
+        return "GradingReport{score=" + score + ", topicScores=" + topicScores + "}";
+    }
+}
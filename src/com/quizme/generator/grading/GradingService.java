@@ -0,0 +1,163 @@
+package com.quizme.generator.grading;
+
+import java.util.List;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import com.quizme.generator.models.Topic;
+
+/**
+ * Grades batches of submissions off the UI thread.
+ * A batch is split into chunks which are graded in parallel on the executor, each chunk counts its own scores
+ * so the only shared state is the array of results that each chunk writes its own range of.
+ */
+public class GradingService {
+
+    //The smallest amount of submissions worth grading on a separate task
+    private static final int MIN_PARALLEL_CHUNK = 256;
+    private static final Topic[] TOPICS = Topic.values();
+
+    private final Executor executor;
+    private final int parallelism;
+
+    public GradingService() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Creates a new grading service
+     * @param executor the executor that the submissions are graded on
+     * @param parallelism the amount of threads of the executor, used to decide how many chunks a batch is split into
+     */
+    public GradingService(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Grades a batch of submissions, blocking until they've all been graded
+     * @param submissions the submissions to grade
+     * @return the results of each submission along with the aggregate scores
+     */
+    public GradingReport grade(List<Submission> submissions) {
+        //The caller is waiting anyway, so a batch too small to split is graded on its thread instead of handed off
+        if (submissions.size() <= getChunkSize(submissions.size())) {
+            return gradeChunk(submissions);
+        }
+
+        try {
+            return gradeAsync(submissions).join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : ex;
+        }
+    }
+
+    /**
+     * Grades a batch of submissions in the background, the calling thread never grades any of them
+     * @param submissions the submissions to grade
+     * @return a future of the results of each submission along with the aggregate scores
+     */
+    public CompletableFuture<GradingReport> gradeAsync(List<Submission> submissions) {
+        int amount = submissions.size();
+        int chunkSize = getChunkSize(amount);
+
+        if (amount <= chunkSize) {
+            return CompletableFuture.supplyAsync(() -> gradeChunk(submissions), executor);
+        }
+
+        boolean[] results = new boolean[amount];
+        int chunkCount = (amount + chunkSize - 1) / chunkSize;
+        List<CompletableFuture<int[][]>> chunks = new ArrayList<>(chunkCount);
+
+        for (int i = 0; i < chunkCount; i++) {
+            int from = i * chunkSize;
+            int to = Math.min(amount, from + chunkSize);
+            chunks.add(CompletableFuture.supplyAsync(() -> gradeRange(submissions, results, from, to), executor));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            int[][] counts = new int[2][TOPICS.length];
+
+            for (CompletableFuture<int[][]> chunk : chunks) {
+                int[][] chunkCounts = chunk.join();
+
+                for (int i = 0; i < TOPICS.length; i++) {
+                    counts[0][i] += chunkCounts[0][i];
+                    counts[1][i] += chunkCounts[1][i];
+                }
+            }
+
+            return createReport(results, counts);
+        });
+    }
+
+    /**
+     * @param amount the amount of submissions in the batch
+     * @return the amount of submissions graded by each task
+     */
+    private int getChunkSize(int amount) {
+        return Math.max(MIN_PARALLEL_CHUNK, amount / (parallelism * 4));
+    }
+
+    /**
+     * Grades a whole batch on the current thread
+     * @param submissions the submissions to grade
+     * @return the results of each submission along with the aggregate scores
+     */
+    private static GradingReport gradeChunk(List<Submission> submissions) {
+        boolean[] results = new boolean[submissions.size()];
+        int[][] counts = gradeRange(submissions, results, 0, results.length);
+        return createReport(results, counts);
+    }
+
+    /**
+     * Grades a range of the submissions
+     * @param submissions the submissions to grade
+     * @param results the results to write the range of results into
+     * @param from the index of the first submission, inclusive
+     * @param to the index of the last submission, exclusive
+     * @return the correct and total amount of submissions for each topic, indexed by the topic's ordinal
+     */
+    private static int[][] gradeRange(List<Submission> submissions, boolean[] results, int from, int to) {
+        int[] correct = new int[TOPICS.length];
+        int[] total = new int[TOPICS.length];
+
+        for (int i = from; i < to; i++) {
+            Submission submission = submissions.get(i);
+            int topic = submission.getQuestion().getTopic().ordinal();
+            results[i] = AnswerChecker.isCorrect(submission.getQuestion(), submission.getAnswer());
+            total[topic]++;
+
+            if (results[i]) {
+                correct[topic]++;
+            }
+        }
+
+        return new int[][] {correct, total};
+    }
+
+    private static GradingReport createReport(boolean[] results, int[][] counts) {
+        EnumMap<Topic, Score> topicScores = new EnumMap<>(Topic.class);
+        Score score = new Score(0, 0);
+
+        for (Topic topic : TOPICS) {
+            int total = counts[1][topic.ordinal()];
+
+            if (total > 0) {
+                Score topicScore = new Score(counts[0][topic.ordinal()], total);
+                topicScores.put(topic, topicScore);
+                score = score.plus(topicScore);
+            }
+        }
+
+        return new GradingReport(results, score, topicScores);
+    }
+}
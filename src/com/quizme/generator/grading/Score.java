@@ -0,0 +1,68 @@
+package com.quizme.generator.grading;
+
+/**
+ * The amount of correct answers out of the amount of questions answered
+ */
+public final class Score {
+
+    private final int correct;
+    private final int total;
+
+    /**
+     * Creates a new score
+     * @param correct the amount of correct answers
+     * @param total the amount of questions
+     */
+    public Score(int correct, int total) {
+        if (correct < 0 || correct > total) {
+            throw new IllegalArgumentException("The correct amount must be between 0 and " + total);
+        }
+
+        this.correct = correct;
+        this.total = total;
+    }
+
+    public int getCorrect() {
+        return correct;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     *
+     * @return the score as a percentage, or 0 if there weren't any questions
+     */
+    public double getPercentage() {
+        return total == 0 ? 0 : (correct * 100f) / total;
+    }
+
+    /**
+     * @param other the score to add
+     * @return the combined score of both
+     */
+    public Score plus(Score other) {
+        return new Score(correct + other.correct, total + other.total);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Score)) {
+            return false;
+        }
+
+        Score other = (Score) obj;
+        return correct == other.correct && total == other.total;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * correct) + total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d (%.2f%%)", correct, total, getPercentage());
+    }
+}
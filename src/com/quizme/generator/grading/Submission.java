@@ -0,0 +1,30 @@
+package com.quizme.generator.grading;
+
+import com.quizme.generator.models.Question;
+
+/**
+ * An answer submitted for a question
+ */
+public final class Submission {
+
+    private final Question question;
+    private final String answer;
+
+    /**
+     * Creates a new submission
+     * @param question the question that was answered
+     * @param answer the submitted answer, null if the question wasn't answered
+     */
+    public Submission(Question question, String answer) {
+        this.question = question;
+        this.answer = answer;
+    }
+
+    public Question getQuestion() {
+        return question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+}
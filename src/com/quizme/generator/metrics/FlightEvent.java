@@ -0,0 +1,75 @@
+package com.quizme.generator.metrics;
+
+/**
+ * A JDK Flight Recorder event that has begun. Events are only recorded when a flight recording is running,
+ * otherwise, and on runtimes without the jdk.jfr module, begin() returns an event that does nothing.
+ *
+ * <pre>
+ * FlightEvent event = FlightEvent.begin(FlightEventType.QUIZ_SCENE_LOAD);
+ * ...
+ * event.set("amount", amount).commit();
+ * </pre>
+ */
+public final class FlightEvent {
+
+    private static final FlightEvent DISABLED = new FlightEvent(null, null);
+
+    private final FlightEventType type;
+    private final Object event;
+
+    private FlightEvent(FlightEventType type, Object event) {
+        this.type = type;
+        this.event = event;
+    }
+
+    /**
+     * Begins an event, its duration is measured from now until it's committed
+     * @param type the type of the event
+     * @return the event, or an event that does nothing if it isn't being recorded
+     */
+    public static FlightEvent begin(FlightEventType type) {
+        Object event = FlightRecorderSupport.begin(type);
+        return event == null ? DISABLED : new FlightEvent(type, event);
+    }
+
+    /**
+     *
+     * @return true if the event is being recorded
+     */
+    public boolean isRecording() {
+        return event != null;
+    }
+
+    /**
+     * Sets a field of the event, a class is recorded as its simple name and an enum or any other object as a string
+     * @param fieldName the name of the field
+     * @param value the value of the field
+     * @return the event
+     * @throws IllegalArgumentException if the event doesn't have the field
+     */
+    public FlightEvent set(String fieldName, Object value) {
+        if (event != null) {
+            int index = type.getFieldIndex(fieldName);
+            FlightRecorderSupport.set(event, index, toFieldValue(value, type.getFieldType(index)));
+        }
+
+        return this;
+    }
+
+    private static Object toFieldValue(Object value, Class<?> fieldType) {
+        if (fieldType != String.class || value == null || value instanceof String) {
+            return value;
+        }
+
+        return value instanceof Class ? ((Class<?>) value).getSimpleName() : value.toString();
+    }
+
+    /**
+     * Ends the event and writes it to the running recordings, if it lasted longer than their threshold
+     */
+    public void commit() {
+        if (event != null) {
+            FlightRecorderSupport.commit(event);
+        }
+    }
+}
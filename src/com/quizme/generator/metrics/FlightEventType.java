@@ -0,0 +1,86 @@
+package com.quizme.generator.metrics;
+
+/**
+ * The JDK Flight Recorder events of the quiz pipeline, every event also records its start time, duration and thread.
+ * They're all in the QuizMe category, e.g. jcmd &lt;pid&gt; JFR.start duration=60s filename=quiz.jfr records them.
+ */
+public enum FlightEventType {
+
+    QUESTION_GENERATION("com.quizme.QuestionGeneration", "Question Generation",
+            "A batch of questions generated by a generator module",
+            new String[] {"module", "topic", "difficulty", "amount"},
+            new Class<?>[] {String.class, String.class, String.class, int.class}),
+
+    IMAGE_RENDERING("com.quizme.ImageRendering", "Image Rendering",
+            "The image of a shape question drawn",
+            new String[] {"shape", "width", "height"},
+            new Class<?>[] {String.class, int.class, int.class}),
+
+    QUIZ_SCENE_LOAD("com.quizme.QuizSceneLoad", "Quiz Scene Load",
+            "The quiz window loaded and shown, until its first question is displayed",
+            new String[] {"amount"},
+            new Class<?>[] {int.class}),
+
+    ANSWER_SUBMISSION("com.quizme.AnswerSubmission", "Answer Submission",
+            "An answer submitted in the quiz window, until the next question is displayed",
+            new String[] {"questionNumber", "topic", "difficulty", "correct"},
+            new Class<?>[] {int.class, String.class, String.class, boolean.class});
+
+    private final String name;
+    private final String label;
+    private final String description;
+    private final String[] fieldNames;
+    private final Class<?>[] fieldTypes;
+
+    FlightEventType(String name, String label, String description, String[] fieldNames, Class<?>[] fieldTypes) {
+        this.name = name;
+        this.label = label;
+        this.description = description;
+        this.fieldNames = fieldNames;
+        this.fieldTypes = fieldTypes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getFieldCount() {
+        return fieldNames.length;
+    }
+
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    /**
+     *
+     * @param index the index of a field
+     * @return the type of the field, either String, int or boolean
+     */
+    public Class<?> getFieldType(int index) {
+        return fieldTypes[index];
+    }
+
+    /**
+     * @param fieldName the name of a field
+     * @return the index of the field
+     * @throws IllegalArgumentException if the event doesn't have the field
+     */
+    public int getFieldIndex(String fieldName) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("The " + label + " event doesn't have a " + fieldName + " field");
+    }
+}
@@ -0,0 +1,170 @@
+package com.quizme.generator.metrics;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.annotation.Annotation;
+
+/**
+ * Defines the flight recorder events at runtime with jdk.jfr.EventFactory, so the program still compiles for
+ * and runs on Java 8 runtimes that don't have the jdk.jfr module. The events are only used through method handles,
+ * which are looked up once and kept in static final fields. When an event isn't being recorded, begin() only
+ * calls EventType.isEnabled and no event object is created.
+ */
+final class FlightRecorderSupport {
+
+    private static final String CATEGORY = "QuizMe";
+
+    private static final boolean AVAILABLE;
+    private static final Object[] EVENT_FACTORIES;
+    private static final Object[] EVENT_TYPES;
+    private static final MethodHandle IS_ENABLED, NEW_EVENT, BEGIN, SET, COMMIT;
+
+    static {
+        int typeCount = FlightEventType.values().length;
+        Object[] eventFactories = new Object[typeCount];
+        Object[] eventTypes = new Object[typeCount];
+        MethodHandle[] handles = new MethodHandle[5];
+        boolean isAvailable;
+
+        try {
+            defineEvents(eventFactories, eventTypes, handles);
+            isAvailable = true;
+        } catch (ClassNotFoundException ex) {
+            //The runtime doesn't have flight recorder events
+            isAvailable = false;
+        } catch (Throwable ex) {
+            System.err.println("The flight recorder events couldn't be defined: " + ex);
+            isAvailable = false;
+        }
+
+        AVAILABLE = isAvailable;
+        EVENT_FACTORIES = eventFactories;
+        EVENT_TYPES = eventTypes;
+        IS_ENABLED = handles[0];
+        NEW_EVENT = handles[1];
+        BEGIN = handles[2];
+        SET = handles[3];
+        COMMIT = handles[4];
+    }
+
+    private FlightRecorderSupport() {
+    }
+
+    /**
+     * @param type the type of the event
+     * @return a new event that has begun, or null if flight recording isn't available or the event isn't enabled
+     */
+    static Object begin(FlightEventType type) {
+        if (! AVAILABLE) {
+            return null;
+        }
+
+        try {
+            if (! (boolean) IS_ENABLED.invoke(EVENT_TYPES[type.ordinal()])) {
+                return null;
+            }
+
+            Object event = NEW_EVENT.invoke(EVENT_FACTORIES[type.ordinal()]);
+            BEGIN.invoke(event);
+            return event;
+        } catch (Throwable ex) {
+            throw rethrow(ex);
+        }
+    }
+
+    static void set(Object event, int index, Object value) {
+        try {
+            SET.invoke(event, index, value);
+        } catch (Throwable ex) {
+            throw rethrow(ex);
+        }
+    }
+
+    static void commit(Object event) {
+        try {
+            COMMIT.invoke(event);
+        } catch (Throwable ex) {
+            throw rethrow(ex);
+        }
+    }
+
+    /**
+     *
+     * @return true if the runtime supports flight recorder events
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static RuntimeException rethrow(Throwable ex) {
+        if (ex instanceof RuntimeException) {
+            throw (RuntimeException) ex;
+        }
+
+        if (ex instanceof Error) {
+            throw (Error) ex;
+        }
+
+        throw new IllegalStateException("The flight recorder event couldn't be recorded", ex);
+    }
+
+    /**
+     * Creates an event factory for every event type
+     * @param eventFactories filled with the jdk.jfr.EventFactory of each event type
+     * @param eventTypes filled with the jdk.jfr.EventType of each event type
+     * @param handles filled with EventType.isEnabled, EventFactory.newEvent and Event.begin, set and commit
+     * @throws ClassNotFoundException if the runtime doesn't have the jdk.jfr module
+     */
+    private static void defineEvents(Object[] eventFactories, Object[] eventTypes, MethodHandle[] handles) throws Throwable {
+        Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+        Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+        Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+        Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+        Class<?> eventClass = Class.forName("jdk.jfr.Event");
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle newAnnotation = lookup.findConstructor(annotationElementClass,
+                MethodType.methodType(void.class, Class.class, Object.class));
+        MethodHandle newValueDescriptor = lookup.findConstructor(valueDescriptorClass,
+                MethodType.methodType(void.class, Class.class, String.class, List.class));
+        MethodHandle createFactory = lookup.findStatic(eventFactoryClass, "create",
+                MethodType.methodType(eventFactoryClass, List.class, List.class));
+        MethodHandle getEventType = lookup.findVirtual(eventFactoryClass, "getEventType",
+                MethodType.methodType(eventTypeClass));
+
+        for (FlightEventType type : FlightEventType.values()) {
+            List<Object> annotations = Arrays.asList(
+                    newAnnotation.invoke(annotation("jdk.jfr.Name"), type.getName()),
+                    newAnnotation.invoke(annotation("jdk.jfr.Label"), type.getLabel()),
+                    newAnnotation.invoke(annotation("jdk.jfr.Description"), type.getDescription()),
+                    newAnnotation.invoke(annotation("jdk.jfr.Category"), new String[] {CATEGORY}));
+
+            List<Object> fields = new ArrayList<>();
+
+            for (int i = 0; i < type.getFieldCount(); i++) {
+                List<Object> fieldAnnotations = Arrays.asList(
+                        newAnnotation.invoke(annotation("jdk.jfr.Label"), type.getFieldName(i)));
+                fields.add(newValueDescriptor.invoke(type.getFieldType(i), type.getFieldName(i), fieldAnnotations));
+            }
+
+            Object factory = createFactory.invoke(annotations, fields);
+            eventFactories[type.ordinal()] = factory;
+            eventTypes[type.ordinal()] = getEventType.invoke(factory);
+        }
+
+        handles[0] = lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class));
+        handles[1] = lookup.findVirtual(eventFactoryClass, "newEvent", MethodType.methodType(eventClass));
+        handles[2] = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class));
+        handles[3] = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class));
+        handles[4] = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> annotation(String name) throws ClassNotFoundException {
+        return (Class<? extends Annotation>) Class.forName(name);
+    }
+}
@@ -0,0 +1,165 @@
+package com.quizme.generator.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds that can be recorded to from many threads at once.
+ * Latencies are counted in log-linear buckets, each power of 2 is split into 32 buckets,
+ * so a percentile is never more than about 3% above the actual latency and recording never allocates.
+ */
+public final class LatencyHistogram implements LatencyMXBean {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    //Latencies below SUB_BUCKET_COUNT are counted exactly, every power of 2 above it has its own row of buckets
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records the latency of an operation
+     * @param nanos how long the operation took in nanoseconds, negative latencies are recorded as 0
+     * @param failed if the operation threw an exception
+     */
+    public void record(long nanos, boolean failed) {
+        long latency = Math.max(0, nanos);
+        buckets.incrementAndGet(getBucketIndex(latency));
+        count.increment();
+        totalNanos.add(latency);
+
+        if (failed) {
+            errorCount.increment();
+        }
+
+        long max = maxNanos.get();
+
+        while (latency > max && ! maxNanos.compareAndSet(max, latency)) {
+            max = maxNanos.get();
+        }
+    }
+
+    static int getBucketIndex(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return (int) nanos;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT) + subBucket;
+    }
+
+    /**
+     * @param index the index of a bucket
+     * @return the highest latency counted in the bucket
+     */
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index / SUB_BUCKET_COUNT) - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + (index % SUB_BUCKET_COUNT)) << shift;
+        return lowerBound + ((1L << shift) - 1);
+    }
+
+    /**
+     * Works out a percentile from a copy of the buckets, so latencies recorded at the same time don't skew it
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds that the given percent of the operations were at most as slow as,
+     * or 0 if nothing has been recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100");
+        }
+
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil((percentile / 100) * total));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), maxNanos.get());
+            }
+        }
+
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public double getErrorRate() {
+        long total = getCount();
+        return total == 0 ? 0 : (double) getErrorCount() / total;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long total = getCount();
+        return total == 0 ? 0 : toMillis(totalNanos.sum()) / total;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return toMillis(getPercentileNanos(50));
+    }
+
+    @Override
+    public double getP99Millis() {
+        return toMillis(getPercentileNanos(99));
+    }
+
+    @Override
+    public double getP999Millis() {
+        return toMillis(getPercentileNanos(99.9));
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return toMillis(maxNanos.get());
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+
+        count.reset();
+        errorCount.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
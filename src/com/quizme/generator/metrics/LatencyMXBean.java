@@ -0,0 +1,32 @@
+package com.quizme.generator.metrics;
+
+/**
+ * The latency of an operation of a module, for a topic and difficulty level, published through JMX
+ */
+public interface LatencyMXBean {
+
+    long getCount();
+
+    long getErrorCount();
+
+    /**
+     *
+     * @return the fraction of the operations that threw an exception, between 0 and 1
+     */
+    double getErrorRate();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    /**
+     * Clears every recorded latency
+     */
+    void reset();
+}
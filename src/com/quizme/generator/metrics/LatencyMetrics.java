@@ -0,0 +1,101 @@
+package com.quizme.generator.metrics;
+
+import java.time.Instant;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Difficulty;
+
+/**
+ * Measures the latency of generating questions, drawing their images and checking answers.
+ * Metrics are only recorded when the program is run with -Dquizme.metrics=true, they're then published through JMX
+ * under the com.quizme domain. With -Dquizme.metrics.dumpSeconds=N they're also printed to System.err every N seconds.
+ * When metrics are disabled start() and record() do nothing, and the JIT removes them entirely.
+ *
+ * <pre>
+ * long start = LatencyMetrics.start();
+ * boolean failed = true;
+ *
+ * try {
+ *     ...
+ *     failed = false;
+ * } finally {
+ *     LatencyMetrics.record(Operation.GENERATE, getClass(), topic, difficulty, start, failed);
+ * }
+ * </pre>
+ */
+public final class LatencyMetrics {
+
+    public static final String ENABLED_PROPERTY = "quizme.metrics";
+    public static final String DUMP_SECONDS_PROPERTY = "quizme.metrics.dumpSeconds";
+
+    private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private LatencyMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     *
+     * @return the time an operation started at, to pass to record(), or 0 if metrics are disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of an operation, if metrics are enabled
+     * @param operation the operation
+     * @param module the class that did the operation
+     * @param topic the topic of the question, or null if the operation doesn't have one
+     * @param difficulty the difficulty level of the question, or null if the operation doesn't have one
+     * @param start the time the operation started at, returned by start()
+     * @param failed if the operation threw an exception
+     */
+    public static void record(Operation operation, Class<?> module, Topic topic, Difficulty difficulty, long start, boolean failed) {
+        if (ENABLED) {
+            DefaultHolder.INSTANCE.record(operation, module, topic, difficulty, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     *
+     * @return the registry the metrics are recorded to, or null if metrics are disabled
+     */
+    public static MetricsRegistry getDefault() {
+        return ENABLED ? DefaultHolder.INSTANCE : null;
+    }
+
+    private static class DefaultHolder {
+        private static final MetricsRegistry INSTANCE = createDefault();
+
+        private static MetricsRegistry createDefault() {
+            MetricsRegistry registry = new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+            long dumpSeconds = Long.getLong(DUMP_SECONDS_PROPERTY, 0);
+
+            if (dumpSeconds > 0) {
+                ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "quizme-metrics-dump");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+                scheduler.scheduleAtFixedRate(() -> {
+                    String dump = registry.dump();
+
+                    if (! dump.isEmpty()) {
+                        System.err.println("QuizMe latency metrics at " + Instant.now() + System.lineSeparator() + dump);
+                    }
+                }, dumpSeconds, dumpSeconds, TimeUnit.SECONDS);
+            }
+
+            return registry;
+        }
+    }
+}
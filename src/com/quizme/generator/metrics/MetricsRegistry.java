@@ -0,0 +1,174 @@
+package com.quizme.generator.metrics;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Locale;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import javax.management.ObjectName;
+import javax.management.MBeanServer;
+import javax.management.JMException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Difficulty;
+
+/**
+ * Keeps a latency histogram for every operation of every module, topic and difficulty level,
+ * each histogram is registered as an MXBean the first time it's recorded to.
+ */
+public final class MetricsRegistry {
+
+    public static final String DOMAIN = "com.quizme";
+
+    private static final Topic[] TOPICS = Topic.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    //A topic or difficulty level of null is counted as its own, so operations that don't have one can be recorded too
+    private static final int HISTOGRAMS_PER_MODULE = (TOPICS.length + 1) * (DIFFICULTIES.length + 1);
+
+    private final MBeanServer mBeanServer;
+    private final Map<Operation, ConcurrentHashMap<Class<?>, AtomicReferenceArray<LatencyHistogram>>> histograms;
+
+    /**
+     * Creates a new metrics registry
+     * @param mBeanServer the server the histograms are registered to, or null to not register them
+     */
+    public MetricsRegistry(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+        this.histograms = new EnumMap<>(Operation.class);
+
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Records the latency of an operation
+     * @param operation the operation
+     * @param module the class that did the operation
+     * @param topic the topic of the question, or null if the operation doesn't have one
+     * @param difficulty the difficulty level of the question, or null if the operation doesn't have one
+     * @param nanos how long the operation took in nanoseconds
+     * @param failed if the operation threw an exception
+     */
+    public void record(Operation operation, Class<?> module, Topic topic, Difficulty difficulty, long nanos, boolean failed) {
+        getHistogram(operation, module, topic, difficulty).record(nanos, failed);
+    }
+
+    /**
+     * @param operation the operation
+     * @param module the class that did the operation
+     * @param topic the topic of the question, or null
+     * @param difficulty the difficulty level of the question, or null
+     * @return the histogram of the operation, it's created and registered if it doesn't exist yet
+     */
+    public LatencyHistogram getHistogram(Operation operation, Class<?> module, Topic topic, Difficulty difficulty) {
+        AtomicReferenceArray<LatencyHistogram> moduleHistograms = histograms.get(operation)
+                .computeIfAbsent(module, key -> new AtomicReferenceArray<>(HISTOGRAMS_PER_MODULE));
+
+        int index = (ordinal(topic) * (DIFFICULTIES.length + 1)) + ordinal(difficulty);
+        LatencyHistogram histogram = moduleHistograms.get(index);
+
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram();
+
+            if (moduleHistograms.compareAndSet(index, null, created)) {
+                histogram = created;
+                register(histogram, operation, module, topic, difficulty);
+            } else {
+                histogram = moduleHistograms.get(index);
+            }
+        }
+
+        return histogram;
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    /**
+     * @param operation the operation
+     * @param module the class that did the operation
+     * @param topic the topic of the question, or null
+     * @param difficulty the difficulty level of the question, or null
+     * @return the name the histogram is registered under,
+     * e.g. com.quizme:type=Latency,operation=generate,module=AlgebraQuestionGenerator,topic=ALGEBRA,difficulty=EASY
+     */
+    public static ObjectName getObjectName(Operation operation, Class<?> module, Topic topic, Difficulty difficulty) {
+        StringBuilder name = new StringBuilder(DOMAIN).append(":type=Latency,operation=").append(operation.getDisplayName())
+                .append(",module=").append(module.getSimpleName());
+
+        if (topic != null) {
+            name.append(",topic=").append(topic.name());
+        }
+
+        if (difficulty != null) {
+            name.append(",difficulty=").append(difficulty.name());
+        }
+
+        try {
+            return new ObjectName(name.toString());
+        } catch (JMException ex) {
+            throw new IllegalArgumentException("The module " + module.getName() + " can't be named", ex);
+        }
+    }
+
+    private void register(LatencyHistogram histogram, Operation operation, Class<?> module, Topic topic, Difficulty difficulty) {
+        if (mBeanServer == null) {
+            return;
+        }
+
+        try {
+            ObjectName name = getObjectName(operation, module, topic, difficulty);
+
+            //Another registry, e.g. of a test, may have already registered the same histogram name
+            if (! mBeanServer.isRegistered(name)) {
+                mBeanServer.registerMBean(histogram, name);
+            }
+        } catch (JMException | IllegalArgumentException ex) {
+            //The histogram is still recorded to and dumped even if it can't be published
+            System.err.println("The latency metrics of " + module.getName() + " couldn't be registered: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes a line for every histogram that has been recorded to, sorted by operation, module, topic and difficulty
+     * @return the text dump of the metrics
+     */
+    public String dump() {
+        List<String> lines = new ArrayList<>();
+
+        for (Map.Entry<Operation, ConcurrentHashMap<Class<?>, AtomicReferenceArray<LatencyHistogram>>> entry : histograms.entrySet()) {
+            List<Class<?>> modules = new ArrayList<>(entry.getValue().keySet());
+            modules.sort(Comparator.comparing(Class::getSimpleName));
+
+            for (Class<?> module : modules) {
+                AtomicReferenceArray<LatencyHistogram> moduleHistograms = entry.getValue().get(module);
+
+                for (int i = 0; i < HISTOGRAMS_PER_MODULE; i++) {
+                    LatencyHistogram histogram = moduleHistograms.get(i);
+
+                    if (histogram != null && histogram.getCount() > 0) {
+                        Topic topic = i / (DIFFICULTIES.length + 1) == 0 ? null : TOPICS[(i / (DIFFICULTIES.length + 1)) - 1];
+                        Difficulty difficulty = i % (DIFFICULTIES.length + 1) == 0 ? null : DIFFICULTIES[(i % (DIFFICULTIES.length + 1)) - 1];
+                        lines.add(formatLine(entry.getKey(), module, topic, difficulty, histogram));
+                    }
+                }
+            }
+        }
+
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private static String formatLine(Operation operation, Class<?> module, Topic topic, Difficulty difficulty,
+                                     LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "%-12s %-28s %-8s %-6s count=%d errors=%d (%.2f%%) mean=%.3fms p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+                operation.getDisplayName(), module.getSimpleName(), topic == null ? "-" : topic.name(),
+                difficulty == null ? "-" : difficulty.name(), histogram.getCount(), histogram.getErrorCount(),
+                histogram.getErrorRate() * 100, histogram.getMeanMillis(), histogram.getP50Millis(),
+                histogram.getP99Millis(), histogram.getP999Millis(), histogram.getMaxMillis());
+    }
+}
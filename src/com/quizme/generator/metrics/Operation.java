@@ -0,0 +1,22 @@
+package com.quizme.generator.metrics;
+
+/**
+ * The operations whose latency is measured
+ */
+public enum Operation {
+
+    GENERATE("generate"),
+    DRAW("draw"),
+    SNAPSHOT("snapshot"),
+    CHECK_ANSWER("checkAnswer");
+
+    private final String displayName;
+
+    Operation(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
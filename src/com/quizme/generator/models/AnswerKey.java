@@ -0,0 +1,97 @@
+package com.quizme.generator.models;
+
+import com.quizme.generator.modules.shapes.models.Units;
+
+/**
+ * The canonical form of an answer, two answers are equivalent when their keys are equal.
+ * An algebra answer is keyed by the coefficients of its polynomial, so the order of the terms doesn't matter.
+ * A measurement is keyed by its value in hundredths along with its units and power, so 12cm² equals 12.0 cm^2.
+ */
+public final class AnswerKey {
+
+    public enum Type {
+        POLYNOMIAL,
+        MEASUREMENT
+    }
+
+    private final Type type;
+    private final char variable;
+    private final long squared, linear, constant;
+    private final Units units;
+    private final int power;
+
+    private AnswerKey(Type type, char variable, long squared, long linear, long constant, Units units, int power) {
+        this.type = type;
+        this.variable = variable;
+        this.squared = squared;
+        this.linear = linear;
+        this.constant = constant;
+        this.units = units;
+        this.power = power;
+    }
+
+    /**
+     * Creates the key of a quadratic polynomial, e.g. x² + 5x + 6
+     * @param variable the variable of the polynomial
+     * @param squared the coefficient of the squared term
+     * @param linear the coefficient of the linear term
+     * @param constant the constant term
+     * @return the answer key
+     */
+    public static AnswerKey polynomial(char variable, long squared, long linear, long constant) {
+        //A polynomial without any variable terms is the same constant whatever its variable is
+        char keyVariable = (squared == 0 && linear == 0) ? Character.MIN_VALUE : variable;
+        return new AnswerKey(Type.POLYNOMIAL, keyVariable, squared, linear, constant, null, 0);
+    }
+
+    /**
+     * Creates the key of a measurement, e.g. 12.50cm²
+     * @param hundredths the measured value in hundredths, e.g. 1250 for 12.50
+     * @param units the units of the measurement
+     * @param power the power of the units, e.g. 2 for an area
+     * @return the answer key
+     */
+    public static AnswerKey measurement(long hundredths, Units units, int power) {
+        return new AnswerKey(Type.MEASUREMENT, Character.MIN_VALUE, 0, 0, hundredths, units, power);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof AnswerKey)) {
+            return false;
+        }
+
+        AnswerKey other = (AnswerKey) obj;
+        return type == other.type && variable == other.variable && squared == other.squared
+                && linear == other.linear && constant == other.constant && units == other.units && power == other.power;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type.hashCode();
+        result = 31 * result + variable;
+        result = 31 * result + Long.hashCode(squared);
+        result = 31 * result + Long.hashCode(linear);
+        result = 31 * result + Long.hashCode(constant);
+        result = 31 * result + (units == null ? 0 : units.hashCode());
+        return 31 * result + power;
+    }
+
+    @Override
+    public String toString() {
+        if (type == Type.POLYNOMIAL) {
+            return String.format("%s[%d, %d, %d]", variable == Character.MIN_VALUE ? "?" : String.valueOf(variable),
+                    squared, linear, constant);
+        }
+
+        return String.format("%d/100 %s^%d", constant, units, power);
+    }
+}
@@ -1,63 +1,143 @@
 package com.quizme.generator.models;
 
 import javafx.scene.image.Image;
-
-public class Question {
-
-    private String question, answer;
-    private String[] multipleChoices;
-    private Image image;
-    private Difficulty difficulty;
-    private Topic topic;
-
-    public Question() { }
-
-    public void setQuestion(String question) {
-        this.question = question;
-    }
-
-    public String getQuestion() {
-        return question;
+import com.quizme.generator.rendering.LazyImage;
+import com.quizme.generator.rendering.RasterImage;
+
+/**
+ * The base class of every generated question.
+ * A question only stores the small set of parameters it was generated from,
+ * its text, answers and image are rendered from those parameters whenever they're requested.
+ */
+public abstract class Question {
+
+    private final Topic topic;
+    private final Difficulty difficulty;
+    private final boolean isMultiChoice;
+
+    /**
+     * Creates a new question
+     * @param topic the topic of the question
+     * @param difficulty the difficulty level of the question
+     * @param isMultiChoice if the question is a multiple choice question
+     */
+    protected Question(Topic topic, Difficulty difficulty, boolean isMultiChoice) {
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.isMultiChoice = isMultiChoice;
     }
 
-    public void setAnswer(String answer) {
-        this.answer = answer;
+    /**
+     * Reads the topic, difficulty level and if it's a multiple choice question from a record
+     * @param record the record of the question, created by toRecord
+     */
+    protected Question(long record) {
+        this(QuestionRecord.getTopic(record), QuestionRecord.getDifficulty(record), QuestionRecord.isMultiChoice(record));
     }
 
-    public String getAnswer() {
-        return answer;
+    /**
+     *
+     * @return the text of the question
+     */
+    public abstract String getQuestion();
+
+    /**
+     *
+     * @return the correct answer of the question
+     */
+    public abstract String getAnswer();
+
+    /**
+     * The key is derived from the parameters of the question, so checking an answer against it
+     * doesn't depend on how the answer is formatted
+     * @return the canonical form of the correct answer
+     */
+    public abstract AnswerKey getAnswerKey();
+
+    /**
+     * Two questions have the same fingerprint when they ask the same thing, regardless of
+     * the wording, the rotation of their image or their multiple choices
+     * @return the parameters that the question was generated from that make it unique, packed into a number
+     */
+    public abstract long getFingerprint();
+
+    /**
+     * Packs the unique parameters of a question into a fingerprint, along with its topic
+     * @param topic the topic of the question
+     * @param parameters the parameters of the question, only the lowest 60 bits are used
+     * @return the fingerprint
+     */
+    protected static long fingerprint(Topic topic, long parameters) {
+        return ((topic.ordinal() + 1L) << 60) | (parameters & 0x0FFFFFFFFFFFFFFFL);
     }
 
-    public void setMultipleChoices(String[] falseAnswers) {
-        this.multipleChoices = falseAnswers;
+    /**
+     * Packs every parameter of the question into a record, the generator module of its topic can read
+     * the same question back from it with readQuestion
+     * @return the record of the question
+     */
+    public abstract long toRecord();
+
+    /**
+     * Packs the parameters of the question into a record, along with its topic, difficulty level
+     * and if it's a multiple choice question
+     * @param parameters the parameters of the question, only the lowest 57 bits are used
+     * @return the record
+     */
+    protected final long createRecord(long parameters) {
+        return QuestionRecord.pack(topic, difficulty, isMultiChoice, parameters);
     }
 
+    /**
+     *
+     * @return the wrong answers of a multiple choice question, or null if it isn't a multiple choice question
+     */
     public String[] getMultipleChoices() {
-        return multipleChoices;
+        return isMultiChoice ? createMultipleChoices() : null;
     }
 
+    /**
+     *
+     * @return the wrong answers of the question
+     */
+    protected abstract String[] createMultipleChoices();
+
     public boolean isMultiChoice() {
-        return multipleChoices != null && multipleChoices.length > 0;
+        return isMultiChoice;
     }
 
-    public void setImage(Image image) {
-        this.image = image;
+    public boolean hasImage() {
+        return false;
     }
 
+    /**
+     *
+     * @return the question image as a JavaFX image, it's only rendered the first time it's needed
+     */
     public Image getImage() {
-        return image;
+        LazyImage image = getLazyImage();
+        return image == null ? null : image.getImage();
     }
 
-    public void setDifficulty(Difficulty difficulty) {
-        this.difficulty = difficulty;
+    /**
+     *
+     * @return the toolkit independent question image, it's only rendered the first time it's needed
+     */
+    public RasterImage getRasterImage() {
+        LazyImage image = getLazyImage();
+        return image == null ? null : image.getRaster();
     }
 
-    public Difficulty getDifficulty() {
-        return difficulty;
+    /**
+     *
+     * @return the lazily rendered question image, or null if the question doesn't have an image
+     */
+    protected LazyImage getLazyImage() {
+        return null;
     }
 
-    public void setTopic(Topic topic) {
-        this.topic = topic;
+    public Difficulty getDifficulty() {
+        return difficulty;
     }
 
     public Topic getTopic() {
@@ -66,6 +146,6 @@ public class Question {
 
     @Override
     public String toString() {
-        return question;
+        return getQuestion();
     }
-}
\ No newline at end of file
+}
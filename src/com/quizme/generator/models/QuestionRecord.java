@@ -0,0 +1,83 @@
+package com.quizme.generator.models;
+
+/**
+ * A question record packs every parameter of a question into a single number, so questions can be stored
+ * compactly, e.g. in a question bank, and read back by the generator module of their topic.
+ *
+ * The lowest 2 bits are the difficulty, bit 2 is set for multiple choice questions, the next 57 bits are the
+ * parameters of the question and the highest 4 bits are the topic, stored as its ordinal + 1 like a fingerprint.
+ */
+public final class QuestionRecord {
+
+    public static final int PARAMETER_BITS = 57;
+
+    private static final int PARAMETER_SHIFT = 3;
+    private static final int TOPIC_SHIFT = 60;
+    private static final long MULTI_CHOICE_FLAG = 1 << 2;
+    private static final long PARAMETER_MASK = (1L << PARAMETER_BITS) - 1;
+    private static final Topic[] TOPICS = Topic.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private QuestionRecord() {
+    }
+
+    /**
+     * Packs the parameters of a question into a record
+     * @param topic the topic of the question
+     * @param difficulty the difficulty level of the question
+     * @param isMultiChoice if the question is a multiple choice question
+     * @param parameters the parameters of the question, only the lowest 57 bits are used
+     * @return the record
+     */
+    public static long pack(Topic topic, Difficulty difficulty, boolean isMultiChoice, long parameters) {
+        return ((topic.ordinal() + 1L) << TOPIC_SHIFT)
+                | ((parameters & PARAMETER_MASK) << PARAMETER_SHIFT)
+                | (isMultiChoice ? MULTI_CHOICE_FLAG : 0)
+                | difficulty.ordinal();
+    }
+
+    /**
+     * @param record the record of a question
+     * @return the topic of the question
+     * @throws IllegalArgumentException if the record doesn't have a valid topic
+     */
+    public static Topic getTopic(long record) {
+        return TOPICS[checkIndex((record >>> TOPIC_SHIFT) - 1, TOPICS.length)];
+    }
+
+    /**
+     * @param record the record of a question
+     * @return the difficulty level of the question
+     * @throws IllegalArgumentException if the record doesn't have a valid difficulty level
+     */
+    public static Difficulty getDifficulty(long record) {
+        return DIFFICULTIES[checkIndex(record & 0x3, DIFFICULTIES.length)];
+    }
+
+    public static boolean isMultiChoice(long record) {
+        return (record & MULTI_CHOICE_FLAG) != 0;
+    }
+
+    /**
+     * @param record the record of a question
+     * @return the parameters of the question that were packed into the record
+     */
+    public static long getParameters(long record) {
+        return (record >>> PARAMETER_SHIFT) & PARAMETER_MASK;
+    }
+
+    /**
+     * Records can be read from a file, so the indexes in them are checked before they're used
+     * @param index the index read from a record
+     * @param count the amount of valid indexes
+     * @return the index
+     * @throws IllegalArgumentException if the index isn't between 0 and count
+     */
+    public static int checkIndex(long index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid question record, index " + index + " is out of range");
+        }
+
+        return (int) index;
+    }
+}
@@ -0,0 +1,247 @@
+package com.quizme.generator.models;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A compact 16 byte identifier that fully determines a quiz.
+ * It's made up of the random seed and the settings the quiz was generated with,
+ * so the same questions can always be regenerated from it instead of being stored.
+ * It also holds a hash of the settings of the generator, e.g. the weights of the shapes,
+ * so a generator with different settings refuses to regenerate the quiz rather than generating other questions.
+ */
+public final class QuizId {
+
+    public static final int BYTES = 16;
+    //The amount is stored in 2 bytes, to make room for the hash of the generator settings
+    public static final int MAX_AMOUNT = 0xFFFF;
+    //Version 2 picks triangles from valid sides, so version 1 ids would no longer regenerate the same questions.
+    //Version 3 adds the generator settings hash
+    private static final byte VERSION = 3;
+    private static final int MULTI_CHOICE_FLAG = 1;
+    private static final int UNIQUE_FLAG = 2;
+
+    private final long seed;
+    private final Topic topic;
+    private final Difficulty difficulty;
+    private final int amount;
+    private final boolean isMultiChoice;
+    private final boolean isUnique;
+    private final int settingsHash;
+
+    /**
+     * Creates a new quiz id
+     * @param seed the seed of the random number generator the questions are generated with
+     * @param topic the topic of the questions, or null for random topics
+     * @param difficulty the difficulty level of the questions
+     * @param amount the amount of questions
+     * @param isMultiChoice if the questions are multiple choice questions
+     */
+    public QuizId(long seed, Topic topic, Difficulty difficulty, int amount, boolean isMultiChoice) {
+        this(seed, topic, difficulty, amount, isMultiChoice, false);
+    }
+
+    /**
+     * Creates a new quiz id
+     * @param seed the seed of the random number generator the questions are generated with
+     * @param topic the topic of the questions, or null for random topics
+     * @param difficulty the difficulty level of the questions
+     * @param amount the amount of questions
+     * @param isMultiChoice if the questions are multiple choice questions
+     * @param isUnique if the quiz never repeats a question
+     */
+    public QuizId(long seed, Topic topic, Difficulty difficulty, int amount, boolean isMultiChoice, boolean isUnique) {
+        this(seed, topic, difficulty, amount, isMultiChoice, isUnique, 0);
+    }
+
+    /**
+     * Creates a new quiz id
+     * @param seed the seed of the random number generator the questions are generated with
+     * @param topic the topic of the questions, or null for random topics
+     * @param difficulty the difficulty level of the questions
+     * @param amount the amount of questions, at most MAX_AMOUNT
+     * @param isMultiChoice if the questions are multiple choice questions
+     * @param isUnique if the quiz never repeats a question
+     * @param settingsHash the 16 bit hash of the generator settings, from QuestionGenerator.getSettingsHash,
+     *                     0 for the default settings
+     */
+    public QuizId(long seed, Topic topic, Difficulty difficulty, int amount, boolean isMultiChoice, boolean isUnique,
+                  int settingsHash) {
+        if (difficulty == null) {
+            throw new IllegalArgumentException("A quiz must have a difficulty level");
+        }
+
+        if (amount < 0 || amount > MAX_AMOUNT) {
+            throw new IllegalArgumentException("The amount of questions must be between 0 and " + MAX_AMOUNT);
+        }
+
+        if (settingsHash < 0 || settingsHash > 0xFFFF) {
+            throw new IllegalArgumentException("The settings hash must fit in 16 bits");
+        }
+
+        this.seed = seed;
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.amount = amount;
+        this.isMultiChoice = isMultiChoice;
+        this.isUnique = isUnique;
+        this.settingsHash = settingsHash;
+    }
+
+    /**
+     * Decodes a quiz id from its binary form
+     * @param bytes the 16 bytes created by toBytes()
+     * @return the decoded quiz id
+     */
+    public static QuizId fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("A quiz id must be " + BYTES + " bytes long");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long seed = buffer.getLong();
+        byte version = buffer.get();
+        int topicIndex = buffer.get();
+        int difficultyIndex = buffer.get();
+        int flags = buffer.get();
+        int amount = Short.toUnsignedInt(buffer.getShort());
+        int settingsHash = Short.toUnsignedInt(buffer.getShort());
+
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported quiz id version " + version);
+        }
+
+        try {
+            //The topic is stored off by one, so that 0 can represent random topics
+            Topic topic = topicIndex == 0 ? null : Topic.values()[topicIndex - 1];
+            Difficulty difficulty = Difficulty.values()[difficultyIndex];
+            return new QuizId(seed, topic, difficulty, amount, (flags & MULTI_CHOICE_FLAG) != 0, (flags & UNIQUE_FLAG) != 0,
+                    settingsHash);
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid quiz id", ex);
+        }
+    }
+
+    /**
+     * Parses a quiz id from its textual form
+     * @param text the 32 hexadecimal characters created by toString()
+     * @return the parsed quiz id
+     */
+    public static QuizId parse(String text) {
+        if (text == null || text.length() != BYTES * 2) {
+            throw new IllegalArgumentException("A quiz id must be " + (BYTES * 2) + " hexadecimal characters long");
+        }
+
+        byte[] bytes = new byte[BYTES];
+
+        for (int i = 0; i < BYTES; i++) {
+            int high = Character.digit(text.charAt(i * 2), 16);
+            int low = Character.digit(text.charAt((i * 2) + 1), 16);
+
+            if (high == -1 || low == -1) {
+                throw new IllegalArgumentException("Invalid quiz id " + text);
+            }
+
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+
+        return fromBytes(bytes);
+    }
+
+    /**
+     *
+     * @return the 16 byte binary form of the quiz id
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES)
+                .putLong(seed)
+                .put(VERSION)
+                .put((byte) (topic == null ? 0 : topic.ordinal() + 1))
+                .put((byte) difficulty.ordinal())
+                .put((byte) ((isMultiChoice ? MULTI_CHOICE_FLAG : 0) | (isUnique ? UNIQUE_FLAG : 0)))
+                .putShort((short) amount)
+                .putShort((short) settingsHash)
+                .array();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     *
+     * @return the topic of the questions, or null for random topics
+     */
+    public Topic getTopic() {
+        return topic;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public boolean isMultiChoice() {
+        return isMultiChoice;
+    }
+
+    /**
+     *
+     * @return true if the quiz never repeats a question
+     */
+    public boolean isUnique() {
+        return isUnique;
+    }
+
+    /**
+     *
+     * @return the 16 bit hash of the settings of the generator the quiz was created for, 0 for the default settings
+     */
+    public int getSettingsHash() {
+        return settingsHash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof QuizId)) {
+            return false;
+        }
+
+        QuizId other = (QuizId) obj;
+        return seed == other.seed && topic == other.topic && difficulty == other.difficulty
+                && amount == other.amount && isMultiChoice == other.isMultiChoice && isUnique == other.isUnique
+                && settingsHash == other.settingsHash;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(seed);
+        result = 31 * result + (topic == null ? 0 : topic.hashCode());
+        result = 31 * result + difficulty.hashCode();
+        result = 31 * result + amount;
+        result = 31 * result + (isMultiChoice ? 1 : 0);
+        result = 31 * result + (isUnique ? 1 : 0);
+        return 31 * result + settingsHash;
+    }
+
+    /**
+     *
+     * @return the quiz id as 32 hexadecimal characters
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(BYTES * 2);
+
+        for (byte b : toBytes()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.quizme.generator.modules.algebra;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.base.GeneratorModuleProvider;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+
+public class AlgebraModuleProvider implements GeneratorModuleProvider {
+
+    @Override
+    public Topic getTopic() {
+        return Topic.ALGEBRA;
+    }
+
+    @Override
+    public AbstractQuestionGenerator create() {
+        return new AlgebraQuestionGenerator();
+    }
+}
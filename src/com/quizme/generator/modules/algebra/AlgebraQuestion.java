@@ -0,0 +1,204 @@
+package com.quizme.generator.modules.algebra;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.models.QuestionRecord;
+import com.quizme.generator.formatting.MathFormat;
+import com.quizme.generator.base.DistractorEngine;
+
+/**
+ * An algebra question that asks to expand a pair of brackets, e.g. (x + 3)(x - 2).
+ * It's stored as the numbers of the brackets, its text and answers are rendered from them on demand.
+ */
+public class AlgebraQuestion extends Question {
+
+    static final int WRONG_ANSWER_COUNT = 3;
+    static final int MIN_WRONG_ANSWER_OFFSET = -5;
+    static final int MAX_WRONG_ANSWER_OFFSET = 5;
+
+    private static final String[] WORD_STARTERS = {
+        "Simplify", "Evaluate",
+        "What is", "Work out",
+        "What is the answer to",
+        "Multiply out these pair of brackets",
+        "Expand the following brackets"
+    };
+
+    //Each wrong answer is packed into 5 bits, the offset of its constant and whether the constant is negated
+    private static final int WRONG_ANSWER_BITS = 5;
+    private static final int OFFSET_MASK = 0xF;
+    private static final int NEGATE_FLAG = 0x10;
+
+    private final byte starterIndex;
+    private final char variable;
+    private final byte number1, number2;
+    private final short wrongAnswers;
+
+    /**
+     * Creates a new algebra question
+     * @param difficulty the difficulty level of the question
+     * @param isMultiChoice if the question is a multiple choice question
+     * @param starterIndex the index of the sentence starter of the question
+     * @param variable the variable of the brackets
+     * @param number1 the number of the first bracket
+     * @param number2 the number of the second bracket
+     * @param wrongAnswers the wrong answers, packed with packWrongAnswer
+     */
+    AlgebraQuestion(Difficulty difficulty, boolean isMultiChoice, int starterIndex,
+                    char variable, int number1, int number2, int wrongAnswers) {
+        super(Topic.ALGEBRA, difficulty, isMultiChoice);
+        this.starterIndex = (byte) starterIndex;
+        this.variable = variable;
+        this.number1 = (byte) number1;
+        this.number2 = (byte) number2;
+        this.wrongAnswers = (short) wrongAnswers;
+    }
+
+    /**
+     * Reads an algebra question from its record
+     * @param record the record of the question, created by toRecord
+     */
+    AlgebraQuestion(long record) {
+        super(record);
+        long parameters = QuestionRecord.getParameters(record);
+        this.starterIndex = (byte) QuestionRecord.checkIndex(parameters & 0x7, WORD_STARTERS.length);
+        this.variable = (char) ((parameters >>> 3) & 0xFFFF);
+        this.number1 = (byte) (parameters >>> 19);
+        this.number2 = (byte) (parameters >>> 27);
+        this.wrongAnswers = (short) ((parameters >>> 35) & 0x7FFF);
+    }
+
+    /**
+     *
+     * @return the amount of sentence starters a question can start with
+     */
+    static int getStarterCount() {
+        return WORD_STARTERS.length;
+    }
+
+    /**
+     * Packs a wrong answer so it can be stored in the question
+     * @param index the index of the wrong answer
+     * @param offset how far the constant of the wrong answer is from the real one
+     * @param isNegated if the constant of the wrong answer is negated
+     * @return the packed wrong answer, the packed wrong answers are combined with a bitwise or
+     */
+    static int packWrongAnswer(int index, int offset, boolean isNegated) {
+        int bits = (offset - MIN_WRONG_ANSWER_OFFSET) | (isNegated ? NEGATE_FLAG : 0);
+        return bits << (index * WRONG_ANSWER_BITS);
+    }
+
+    public char getVariable() {
+        return variable;
+    }
+
+    public int getNumber1() {
+        return number1;
+    }
+
+    public int getNumber2() {
+        return number2;
+    }
+
+    @Override
+    public String getQuestion() {
+        StringBuilder sb = MathFormat.buffer().append(WORD_STARTERS[starterIndex]).append(' ');
+        MathFormat.appendBracket(sb, variable, number1);
+        return MathFormat.appendBracket(sb, variable, number2).toString();
+    }
+
+    @Override
+    public String getAnswer() {
+        //ax^2 + bx + c 'This is how the format/formula of what the answer would be like.
+        return answerToString(number1 + number2, number1 * number2);
+    }
+
+    /**
+     * The order of the brackets doesn't matter, (x + 2)(x + 3) is the same question as (x + 3)(x + 2)
+     * @return the variable and the numbers of the brackets, packed into a number
+     */
+    @Override
+    public long getFingerprint() {
+        long smaller = Math.min(number1, number2) & 0xFFFFL;
+        long larger = Math.max(number1, number2) & 0xFFFFL;
+        return fingerprint(Topic.ALGEBRA, (larger << 32) | (smaller << 16) | variable);
+    }
+
+    /**
+     * The starter index takes 3 bits, the variable 16, each number 8 and the wrong answers 15
+     * @return the record of the question
+     */
+    @Override
+    public long toRecord() {
+        long parameters = starterIndex
+                | ((long) variable << 3)
+                | ((number1 & 0xFFL) << 19)
+                | ((number2 & 0xFFL) << 27)
+                | ((wrongAnswers & 0x7FFFL) << 35);
+
+        return createRecord(parameters);
+    }
+
+    /**
+     * (x + a)(x + b) expands to x² + (a + b)x + ab
+     * @return the coefficients of the expanded polynomial
+     */
+    @Override
+    public AnswerKey getAnswerKey() {
+        return AnswerKey.polynomial(variable, 1, number1 + number2, (long) number1 * number2);
+    }
+
+    /**
+     * The wrong answers are created around the real answer in order to make it harder
+     * for the user to guess the correct answer
+     * @return the wrong answers
+     */
+    @Override
+    protected String[] createMultipleChoices() {
+        String[] falseAnswers = new String[WRONG_ANSWER_COUNT];
+        long[] constants = new long[WRONG_ANSWER_COUNT];
+        int b = number1 + number2;
+
+        for (int i = 0; i < constants.length; i++) {
+            int bits = wrongAnswers >> (i * WRONG_ANSWER_BITS);
+            int c = (number1 * number2) + (bits & OFFSET_MASK) + MIN_WRONG_ANSWER_OFFSET;
+            constants[i] = (bits & NEGATE_FLAG) != 0 ? c * -1 : c;
+        }
+
+        //Only the constant differs between the answers, an offset of 0 or two equal offsets would repeat one
+        constants = DistractorEngine.pick(number1 * number2, constants, WRONG_ANSWER_COUNT, 1, c -> true);
+
+        for (int i = 0; i < falseAnswers.length; i++) {
+            falseAnswers[i] = answerToString(b, (int) constants[i]);
+        }
+
+        return falseAnswers;
+    }
+
+    /**
+     * Formats the mathematical variables into the answer
+     * @param b the b value
+     * @param c the c value
+     * @return the mathematical representation of the answer
+     */
+    private String answerToString(int b, int c) {
+        StringBuilder sb = MathFormat.buffer();
+
+        //e.g. x^2
+        sb.append(variable).append(MathFormat.SQUARED);
+
+        if (b != 0) {
+            //e.g. e.g. x^2 + 5b
+            MathFormat.appendSignedTerm(sb, b).append(variable);
+        }
+
+        if (c != 0) {
+            //e.g. e.g. x^2 + 5b - 6
+            MathFormat.appendSignedTerm(sb, c);
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.quizme.generator.modules.shapes.base;
+
+import java.util.function.Consumer;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.Metrics;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+
+/**
+ * The base class of the generator modules of a single shape.
+ * It's separate from ShapesQuestionGenerator so the shape modules don't have to extend the generator that creates them.
+ */
+public abstract class AbstractShapeQuestionGenerator extends AbstractQuestionGenerator {
+
+    //The range of angles in degrees the image of a shape is rotated by
+    protected static final int MIN_ANGLE = -90;
+    protected static final int MAX_ANGLE = 90;
+
+    public AbstractShapeQuestionGenerator() {
+        super(Topic.SHAPES);
+    }
+
+    /**
+     *
+     * @return the shape of the questions the module generates
+     */
+    public abstract ShapeType getShapeType();
+
+    @Override
+    public final Question readQuestion(long record) {
+        checkRecordTopic(record);
+
+        if (ShapeQuestion.getRecordShapeType(record) != getShapeType()) {
+            throw new IllegalArgumentException("The question record isn't of a " + getShapeType() + " question");
+        }
+
+        return readShapeQuestion(record);
+    }
+
+    /**
+     * Calls the action with a question for every distinct image the module can generate at a difficulty level,
+     * used to pre-render the images. Only the image of each question is meaningful.
+     * @param difficulty the difficulty level
+     * @param angleStep the step in degrees between the angles of the images, 1 for every angle
+     * @param action the action to call with each question
+     */
+    public abstract void forEachImageQuestion(Difficulty difficulty, int angleStep, Consumer<ShapeQuestion> action);
+
+    /**
+     * Reads a question of the module's shape from its record
+     * @param record the record of the question, it's already been checked to be of the module's shape
+     * @return the question
+     */
+    protected abstract ShapeQuestion readShapeQuestion(long record);
+
+    /**
+     *
+     * @return the index of a random verb to start a question with
+     */
+    protected int getRandomVerbIndex() {
+        return nextInt(0, ShapeQuestion.getVerbCount() - 1);
+    }
+
+    /**
+     * The image of a shape is rotated to give it a more random feel
+     * @return a random angle in degrees to rotate the image of a shape by
+     */
+    protected int getRandomAngle() {
+        return nextInt(MIN_ANGLE, MAX_ANGLE);
+    }
+
+    /**
+     *
+     * @return a random unit of measurement
+     */
+    protected Units getRandomUnits() {
+        Units[] units = Units.values();
+        return units[nextInt(0, units.length - 1)];
+    }
+
+    /**
+     *
+     * @return a random metric to ask for
+     */
+    protected Metrics getRandomMetrics() {
+        Metrics[] metrics = Metrics.values();
+        return metrics[nextInt(0, metrics.length - 1)];
+    }
+}
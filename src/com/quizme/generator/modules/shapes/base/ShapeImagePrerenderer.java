@@ -0,0 +1,83 @@
+package com.quizme.generator.modules.shapes.base;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Locale;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.rendering.ShapeImageKey;
+import com.quizme.generator.rendering.ShapeImageStoreWriter;
+
+/**
+ * Pre-renders every image the shape modules can generate at some difficulty levels into a shape image store.
+ * Run the shape questions with -Dquizme.imageStore=path to read their images from the store instead of drawing them.
+ */
+public final class ShapeImagePrerenderer {
+
+    /**
+     * The system property of the step in degrees between the angles of the pre-rendered images, 1 by default.
+     * A coarser step makes a much smaller store, but the questions run with it display their images at the nearest stored angle
+     */
+    public static final String ANGLE_STEP_PROPERTY = "quizme.imageStore.angleStep";
+
+    private ShapeImagePrerenderer() {
+    }
+
+    /**
+     * Pre-renders the images into a store
+     * @param path the path of the store file, it's replaced if it already exists
+     * @param writer the writer used to render and write the images
+     * @param angleStep the step in degrees between the angles of the images, 1 for every angle
+     * @param difficulties the difficulty levels whose images are rendered
+     * @return the amount of images written
+     * @throws IOException if the file can't be written
+     * @throws IllegalArgumentException if the angle step doesn't divide 90 degrees
+     */
+    public static int prerender(Path path, ShapeImageStoreWriter writer, int angleStep,
+                                Difficulty... difficulties) throws IOException {
+        //The nearest stored angle of any question is then always in the range of the angles
+        if (angleStep < 1 || AbstractShapeQuestionGenerator.MAX_ANGLE % angleStep != 0) {
+            throw new IllegalArgumentException("The angle step must divide 90 degrees");
+        }
+
+        ShapesQuestionGenerator generator = new ShapesQuestionGenerator();
+        Map<ShapeImageKey, ShapeQuestion> questions = new HashMap<>();
+
+        //The images of the easier difficulty levels are mostly reachable from the harder ones too
+        for (Difficulty difficulty : difficulties) {
+            generator.forEachImageQuestion(difficulty, angleStep, question -> questions.putIfAbsent(question.getImageKey(), question));
+        }
+
+        List<ShapeImageKey> keys = new ArrayList<>(questions.keySet());
+        return writer.write(path, keys, angleStep, key -> questions.get(key).renderImage());
+    }
+
+    /**
+     * Pre-renders a shape image store
+     * @param args the path of the file followed by the difficulty levels to render (EASY by default)
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ShapeImagePrerenderer <path> [difficulty...]");
+            System.exit(1);
+        }
+
+        Path path = Paths.get(args[0]);
+        Difficulty[] difficulties = new Difficulty[Math.max(1, args.length - 1)];
+        difficulties[0] = Difficulty.EASY;
+
+        for (int i = 1; i < args.length; i++) {
+            difficulties[i - 1] = Difficulty.valueOf(args[i].toUpperCase(Locale.ROOT));
+        }
+
+        long start = System.nanoTime();
+        int imageCount = prerender(path, new ShapeImageStoreWriter(), Integer.getInteger(ANGLE_STEP_PROPERTY, 1), difficulties);
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        System.out.printf("Wrote %d images to %s in %dms%n", imageCount, path, elapsedMillis);
+    }
+}
@@ -0,0 +1,330 @@
+package com.quizme.generator.modules.shapes.base;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.models.QuestionRecord;
+import com.quizme.generator.rendering.LazyImage;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.formatting.MathFormat;
+import com.quizme.generator.base.DistractorEngine;
+import com.quizme.generator.metrics.Operation;
+import com.quizme.generator.metrics.FlightEvent;
+import com.quizme.generator.rendering.ShapeImageKey;
+import com.quizme.generator.rendering.ShapeImageCache;
+import com.quizme.generator.metrics.LatencyMetrics;
+import com.quizme.generator.metrics.FlightEventType;
+import com.quizme.generator.rendering.ShapeImageStore;
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.Metrics;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+
+/**
+ * The base class of the questions that ask for a metric of a labelled shape.
+ * It's stored as the parameters of the shape, its text, answers and image are rendered from them on demand.
+ */
+public abstract class ShapeQuestion extends Question {
+
+    private static final String[] VERBS = {
+        "Calculate",
+        "Work out",
+        "Evaluate",
+        "Find"
+    };
+
+    //The parameters of a shape question record, from the lowest bits up: the angle, the verb index,
+    //the units, the metrics, the shape and then the parameters of the shape itself
+    private static final int SHAPE_TYPE_SHIFT = 17;
+    private static final int SHAPE_PARAMETERS_SHIFT = 20;
+    private static final Units[] UNITS = Units.values();
+    private static final Metrics[] METRICS = Metrics.values();
+    private static final ShapeType[] SHAPE_TYPES = ShapeType.values();
+
+    private final byte verbIndex;
+    private final byte angle;
+    private final Units units;
+    private final Metrics metrics;
+    private volatile LazyImage image;
+
+    /**
+     * Creates a new shape question
+     * @param difficulty the difficulty level of the question
+     * @param isMultiChoice if the question is a multiple choice question
+     * @param verbIndex the index of the verb the question starts with
+     * @param units the units the shape is measured in
+     * @param metrics the metric the question asks for
+     * @param angle the angle in degrees the image of the shape is rotated by
+     */
+    protected ShapeQuestion(Difficulty difficulty, boolean isMultiChoice, int verbIndex,
+                            Units units, Metrics metrics, int angle) {
+        super(Topic.SHAPES, difficulty, isMultiChoice);
+        this.verbIndex = (byte) verbIndex;
+        this.units = units;
+        this.metrics = metrics;
+        this.angle = (byte) angle;
+    }
+
+    /**
+     * Reads the parameters that every shape question has from a record
+     * @param record the record of the question, created by toRecord
+     */
+    protected ShapeQuestion(long record) {
+        super(record);
+        long parameters = QuestionRecord.getParameters(record);
+        this.angle = (byte) parameters;
+        this.verbIndex = (byte) QuestionRecord.checkIndex((parameters >>> 8) & 0x7, VERBS.length);
+        this.units = UNITS[QuestionRecord.checkIndex((parameters >>> 11) & 0xF, UNITS.length)];
+        this.metrics = METRICS[QuestionRecord.checkIndex((parameters >>> 15) & 0x3, METRICS.length)];
+    }
+
+    /**
+     * @param record the record of a shapes question
+     * @return the shape of the question
+     */
+    static ShapeType getRecordShapeType(long record) {
+        long parameters = QuestionRecord.getParameters(record);
+        return SHAPE_TYPES[QuestionRecord.checkIndex((parameters >>> SHAPE_TYPE_SHIFT) & 0x7, SHAPE_TYPES.length)];
+    }
+
+    /**
+     * @param record the record of a shape question
+     * @return the parameters of the shape that were packed into the record by getShapeParameters
+     */
+    protected static long getRecordShapeParameters(long record) {
+        return QuestionRecord.getParameters(record) >>> SHAPE_PARAMETERS_SHIFT;
+    }
+
+    /**
+     *
+     * @return the amount of verbs a question can start with
+     */
+    static int getVerbCount() {
+        return VERBS.length;
+    }
+
+    /**
+     *
+     * @return the name of the shape used in the question, e.g. rectangle
+     */
+    protected abstract String getShapeName();
+
+    public abstract ShapeType getShapeType();
+
+    /**
+     * Packs the parameters of the shape itself, e.g. the lengths of its sides, so they can be stored in a record
+     * @return the parameters of the shape, only the lowest 32 bits are used
+     */
+    protected abstract long getShapeParameters();
+
+    /**
+     * @param angle the angle in degrees the image is rotated by
+     * @return the key that identifies the image of the shape
+     */
+    protected abstract ShapeImageKey createImageKey(int angle);
+
+    /**
+     * Draws the labelled image of the shape
+     * @param angle the angle in degrees to rotate the image by
+     * @return the image of the shape
+     */
+    protected abstract RasterImage drawImage(int angle);
+
+    public Units getUnits() {
+        return units;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public int getAngle() {
+        return angle;
+    }
+
+    /**
+     * The image is rotated by the question's angle, unless the shape image store was pre-rendered with a coarser
+     * angle step, then it's rotated by the nearest angle the store has
+     * @return the angle in degrees the image of the shape is displayed at
+     */
+    public int getImageAngle() {
+        ShapeImageStore store = ShapeImageStore.getDefault();
+        int angleStep = store == null ? 1 : store.getAngleStep();
+        return angleStep == 1 ? angle : Math.round(angle / (float) angleStep) * angleStep;
+    }
+
+    @Override
+    public String getQuestion() {
+        return MathFormat.buffer().append(VERBS[verbIndex]).append(" the ")
+                .append(metrics.getDisplayName()).append(" of this ").append(getShapeName()).toString();
+    }
+
+    @Override
+    public boolean hasImage() {
+        return true;
+    }
+
+    /**
+     * Identical shapes share the same cached image, the image is only drawn the first time it's displayed
+     * unless it's been pre-rendered into the image store
+     * @return the image of the shape
+     */
+    @Override
+    protected LazyImage getLazyImage() {
+        LazyImage result = image;
+
+        if (result == null) {
+            ShapeImageKey key = createImageKey(getImageAngle());
+            result = ShapeImageCache.getDefault().get(key, () -> loadImage(key));
+            image = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * @param key the key of the image of the question
+     * @return the image read from the image store, or the drawn image if it isn't in the store
+     */
+    private RasterImage loadImage(ShapeImageKey key) {
+        ShapeImageStore store = ShapeImageStore.getDefault();
+        RasterImage stored = store == null ? null : store.get(key);
+        return stored != null ? stored : drawMeasured(key.getAngle());
+    }
+
+    /**
+     * Draws the image of the question, its latency is recorded if metrics are enabled or a flight recording is running
+     * @param angle the angle in degrees to rotate the image by
+     * @return the image of the shape
+     */
+    private RasterImage drawMeasured(int angle) {
+        long start = LatencyMetrics.start();
+        FlightEvent event = FlightEvent.begin(FlightEventType.IMAGE_RENDERING);
+        RasterImage drawn = null;
+
+        try {
+            drawn = drawImage(angle);
+            return drawn;
+        } finally {
+            LatencyMetrics.record(Operation.DRAW, getClass(), getTopic(), getDifficulty(), start, drawn == null);
+
+            if (event.isRecording()) {
+                event.set("shape", getShapeType()).set("width", drawn == null ? 0 : drawn.getWidth())
+                        .set("height", drawn == null ? 0 : drawn.getHeight()).commit();
+            }
+        }
+    }
+
+    /**
+     *
+     * @return the key that identifies the image of the question at its own angle
+     */
+    public final ShapeImageKey getImageKey() {
+        return createImageKey(angle);
+    }
+
+    /**
+     * Draws the image of the question at its own angle without looking it up in the image cache or the image store,
+     * used to pre-render the images into the store
+     * @return the image of the shape
+     */
+    public final RasterImage renderImage() {
+        return drawMeasured(angle);
+    }
+
+    /**
+     * The shape, metric, units and the sides of the shape make a question unique, at most 4 sides of up to 4095 each
+     * @return the parameters of the question, packed into a number
+     */
+    @Override
+    public long getFingerprint() {
+        ShapeImageKey key = createImageKey(angle);
+        long parameters = ((long) key.getShape().ordinal() << 56) | ((long) metrics.ordinal() << 52) | ((long) units.ordinal() << 48);
+
+        for (int i = 0; i < Math.min(4, key.getSideCount()); i++) {
+            parameters |= (key.getSide(i) & 0xFFFL) << (i * 12);
+        }
+
+        return fingerprint(Topic.SHAPES, parameters);
+    }
+
+    /**
+     * @param value the correct answer
+     * @return the answer key of the measurement, in the units of the question and squared if it asks for an area
+     */
+    protected AnswerKey createAnswerKey(double value) {
+        return AnswerKey.measurement(Math.round(value * 100), units, metrics == Metrics.AREA ? 2 : 1);
+    }
+
+    @Override
+    public final long toRecord() {
+        long parameters = (angle & 0xFFL)
+                | (verbIndex << 8)
+                | (units.ordinal() << 11)
+                | (metrics.ordinal() << 15)
+                | ((long) getShapeType().ordinal() << SHAPE_TYPE_SHIFT)
+                | ((getShapeParameters() & 0xFFFFFFFFL) << SHAPE_PARAMETERS_SHIFT);
+
+        return createRecord(parameters);
+    }
+
+    /**
+     * Creates the wrong answers of a multiple choice question, any that would repeat the correct answer
+     * or another wrong answer, or that aren't positive, are replaced by the nearest free measurements
+     * @param answer the correct answer
+     * @param wrongAnswers the preferred wrong answers
+     * @param isSquared if the units of each wrong answer are squared
+     * @param hasDecimals if the answers are shown to 2 decimal places
+     * @return the wrong answers as strings
+     */
+    protected String[] createDistinctChoices(double answer, double[] wrongAnswers, boolean[] isSquared, boolean hasDecimals) {
+        long[] candidates = new long[wrongAnswers.length];
+
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = toChoiceCode(wrongAnswers[i], isSquared[i]);
+        }
+
+        //A step of 1 whole unit, doubled so the replacements keep the squared bit of the answer
+        long answerCode = toChoiceCode(answer, metrics == Metrics.AREA);
+        long[] codes = DistractorEngine.pick(answerCode, candidates, candidates.length, 200, code -> (code >> 1) > 0);
+        String[] choices = new String[codes.length];
+
+        for (int i = 0; i < codes.length; i++) {
+            long hundredths = codes[i] >> 1;
+            boolean isCodeSquared = (codes[i] & 1) != 0;
+            choices[i] = hasDecimals
+                    ? formatMeasurement(hundredths / 100.0, isCodeSquared)
+                    : formatMeasurement((int) (hundredths / 100), isCodeSquared);
+        }
+
+        return choices;
+    }
+
+    /**
+     * Two measurements are shown the same way if they have the same value in hundredths and the same units
+     * @return the value in hundredths, with the lowest bit set if the units are squared
+     */
+    private static long toChoiceCode(double value, boolean isSquared) {
+        return (Math.round(value * 100) * 2) + (isSquared ? 1 : 0);
+    }
+
+    /**
+     * @param value the measured value
+     * @param isSquared if the units are squared
+     * @return the measurement as a string, e.g. 12cm²
+     */
+    protected String formatMeasurement(int value, boolean isSquared) {
+        StringBuilder sb = MathFormat.buffer().append(value);
+        return MathFormat.appendUnits(sb, units, isSquared).toString();
+    }
+
+    /**
+     * @param value the measured value
+     * @param isSquared if the units are squared
+     * @return the measurement as a string rounded to 2 decimal places, e.g. 12.50cm²
+     */
+    protected String formatMeasurement(double value, boolean isSquared) {
+        StringBuilder sb = MathFormat.appendFixed2(MathFormat.buffer(), value);
+        return MathFormat.appendUnits(sb, units, isSquared).toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.quizme.generator.modules.shapes.base;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.base.GeneratorModuleProvider;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+
+public class ShapesModuleProvider implements GeneratorModuleProvider {
+
+    @Override
+    public Topic getTopic() {
+        return Topic.SHAPES;
+    }
+
+    @Override
+    public AbstractQuestionGenerator create() {
+        return new ShapesQuestionGenerator();
+    }
+}
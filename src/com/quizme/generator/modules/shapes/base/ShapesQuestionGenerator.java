@@ -1,70 +1,166 @@
 package com.quizme.generator.modules.shapes.base;
 
+import java.util.Map;
+import java.util.Locale;
+import java.util.EnumMap;
+import java.util.function.Consumer;
+import com.quizme.generator.base.AliasTable;
 import com.quizme.generator.base.AbstractQuestionGenerator;
 import com.quizme.generator.models.Question;
 import com.quizme.generator.modules.shapes.modules.TriangleQuestionGenerator;
 import com.quizme.generator.models.Topic;
 import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.modules.shapes.models.ShapeType;
 import com.quizme.generator.modules.shapes.modules.RectangleQuestionGenerator;
 
 public class ShapesQuestionGenerator extends AbstractQuestionGenerator {
 
-    private final String[] VERBS;
-    private ShapesQuestionGenerator[] modules;
+    /**
+     * The system property of the weights of the shapes, e.g. TRIANGLE:0.7,RECTANGLE:0.3.
+     * Quiz ids record a hash of the weights, so a quiz can only be regenerated with the same weights
+     */
+    public static final String WEIGHTS_PROPERTY = "quizme.shapes.weights";
+
+    private final AbstractShapeQuestionGenerator[] modules;
+    private final AliasTable moduleTable;
+    private final int settingsHash;
 
+    /**
+     * Creates a shapes generator that weighs the shapes by the quizme.shapes.weights system property,
+     * or picks every shape equally often if it isn't set
+     */
     public ShapesQuestionGenerator() {
+        this(parseWeights(System.getProperty(WEIGHTS_PROPERTY)));
+    }
+
+    /**
+     * Creates a shapes generator that picks the shapes with the given weights
+     * @param weights the relative weight of each shape, shapes that aren't in a non empty map are never picked
+     */
+    public ShapesQuestionGenerator(Map<ShapeType, Double> weights) {
         super(Topic.SHAPES);
 
-        VERBS = new String[] {
-            "Calculate",
-            "Work out",
-            "Evaluate",
-            "Find"
+        //The shape modules extend AbstractShapeQuestionGenerator rather than this class,
+        //so they can be created here without a recursive constructor call
+        modules = new AbstractShapeQuestionGenerator[] {
+            new RectangleQuestionGenerator(),
+            new TriangleQuestionGenerator()
         };
+
+        double[] moduleWeights = new double[modules.length];
+        for (int i = 0; i < modules.length; i++) {
+            moduleWeights[i] = weights.isEmpty() ? 1 : weights.getOrDefault(modules[i].getShapeType(), 0.0);
+        }
+
+        moduleTable = new AliasTable(moduleWeights);
+        settingsHash = moduleTable.isUniform() ? 0 : hashWeights(moduleWeights);
     }
 
     /**
-     * Initializes the ShapesQuestionGenerator subclasses
+     * @param moduleWeights the weight of each module
+     * @return a hash of the weights relative to each other, so 2:1 and 0.6:0.3 hash the same
      */
-    private void initializeModules() {
-        //Ideally the modules should be initialized in the constructors,
-        //but doing so causes a stack-overflow exception due to an infinite recursive constructor call.
-        //Initializing the modules like this is a workaround.
-        if (modules == null) {
-            modules = new ShapesQuestionGenerator[] {
-                new RectangleQuestionGenerator(),
-                new TriangleQuestionGenerator()
-            };
+    private static int hashWeights(double[] moduleWeights) {
+        double total = 0;
+        for (double weight : moduleWeights) {
+            total += weight;
+        }
+
+        int hash = 1;
+        for (double weight : moduleWeights) {
+            //Rounded so that weights that only differ by floating point error hash the same
+            hash = (31 * hash) + Long.hashCode(Math.round((weight / total) * 1e9));
         }
+
+        return hash;
     }
 
     /**
-     * Generates an array of random shapes questions
-     * @param amount the amount of questions to generate
-     * @param difficultyLevel the difficulty level of the questions to generate
-     * @param isMultiChoice if the questions to generate are multiple choices questions
-     * @return an array of the generated questions
+     *
+     * @return 0 if every shape is picked equally often, otherwise a hash of the weights of the shapes
      */
     @Override
-    public Question[] generateQuestions(int amount, Difficulty difficultyLevel, boolean isMultiChoice) {
-        initializeModules();
+    public int getSettingsHash() {
+        return settingsHash;
+    }
 
-        Question[] questions = new Question[amount];
+    /**
+     * Parses the weights of the shapes
+     * @param text the weights, e.g. TRIANGLE:0.7,RECTANGLE:0.3, or null for equal weights
+     * @return the weight of each shape in the text
+     */
+    public static Map<ShapeType, Double> parseWeights(String text) {
+        EnumMap<ShapeType, Double> weights = new EnumMap<>(ShapeType.class);
 
-        for (int i = 0; i < amount; i++) {
-            int randIndex = nextInt(0, modules.length - 1);
-            ShapesQuestionGenerator randModule = modules[randIndex];
-            questions[i] = randModule.generateQuestions(1, difficultyLevel, isMultiChoice)[0];
+        if (text == null || text.trim().isEmpty()) {
+            return weights;
         }
 
-        return questions;
+        for (String entry : text.split(",")) {
+            String[] parts = entry.split(":");
+
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid shape weight " + entry + ", expected SHAPE:weight");
+            }
+
+            try {
+                ShapeType shapeType = ShapeType.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+                weights.put(shapeType, Double.parseDouble(parts[1].trim()));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid shape weight " + entry, ex);
+            }
+        }
+
+        return weights;
     }
 
     /**
-     *
-     * @return a random verb
+     * Generates a random shapes question using a random shape module
+     * @param difficultyLevel the difficulty level of the question to generate
+     * @param isMultiChoice if the question to generate is a multiple choice question
+     * @return the generated question
+     */
+    @Override
+    public Question generateQuestion(Difficulty difficultyLevel, boolean isMultiChoice) {
+        int randIndex = nextInt(0, modules.length - 1);
+
+        //Equal weights don't need the coin flip, which keeps the random numbers of seeded quizzes the same as before
+        if (!moduleTable.isUniform()) {
+            randIndex = moduleTable.sample(randIndex, nextDouble());
+        }
+
+        AbstractShapeQuestionGenerator randModule = modules[randIndex];
+        return randModule.generateQuestion(difficultyLevel, isMultiChoice);
+    }
+
+    /**
+     * Calls the action with a question for every distinct image any of the shape modules can generate
+     * @param difficulty the difficulty level
+     * @param angleStep the step in degrees between the angles of the images, 1 for every angle
+     * @param action the action to call with each question
+     */
+    public void forEachImageQuestion(Difficulty difficulty, int angleStep, Consumer<ShapeQuestion> action) {
+        for (AbstractShapeQuestionGenerator module : modules) {
+            module.forEachImageQuestion(difficulty, angleStep, action);
+        }
+    }
+
+    /**
+     * Reads a shapes question with the module of its shape
+     * @param record the record of the question, created by Question.toRecord
+     * @return the question
      */
-    protected String getRandomVerb() {
-        return VERBS[nextInt(0, VERBS.length - 1)];
+    @Override
+    public Question readQuestion(long record) {
+        checkRecordTopic(record);
+        ShapeType shapeType = ShapeQuestion.getRecordShapeType(record);
+
+        for (AbstractShapeQuestionGenerator module : modules) {
+            if (module.getShapeType() == shapeType) {
+                return module.readQuestion(record);
+            }
+        }
+
+        throw new IllegalArgumentException("There isn't a module for " + shapeType + " questions");
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,13 @@ public enum Metrics {
     AREA,
     PERIMETER;
 
-    public static Metrics getRandom() {
-        return values()[(int) (Math.random() * values().length)];
+    private final String displayName = name().toLowerCase();
+
+    /**
+     *
+     * @return the lower case name of the metric, e.g. area
+     */
+    public String getDisplayName() {
+        return displayName;
     }
 }
@@ -0,0 +1,6 @@
+package com.quizme.generator.modules.shapes.models;
+
+public enum ShapeType {
+    RECTANGLE,
+    TRIANGLE
+}
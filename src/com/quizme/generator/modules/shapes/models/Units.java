@@ -4,7 +4,13 @@ public enum Units {
     CM,
     M;
 
-    public static Units getRandom() {
-        return values()[(int) (Math.random() * values().length)];
+    private final String symbol = name().toLowerCase();
+
+    /**
+     *
+     * @return the lower case symbol of the units, e.g. cm
+     */
+    public String getSymbol() {
+        return symbol;
     }
 }
@@ -0,0 +1,136 @@
+package com.quizme.generator.modules.shapes.modules;
+
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.formatting.MathFormat;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.rendering.ShapeRenderer;
+import com.quizme.generator.rendering.ShapeImageKey;
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.Metrics;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+import com.quizme.generator.modules.shapes.base.ShapeQuestion;
+
+/**
+ * A question that asks for the area or perimeter of a labelled rectangle
+ */
+public class RectangleQuestion extends ShapeQuestion {
+
+    private final byte width, height;
+    private final byte wrongOffset1, wrongOffset2;
+
+    /**
+     * Creates a new rectangle question
+     * @param difficulty the difficulty level of the question
+     * @param isMultiChoice if the question is a multiple choice question
+     * @param verbIndex the index of the verb the question starts with
+     * @param units the units the rectangle is measured in
+     * @param metrics the metric the question asks for
+     * @param angle the angle in degrees the image of the rectangle is rotated by
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     * @param wrongOffset1 how much the second wrong answer is bigger than the sum of the sides
+     * @param wrongOffset2 how much the third wrong answer is smaller than the sum of the sides
+     */
+    RectangleQuestion(Difficulty difficulty, boolean isMultiChoice, int verbIndex, Units units, Metrics metrics,
+                      int angle, int width, int height, int wrongOffset1, int wrongOffset2) {
+        super(difficulty, isMultiChoice, verbIndex, units, metrics, angle);
+        this.width = (byte) width;
+        this.height = (byte) height;
+        this.wrongOffset1 = (byte) wrongOffset1;
+        this.wrongOffset2 = (byte) wrongOffset2;
+    }
+
+    /**
+     * Reads a rectangle question from its record
+     * @param record the record of the question, created by toRecord
+     */
+    RectangleQuestion(long record) {
+        super(record);
+        long parameters = getRecordShapeParameters(record);
+        this.width = (byte) (parameters >>> 0);
+        this.height = (byte) (parameters >>> 8);
+        this.wrongOffset1 = (byte) (parameters >>> 16);
+        this.wrongOffset2 = (byte) (parameters >>> 24);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    protected String getShapeName() {
+        return "rectangle";
+    }
+
+    @Override
+    public ShapeType getShapeType() {
+        return ShapeType.RECTANGLE;
+    }
+
+    /**
+     * Each side and wrong answer offset takes 8 bits
+     * @return the parameters of the rectangle
+     */
+    @Override
+    protected long getShapeParameters() {
+        return (width & 0xFFL)
+                | ((height & 0xFFL) << 8)
+                | ((wrongOffset1 & 0xFFL) << 16)
+                | ((wrongOffset2 & 0xFFL) << 24);
+    }
+
+    @Override
+    public String getAnswer() {
+        int answer = getAnswerValue();
+        StringBuilder sb = MathFormat.appendInt(MathFormat.buffer(), answer);
+        return MathFormat.appendUnits(sb, getUnits(), getMetrics() == Metrics.AREA).toString();
+    }
+
+    @Override
+    public AnswerKey getAnswerKey() {
+        return createAnswerKey(getAnswerValue());
+    }
+
+    private int getAnswerValue() {
+        if (getMetrics() == Metrics.PERIMETER) {
+            return (height * 2) + (width * 2);
+        } else {
+            return (height * width);
+        }
+    }
+
+    @Override
+    protected String[] createMultipleChoices() {
+        boolean isPerimeter = getMetrics() == Metrics.PERIMETER;
+
+        //To throw the user off
+        double[] wrongAnswers = {
+            isPerimeter ? height * width : (height * 2) + (width * 2),
+            height + width + wrongOffset1,
+            height + width - wrongOffset2
+        };
+
+        return createDistinctChoices(getAnswerValue(), wrongAnswers, new boolean[] {isPerimeter, true, false}, false);
+    }
+
+    @Override
+    protected ShapeImageKey createImageKey(int angle) {
+        return new ShapeImageKey(ShapeType.RECTANGLE, getUnits(), angle, width, height);
+    }
+
+    /**
+     * Draws an image of a rectangle, labels each side of the rectangle and returns the image
+     * @param angle the angle in degrees to rotate the image by
+     * @return the rectangle image
+     */
+    @Override
+    protected RasterImage drawImage(int angle) {
+        //Labels the width and length of the rectangle
+        return ShapeRenderer.drawRectangle(formatMeasurement(width, false), formatMeasurement(height, false), angle);
+    }
+}
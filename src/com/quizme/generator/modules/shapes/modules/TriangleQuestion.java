@@ -0,0 +1,146 @@
+package com.quizme.generator.modules.shapes.modules;
+
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.formatting.MathFormat;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.rendering.ShapeRenderer;
+import com.quizme.generator.rendering.ShapeImageKey;
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.Metrics;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+import com.quizme.generator.modules.shapes.base.ShapeQuestion;
+
+/**
+ * A question that asks for the area or perimeter of a labelled right angled triangle
+ */
+public class TriangleQuestion extends ShapeQuestion {
+
+    private final byte hypotenuse, adjacent, opposite;
+    private final byte wrongOffset;
+
+    /**
+     * Creates a new triangle question
+     * @param difficulty the difficulty level of the question
+     * @param isMultiChoice if the question is a multiple choice question
+     * @param verbIndex the index of the verb the question starts with
+     * @param units the units the triangle is measured in
+     * @param metrics the metric the question asks for
+     * @param angle the angle in degrees the image of the triangle is rotated by
+     * @param hypotenuse the length of the hypotenuse
+     * @param adjacent the length of the adjacent side
+     * @param opposite the length of the opposite side
+     * @param wrongOffset how much the third wrong answer is bigger than twice the opposite side
+     */
+    TriangleQuestion(Difficulty difficulty, boolean isMultiChoice, int verbIndex, Units units, Metrics metrics,
+                     int angle, int hypotenuse, int adjacent, int opposite, int wrongOffset) {
+        super(difficulty, isMultiChoice, verbIndex, units, metrics, angle);
+        this.hypotenuse = (byte) hypotenuse;
+        this.adjacent = (byte) adjacent;
+        this.opposite = (byte) opposite;
+        this.wrongOffset = (byte) wrongOffset;
+    }
+
+    /**
+     * Reads a triangle question from its record
+     * @param record the record of the question, created by toRecord
+     */
+    TriangleQuestion(long record) {
+        super(record);
+        long parameters = getRecordShapeParameters(record);
+        this.hypotenuse = (byte) (parameters >>> 0);
+        this.adjacent = (byte) (parameters >>> 8);
+        this.opposite = (byte) (parameters >>> 16);
+        this.wrongOffset = (byte) (parameters >>> 24);
+    }
+
+    public int getHypotenuse() {
+        return hypotenuse;
+    }
+
+    public int getAdjacent() {
+        return adjacent;
+    }
+
+    public int getOpposite() {
+        return opposite;
+    }
+
+    @Override
+    protected String getShapeName() {
+        return "triangle";
+    }
+
+    @Override
+    public ShapeType getShapeType() {
+        return ShapeType.TRIANGLE;
+    }
+
+    /**
+     * Each side and wrong answer offset takes 8 bits
+     * @return the parameters of the triangle
+     */
+    @Override
+    protected long getShapeParameters() {
+        return (hypotenuse & 0xFFL)
+                | ((adjacent & 0xFFL) << 8)
+                | ((opposite & 0xFFL) << 16)
+                | ((wrongOffset & 0xFFL) << 24);
+    }
+
+    @Override
+    public String getAnswer() {
+        double answer = getAnswerValue();
+        StringBuilder sb = MathFormat.appendFixed2(MathFormat.buffer(), answer);
+        return MathFormat.appendUnits(sb, getUnits(), getMetrics() == Metrics.AREA).toString();
+    }
+
+    @Override
+    public AnswerKey getAnswerKey() {
+        return createAnswerKey(getAnswerValue());
+    }
+
+    private double getAnswerValue() {
+        if (getMetrics() == Metrics.PERIMETER) {
+            return hypotenuse + adjacent + opposite;
+        } else {
+            return (adjacent * opposite) / 2;
+        }
+    }
+
+    @Override
+    protected String[] createMultipleChoices() {
+        boolean isPerimeter = getMetrics() == Metrics.PERIMETER;
+        double[] wrongAnswers = new double[3];
+
+        //To throw the user off
+        if (isPerimeter) {
+            wrongAnswers[0] = (double) (adjacent * opposite) / 2;
+            wrongAnswers[1] = (double) opposite + adjacent + hypotenuse;
+        } else {
+            wrongAnswers[0] = (double) hypotenuse + adjacent + opposite;
+            wrongAnswers[1] = (double) opposite + adjacent;
+        }
+
+        wrongAnswers[2] = (double) opposite + opposite + wrongOffset;
+
+        return createDistinctChoices(getAnswerValue(), wrongAnswers, new boolean[] {isPerimeter, true, false}, true);
+    }
+
+    @Override
+    protected ShapeImageKey createImageKey(int angle) {
+        return new ShapeImageKey(ShapeType.TRIANGLE, getUnits(), angle, hypotenuse, adjacent, opposite);
+    }
+
+    /**
+     * Draws an image of a right angled triangle, labels each side of the triangle and returns the image
+     * @param angle the angle in degrees to rotate the image by
+     * @return the triangle image
+     */
+    @Override
+    protected RasterImage drawImage(int angle) {
+        String symbol = getUnits().getSymbol();
+
+        return ShapeRenderer.drawTriangle(adjacent + symbol, hypotenuse + symbol, opposite + symbol, angle);
+    }
+}
@@ -0,0 +1,93 @@
+package com.quizme.generator.modules.shapes.modules;
+
+import java.util.Arrays;
+import com.quizme.generator.models.Difficulty;
+
+/**
+ * Every valid set of sides of a right angled triangle for each difficulty level, worked out once when it's first used.
+ * A set is valid when the hypotenuse is longer than the adjacent, the adjacent is longer than the opposite,
+ * the opposite is at least 3 and the hypotenuse is the length Pythagoras' theorem gives, rounded to the nearest whole number.
+ * Each set is packed into a single int as hypotenuse << 16 | adjacent << 8 | opposite, so picking one is a single array lookup.
+ */
+final class TriangleSideTable {
+
+    private static final int MIN_SIDE = 3;
+    private static final int[][] TABLES = new int[Difficulty.values().length][];
+
+    static {
+        for (Difficulty difficulty : Difficulty.values()) {
+            TABLES[difficulty.ordinal()] = createTable(difficulty);
+        }
+    }
+
+    private TriangleSideTable() {
+    }
+
+    /**
+     * @param difficulty the difficulty level
+     * @return the packed sides of every valid triangle of the difficulty level, shared so it mustn't be modified
+     */
+    static int[] get(Difficulty difficulty) {
+        return TABLES[difficulty.ordinal()];
+    }
+
+    static int getHypotenuse(int sides) {
+        return sides >>> 16;
+    }
+
+    static int getAdjacent(int sides) {
+        return (sides >>> 8) & 0xFF;
+    }
+
+    static int getOpposite(int sides) {
+        return sides & 0xFF;
+    }
+
+    /**
+     * @param difficulty the difficulty level
+     * @return the packed sides of every valid triangle within the maximum sides of the difficulty level
+     */
+    private static int[] createTable(Difficulty difficulty) {
+        int maxHypotenuse, maxAdjacent, maxOpposite;
+
+        switch (difficulty) {
+            case EASY:
+                maxHypotenuse = 25;
+                maxAdjacent = 15;
+                maxOpposite = 5;
+                break;
+
+            case MEDIUM:
+                maxHypotenuse = 35;
+                maxAdjacent = 15;
+                maxOpposite = 4;
+                break;
+
+            case HARD:
+            default:
+                maxHypotenuse = 42;
+                maxAdjacent = 22;
+                maxOpposite = 11;
+                break;
+        }
+
+        int[] table = new int[maxAdjacent * maxOpposite];
+        int size = 0;
+
+        for (int opposite = MIN_SIDE; opposite <= maxOpposite; opposite++) {
+            for (int adjacent = opposite + 1; adjacent <= maxAdjacent; adjacent++) {
+                int hypotenuse = (int) Math.round(Math.sqrt((adjacent * adjacent) + (opposite * opposite)));
+
+                if (hypotenuse > adjacent && hypotenuse <= maxHypotenuse) {
+                    table[size++] = (hypotenuse << 16) | (adjacent << 8) | opposite;
+                }
+            }
+        }
+
+        if (size == 0) {
+            throw new IllegalStateException("There aren't any valid " + difficulty + " triangles");
+        }
+
+        return Arrays.copyOf(table, size);
+    }
+}
@@ -0,0 +1,135 @@
+package com.quizme.generator.provider;
+
+import java.util.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.base.GeneratorModuleProvider;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+import com.quizme.generator.modules.algebra.AlgebraModuleProvider;
+import com.quizme.generator.modules.shapes.base.ShapesModuleProvider;
+
+/**
+ * Maps every topic to the generator module of that topic.
+ * The modules are discovered through ServiceLoader and each one is only created the first time its topic is used.
+ */
+public class GeneratorModuleRegistry {
+
+    private final EnumMap<Topic, ModuleHolder> holders = new EnumMap<>(Topic.class);
+    private final Topic[] topics;
+
+    /**
+     * Creates a registry of the given providers, the first provider of a topic is the one that's used
+     * @param providers the providers of the generator modules
+     */
+    public GeneratorModuleRegistry(Iterable<? extends GeneratorModuleProvider> providers) {
+        for (GeneratorModuleProvider provider : providers) {
+            holders.putIfAbsent(provider.getTopic(), new ModuleHolder(provider));
+        }
+
+        if (holders.isEmpty()) {
+            throw new IllegalArgumentException("There must be at least one generator module");
+        }
+
+        //An EnumMap iterates in the order of the topics, so random topics are picked the same way every time
+        topics = holders.keySet().toArray(new Topic[0]);
+    }
+
+    /**
+     * Creates a registry of the generator modules on the classpath
+     * @return the new registry
+     */
+    public static GeneratorModuleRegistry load() {
+        return new GeneratorModuleRegistry(DiscoveredProviders.PROVIDERS);
+    }
+
+    private static class DiscoveredProviders {
+
+        private static final List<GeneratorModuleProvider> PROVIDERS = discover();
+
+        private static List<GeneratorModuleProvider> discover() {
+            List<GeneratorModuleProvider> providers = new ArrayList<>();
+            ServiceLoader.load(GeneratorModuleProvider.class, GeneratorModuleRegistry.class.getClassLoader())
+                    .forEach(providers::add);
+
+            //The built in modules are still available if the service file was left out of the build
+            providers.add(new AlgebraModuleProvider());
+            providers.add(new ShapesModuleProvider());
+            return Collections.unmodifiableList(providers);
+        }
+    }
+
+    /**
+     * Returns the generator module of a topic, creating it if this is the first time it's needed
+     * @param topic the topic of the module
+     * @return the generator module
+     */
+    public AbstractQuestionGenerator get(Topic topic) {
+        ModuleHolder holder = holders.get(topic);
+
+        if (holder == null) {
+            throw new IllegalArgumentException("There isn't a generator module for the topic " + topic);
+        }
+
+        return holder.get();
+    }
+
+    /**
+     * @param topic the topic to check
+     * @return true if the module of the topic has been created
+     */
+    public boolean isCreated(Topic topic) {
+        ModuleHolder holder = holders.get(topic);
+        return holder != null && holder.module != null;
+    }
+
+    /**
+     *
+     * @return the amount of topics that have a generator module
+     */
+    public int getTopicCount() {
+        return topics.length;
+    }
+
+    /**
+     * @param index the index of the topic, between 0 and the amount of topics
+     * @return the topic at the index, topics are in the order they're declared in
+     */
+    public Topic getTopic(int index) {
+        return topics[index];
+    }
+
+    /**
+     * Lazily creates a generator module, only a single instance is ever created
+     */
+    private static class ModuleHolder {
+
+        private final GeneratorModuleProvider provider;
+        private volatile AbstractQuestionGenerator module;
+
+        ModuleHolder(GeneratorModuleProvider provider) {
+            this.provider = provider;
+        }
+
+        AbstractQuestionGenerator get() {
+            AbstractQuestionGenerator result = module;
+
+            if (result == null) {
+                synchronized (this) {
+                    result = module;
+
+                    if (result == null) {
+                        result = provider.create();
+
+                        if (result.getTopic() != provider.getTopic()) {
+                            throw new IllegalStateException(provider.getClass().getName() + " created a module of the topic "
+                                    + result.getTopic() + " instead of " + provider.getTopic());
+                        }
+
+                        module = result;
+                    }
+                }
+            }
+
+            return result;
+        }
+    }
+}
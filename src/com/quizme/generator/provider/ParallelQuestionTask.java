@@ -0,0 +1,60 @@
+package com.quizme.generator.provider;
+
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+import java.util.concurrent.RecursiveAction;
+
+import com.quizme.generator.models.Question;
+import com.quizme.generator.base.RandomScope;
+
+/**
+ * A fork-join task that fills a range of a question array.
+ * Large ranges are split in half, and each half gets its own split of the random number generator,
+ * so every part of the array is generated from an independent random stream.
+ */
+class ParallelQuestionTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Question[] questions;
+    private final int from, to, threshold;
+    private final SplittableRandom random;
+    private final IntFunction<Question[]> generator;
+
+    /**
+     * Creates a new parallel question task
+     * @param questions the array to fill with the generated questions
+     * @param from the index of the first question to generate, inclusive
+     * @param to the index of the last question to generate, exclusive
+     * @param threshold the largest amount of questions a task generates without splitting
+     * @param random the random number generator of this task
+     * @param generator the function that generates the given amount of questions
+     */
+    ParallelQuestionTask(Question[] questions, int from, int to, int threshold,
+                         SplittableRandom random, IntFunction<Question[]> generator) {
+        this.questions = questions;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.random = random;
+        this.generator = generator;
+    }
+
+    @Override
+    protected void compute() {
+        int amount = to - from;
+
+        if (amount <= threshold) {
+            Question[] generated = RandomScope.call(random, () -> generator.apply(amount));
+            System.arraycopy(generated, 0, questions, from, amount);
+            return;
+        }
+
+        //The random number generator is split before forking, so the result doesn't depend on the scheduling
+        int middle = from + (amount / 2);
+        invokeAll(
+            new ParallelQuestionTask(questions, from, middle, threshold, random.split(), generator),
+            new ParallelQuestionTask(questions, middle, to, threshold, random, generator)
+        );
+    }
+}
@@ -0,0 +1,154 @@
+package com.quizme.generator.provider;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import com.quizme.generator.models.Question;
+
+/**
+ * The questions of a quiz that's still being prepared. A producer adds the questions as they're ready
+ * and the quiz takes them one at a time, so the quiz can start as soon as its first question is ready.
+ */
+public class QuestionFeed {
+
+    private final int total;
+    private final Queue<Question> questions = new ArrayDeque<>();
+    private int addedCount;
+    private boolean isClosed;
+    private Throwable failure;
+    private Runnable listener;
+
+    /**
+     * Creates a new empty feed
+     * @param total the amount of questions the quiz will have
+     */
+    public QuestionFeed(int total) {
+        if (total < 0) {
+            throw new IllegalArgumentException("The amount of questions can't be negative");
+        }
+
+        this.total = total;
+    }
+
+    /**
+     * Creates a feed of questions that are all ready
+     * @param questions the questions of the quiz
+     * @return the complete feed
+     */
+    public static QuestionFeed of(Question... questions) {
+        QuestionFeed feed = new QuestionFeed(questions.length);
+
+        for (Question question : questions) {
+            feed.add(question);
+        }
+
+        return feed;
+    }
+
+    /**
+     * Adds the next question of the quiz
+     * @param question the question that's ready
+     */
+    public void add(Question question) {
+        Runnable toNotify;
+
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+
+            if (addedCount == total) {
+                throw new IllegalStateException("The feed already has all " + total + " questions");
+            }
+
+            questions.add(question);
+            addedCount++;
+            toNotify = takeListener();
+        }
+
+        runListener(toNotify);
+    }
+
+    /**
+     * Stops the feed because its questions can't be prepared, the quiz ends with the questions it already has
+     * @param cause the reason the questions can't be prepared, or null if they were cancelled
+     */
+    public void close(Throwable cause) {
+        Runnable toNotify;
+
+        synchronized (this) {
+            if (isClosed || addedCount == total) {
+                return;
+            }
+
+            isClosed = true;
+            failure = cause;
+            toNotify = takeListener();
+        }
+
+        runListener(toNotify);
+    }
+
+    /**
+     *
+     * @return the next question, or null if it isn't ready yet
+     */
+    public synchronized Question poll() {
+        return questions.poll();
+    }
+
+    /**
+     * Runs the action once the next question is ready or the feed is closed, straight away if that's already true.
+     * The action runs on the thread that adds the question, only the latest action is kept.
+     * @param action the action to run
+     */
+    public void whenReady(Runnable action) {
+        synchronized (this) {
+            if (questions.isEmpty() && !isClosed && addedCount < total) {
+                listener = action;
+                return;
+            }
+        }
+
+        action.run();
+    }
+
+    /**
+     *
+     * @return true if no more questions will be added
+     */
+    public synchronized boolean isComplete() {
+        return isClosed || addedCount == total;
+    }
+
+    /**
+     *
+     * @return the reason the feed was closed early, or null
+     */
+    public synchronized Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     *
+     * @return the amount of questions that have been added so far
+     */
+    public synchronized int getAddedCount() {
+        return addedCount;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    private Runnable takeListener() {
+        Runnable toNotify = listener;
+        listener = null;
+        return toNotify;
+    }
+
+    private static void runListener(Runnable toNotify) {
+        if (toNotify != null) {
+            toNotify.run();
+        }
+    }
+}
@@ -1,39 +1,83 @@
 package com.quizme.generator.provider;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.function.IntFunction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.QuizId;
 import com.quizme.generator.models.Question;
 import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.models.QuestionRecord;
+import com.quizme.generator.base.RandomScope;
+import com.quizme.generator.uniqueness.ExactQuestionFilter;
 import com.quizme.generator.base.AbstractQuestionGenerator;
-import com.quizme.generator.modules.algebra.AlgebraQuestionGenerator;
-import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
 
 /**
- * A class that generate questions using question generator modules/subclasses
+ * A class that generate questions using question generator modules/subclasses.
+ * It's thread safe, the modules don't share any state between threads apart from their random number generators,
+ * which are either per thread or per RandomScope.
  */
 public class QuestionGenerator {
 
-    private List<AbstractQuestionGenerator> generatorModules;
-    private Random rand;
+    //The smallest amount of questions worth generating on a separate fork-join task
+    private static final int MIN_PARALLEL_CHUNK = 64;
+
+    private final GeneratorModuleRegistry moduleRegistry;
+    private final ForkJoinPool pool;
 
     public QuestionGenerator() {
-        rand = new Random();
+        this(ForkJoinPool.commonPool());
+    }
 
-        AbstractQuestionGenerator[] modules = {
-            new AlgebraQuestionGenerator(),
-            new ShapesQuestionGenerator()
-        };
+    /**
+     * Creates a new question generator with the generator modules on the classpath
+     * @param pool the fork-join pool used to generate questions in parallel
+     */
+    public QuestionGenerator(ForkJoinPool pool) {
+        this(GeneratorModuleRegistry.load(), pool);
+    }
+
+    /**
+     * Creates a new question generator
+     * @param moduleRegistry the registry of the generator modules to generate questions with
+     * @param pool the fork-join pool used to generate questions in parallel
+     */
+    public QuestionGenerator(GeneratorModuleRegistry moduleRegistry, ForkJoinPool pool) {
+        this.moduleRegistry = moduleRegistry;
+        this.pool = pool;
+    }
+
+    /**
+     * A question generator is safe to share between threads, so most callers can use the default one
+     * @return the question generator shared by the application
+     */
+    public static QuestionGenerator getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
 
-        generatorModules = Arrays.asList(modules);
+    private static class DefaultHolder {
+        private static final QuestionGenerator INSTANCE = new QuestionGenerator();
     }
 
     /**
      * Returns the AbstractQuestionGenerator module that is of the topic requested
      * @param topic the topic to look for
-     * @return The first instance of the AbstractQuestionGenerator module
+     * @return The AbstractQuestionGenerator module of the topic, it's created the first time it's needed
      */
     private AbstractQuestionGenerator findModuleByTopic(Topic topic) {
-        return generatorModules.stream().filter(module -> module.getTopic() == topic).findFirst().orElse(null);
+        return moduleRegistry.get(topic);
+    }
+
+    /**
+     * Reads a question back from the record it was stored as, with the module of its topic
+     * @param record the record of the question, created by Question.toRecord
+     * @return the question
+     * @throws IllegalArgumentException if the record isn't a valid question record
+     */
+    public Question readQuestion(long record) {
+        return findModuleByTopic(QuestionRecord.getTopic(record)).readQuestion(record);
     }
 
     /**
@@ -59,11 +103,181 @@ public class QuestionGenerator {
         Question[] questions = new Question[amount];
 
         for (int i = 0; i < amount; i++) {
-            //Uses a random question generator sub class when a topic isn't specified
-            AbstractQuestionGenerator module = generatorModules.get(rand.nextInt(generatorModules.size()));
-            questions[i] = module.generateQuestions(1, difficultyLevel, isMultiChoice)[0];
+            questions[i] = generateMixedQuestion(difficultyLevel, isMultiChoice);
         }
 
         return questions;
     }
+
+    /**
+     * Returns an infinite stream of questions, each question is only generated once it's consumed.
+     * Use limit() or an iterator to pull as many questions as needed.
+     * @param topic The topic the generated questions should be of
+     * @param difficultyLevel The difficulty level the generated questions should be
+     * @param isMultiChoice A flag to denote if the generated questions should be multiple choice questions
+     * @return An infinite stream of generated questions
+     */
+    public Stream<Question> stream(Topic topic, Difficulty difficultyLevel, boolean isMultiChoice) {
+        AbstractQuestionGenerator module = findModuleByTopic(topic);
+        return Stream.generate(() -> module.generateQuestion(difficultyLevel, isMultiChoice));
+    }
+
+    /**
+     * Returns an infinite stream of random topic questions, each question is only generated once it's consumed.
+     * Use limit() or an iterator to pull as many questions as needed.
+     * @param difficultyLevel The difficulty level the generated questions should be
+     * @param isMultiChoice A flag to denote if the generated questions should be multiple choice questions
+     * @return An infinite stream of generated questions
+     */
+    public Stream<Question> stream(Difficulty difficultyLevel, boolean isMultiChoice) {
+        return Stream.generate(() -> generateMixedQuestion(difficultyLevel, isMultiChoice));
+    }
+
+    /**
+     * Returns an endless iterator of questions, each question is only generated when next() is called
+     * @param topic The topic the generated questions should be of, or null for random topics
+     * @param difficultyLevel The difficulty level the generated questions should be
+     * @param isMultiChoice A flag to denote if the generated questions should be multiple choice questions
+     * @return An endless iterator of generated questions
+     */
+    public Iterator<Question> iterator(Topic topic, Difficulty difficultyLevel, boolean isMultiChoice) {
+        Stream<Question> questions = topic == null
+                ? stream(difficultyLevel, isMultiChoice)
+                : stream(topic, difficultyLevel, isMultiChoice);
+
+        return questions.iterator();
+    }
+
+    /**
+     * Generates a question using a random question generator module
+     * @param difficultyLevel The difficulty level the generated question should be
+     * @param isMultiChoice A flag to denote if the generated question should be a multiple choice question
+     * @return The generated question
+     */
+    private Question generateMixedQuestion(Difficulty difficultyLevel, boolean isMultiChoice) {
+        //Uses a random question generator sub class when a topic isn't specified
+        AbstractQuestionGenerator module = moduleRegistry.get(moduleRegistry.getTopic(nextModuleIndex()));
+        return module.generateQuestion(difficultyLevel, isMultiChoice);
+    }
+
+    /**
+     * Creates the id of a new quiz with a random seed, for the settings of this generator
+     * @param topic the topic of the questions, or null for random topics
+     * @param difficultyLevel the difficulty level of the questions
+     * @param amount the amount of questions
+     * @param isMultiChoice if the questions are multiple choice questions
+     * @param isUnique if the quiz never repeats a question
+     * @return the new quiz id
+     */
+    public QuizId createQuizId(Topic topic, Difficulty difficultyLevel, int amount, boolean isMultiChoice, boolean isUnique) {
+        return new QuizId(ThreadLocalRandom.current().nextLong(), topic, difficultyLevel, amount, isMultiChoice, isUnique,
+                getSettingsHash(topic));
+    }
+
+    /**
+     * Combines the settings hashes of the modules a quiz's questions can come from
+     * @param topic the topic of the quiz, or null for random topics
+     * @return the 16 bit hash of the settings, 0 if every module has the default settings
+     */
+    public int getSettingsHash(Topic topic) {
+        int hash = 0;
+
+        for (int i = 0; i < moduleRegistry.getTopicCount(); i++) {
+            Topic moduleTopic = moduleRegistry.getTopic(i);
+
+            if (topic == null || topic == moduleTopic) {
+                hash = (31 * hash) + findModuleByTopic(moduleTopic).getSettingsHash();
+            }
+        }
+
+        if (hash == 0) {
+            return 0;
+        }
+
+        //Folded into the 16 bits a quiz id has room for, a custom setting never folds into the default hash of 0
+        int folded = (hash ^ (hash >>> 16)) & 0xFFFF;
+        return folded == 0 ? 1 : folded;
+    }
+
+    /**
+     * Generates the questions of a quiz from its id.
+     * The questions only depend on the quiz id, so the same quiz id always generates the same questions.
+     * A unique quiz never repeats a question, it throws a QuestionSpaceExhaustedException if it can't have enough.
+     * @param quizId The id of the quiz to generate
+     * @return A list of generated questions
+     * @throws IllegalArgumentException if the quiz was created for a generator with different settings
+     */
+    public Question[] generateQuiz(QuizId quizId) {
+        if (quizId.getSettingsHash() != getSettingsHash(quizId.getTopic())) {
+            throw new IllegalArgumentException("The quiz " + quizId + " was created with different generator settings,"
+                    + " e.g. different shape weights");
+        }
+
+        Topic topic = quizId.getTopic();
+        Difficulty difficultyLevel = quizId.getDifficulty();
+        int amount = quizId.getAmount();
+        boolean isMultiChoice = quizId.isMultiChoice();
+
+        if (quizId.isUnique()) {
+            UniqueQuestionGenerator generator = new UniqueQuestionGenerator(this, new ExactQuestionFilter(amount));
+            return RandomScope.call(new SplittableRandom(quizId.getSeed()),
+                    () -> generator.generateQuestions(topic, difficultyLevel, amount, isMultiChoice));
+        }
+
+        return RandomScope.call(new SplittableRandom(quizId.getSeed()), () -> topic == null
+                ? generateQuestions(difficultyLevel, amount, isMultiChoice)
+                : generateQuestions(topic, difficultyLevel, amount, isMultiChoice));
+    }
+
+    /**
+     * Generates a list of questions in parallel, this is meant for large amounts of questions
+     * @param topic The topic the generated questions should be of
+     * @param difficultyLevel The difficulty level the generated questions should be
+     * @param amount The amount of questions to generate
+     * @param isMultiChoice A flag to denote if the generated questions should be multiple choice questions
+     * @return A list of generated questions
+     */
+    public Question[] generateQuestionsParallel(Topic topic, Difficulty difficultyLevel, int amount, boolean isMultiChoice) {
+        AbstractQuestionGenerator module = findModuleByTopic(topic);
+        return generateInParallel(amount, chunk -> module.generateQuestions(chunk, difficultyLevel, isMultiChoice));
+    }
+
+    /**
+     * Generates a list of random topic questions in parallel, this is meant for large amounts of questions
+     * @param difficultyLevel The difficulty level the generated questions should be
+     * @param amount The amount of questions to generate
+     * @param isMultiChoice A flag to denote if the generated questions should be multiple choice questions
+     * @return A list of generated questions
+     */
+    public Question[] generateQuestionsParallel(Difficulty difficultyLevel, int amount, boolean isMultiChoice) {
+        return generateInParallel(amount, chunk -> generateQuestions(difficultyLevel, chunk, isMultiChoice));
+    }
+
+    /**
+     * Splits the generation of the questions across the fork-join pool.
+     * Each split has its own random number generator, split from a single root generator.
+     * @param amount The amount of questions to generate
+     * @param generator The function that generates a chunk of questions on the current thread
+     * @return A list of generated questions
+     */
+    private Question[] generateInParallel(int amount, IntFunction<Question[]> generator) {
+        Question[] questions = new Question[amount];
+
+        if (amount > 0) {
+            int threshold = Math.max(MIN_PARALLEL_CHUNK, amount / (pool.getParallelism() * 4));
+            pool.invoke(new ParallelQuestionTask(questions, 0, amount, threshold, new SplittableRandom(), generator));
+        }
+
+        return questions;
+    }
+
+    /**
+     *
+     * @return the index of a random generator module
+     */
+    private int nextModuleIndex() {
+        SplittableRandom scoped = RandomScope.current();
+        int moduleCount = moduleRegistry.getTopicCount();
+        return scoped != null ? scoped.nextInt(moduleCount) : ThreadLocalRandom.current().nextInt(moduleCount);
+    }
 }
\ No newline at end of file
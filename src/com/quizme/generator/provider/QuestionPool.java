@@ -0,0 +1,226 @@
+package com.quizme.generator.provider;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+
+/**
+ * Keeps a bounded pool of ready generated questions for every combination of topic, difficulty level and
+ * multiple choice, so that starting a quiz only has to drain a pool.
+ * A pool is refilled in the background once it drops below its low water mark, if a pool runs dry
+ * the rest of the questions are generated on the calling thread.
+ */
+public class QuestionPool {
+
+    //Enough for the largest quiz the setup screen allows
+    private static final int DEFAULT_CAPACITY = 99;
+    //The amount of questions generated at a time while refilling, so a take doesn't wait on a whole refill
+    private static final int REFILL_BATCH = 16;
+    private static final Topic[] TOPICS = Topic.values();
+    //NOT_APPLICABLE can't be picked on the setup screen, so there are no pools of it
+    private static final Difficulty[] DIFFICULTIES = {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD};
+
+    private final QuestionGenerator questionGenerator;
+    private final Executor executor;
+    private final int capacity;
+    private final int lowWaterMark;
+    private final Pool[] pools;
+
+    /**
+     * Creates a new question pool, the pools start out empty
+     * @param questionGenerator the generator the questions are generated with
+     * @param executor the executor the pools are refilled on
+     * @param capacity the maximum amount of questions in each pool
+     * @param lowWaterMark the amount of questions below which a pool is refilled
+     */
+    public QuestionPool(QuestionGenerator questionGenerator, Executor executor, int capacity, int lowWaterMark) {
+        if (capacity < 1 || lowWaterMark < 0 || lowWaterMark > capacity) {
+            throw new IllegalArgumentException("The low water mark must be between 0 and the capacity");
+        }
+
+        this.questionGenerator = questionGenerator;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+
+        //The first topic index is for mixed topics
+        pools = new Pool[(TOPICS.length + 1) * DIFFICULTIES.length * 2];
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = new Pool(capacity);
+        }
+    }
+
+    /**
+     * The shared pool is only created when it's first needed, its capacity can be set with
+     * the quizme.questionPool.capacity system property
+     * @return the question pool shared by the application, which starts filling all of its pools straight away
+     */
+    public static QuestionPool getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+
+        private static final QuestionPool INSTANCE = createDefault();
+
+        private static QuestionPool createDefault() {
+            int capacity = Math.max(1, Integer.getInteger("quizme.questionPool.capacity", DEFAULT_CAPACITY));
+            Executor executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "quizme-question-pool");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+
+            QuestionPool pool = new QuestionPool(QuestionGenerator.getDefault(), executor, capacity, capacity / 2);
+            pool.warmUp();
+            return pool;
+        }
+    }
+
+    /**
+     * Starts filling every pool in the background, questions of the NOT_APPLICABLE difficulty aren't pooled
+     */
+    public void warmUp() {
+        for (int topic = 0; topic <= TOPICS.length; topic++) {
+            for (Difficulty difficulty : DIFFICULTIES) {
+                for (boolean isMultiChoice : new boolean[] {false, true}) {
+                    refill(topic == 0 ? null : TOPICS[topic - 1], difficulty, isMultiChoice);
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes questions out of a pool, generating any that the pool doesn't have
+     * @param topic The topic the questions should be of, or null for random topics
+     * @param difficultyLevel The difficulty level the questions should be
+     * @param amount The amount of questions to take
+     * @param isMultiChoice A flag to denote if the questions should be multiple choice questions
+     * @return A list of questions
+     */
+    public Question[] take(Topic topic, Difficulty difficultyLevel, int amount, boolean isMultiChoice) {
+        Pool pool = getPool(topic, difficultyLevel, isMultiChoice);
+
+        if (pool == null) {
+            return generate(topic, difficultyLevel, amount, isMultiChoice);
+        }
+
+        Question[] questions = new Question[amount];
+        BlockingQueue<Question> queue = pool.questions;
+        int taken = 0;
+
+        for (Question question; taken < amount && (question = queue.poll()) != null; taken++) {
+            questions[taken] = question;
+        }
+
+        if (taken < amount) {
+            Question[] generated = generate(topic, difficultyLevel, amount - taken, isMultiChoice);
+            System.arraycopy(generated, 0, questions, taken, generated.length);
+        }
+
+        if (queue.size() < lowWaterMark) {
+            refill(topic, difficultyLevel, isMultiChoice);
+        }
+
+        return questions;
+    }
+
+    /**
+     * @param topic the topic of the pool, or null for random topics
+     * @param difficultyLevel the difficulty level of the pool
+     * @param isMultiChoice if the pool is of multiple choice questions
+     * @return the amount of ready questions in the pool, always 0 for a difficulty level that isn't pooled
+     */
+    public int size(Topic topic, Difficulty difficultyLevel, boolean isMultiChoice) {
+        Pool pool = getPool(topic, difficultyLevel, isMultiChoice);
+        return pool == null ? 0 : pool.questions.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    /**
+     * Schedules a pool to be refilled, unless it's already being refilled
+     */
+    private void refill(Topic topic, Difficulty difficultyLevel, boolean isMultiChoice) {
+        Pool pool = getPool(topic, difficultyLevel, isMultiChoice);
+
+        if (pool == null || !pool.isRefilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    for (int missing; (missing = pool.questions.remainingCapacity()) > 0; ) {
+                        Question[] questions = generate(topic, difficultyLevel, Math.min(missing, REFILL_BATCH), isMultiChoice);
+
+                        for (Question question : questions) {
+                            pool.questions.offer(question);
+                        }
+                    }
+                } finally {
+                    pool.isRefilling.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            //The executor rejected the refill, a later take will try again
+            pool.isRefilling.set(false);
+        }
+    }
+
+    private Question[] generate(Topic topic, Difficulty difficultyLevel, int amount, boolean isMultiChoice) {
+        return topic == null
+                ? questionGenerator.generateQuestions(difficultyLevel, amount, isMultiChoice)
+                : questionGenerator.generateQuestions(topic, difficultyLevel, amount, isMultiChoice);
+    }
+
+    /**
+     * @return the pool of the questions, or null if the difficulty level isn't pooled
+     */
+    private Pool getPool(Topic topic, Difficulty difficultyLevel, boolean isMultiChoice) {
+        int difficultyIndex = getDifficultyIndex(difficultyLevel);
+
+        if (difficultyIndex < 0) {
+            return null;
+        }
+
+        int topicIndex = topic == null ? 0 : topic.ordinal() + 1;
+        int index = (((topicIndex * DIFFICULTIES.length) + difficultyIndex) * 2) + (isMultiChoice ? 1 : 0);
+        return pools[index];
+    }
+
+    private static int getDifficultyIndex(Difficulty difficultyLevel) {
+        for (int i = 0; i < DIFFICULTIES.length; i++) {
+            if (DIFFICULTIES[i] == difficultyLevel) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * The ready questions of a single combination of topic, difficulty level and multiple choice
+     */
+    private static class Pool {
+
+        private final BlockingQueue<Question> questions;
+        private final AtomicBoolean isRefilling = new AtomicBoolean();
+
+        Pool(int capacity) {
+            questions = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
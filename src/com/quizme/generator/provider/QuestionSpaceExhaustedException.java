@@ -0,0 +1,50 @@
+package com.quizme.generator.provider;
+
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Difficulty;
+
+/**
+ * Thrown when no more unique questions can be found for a topic and difficulty level
+ */
+public class QuestionSpaceExhaustedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Topic topic;
+    private final Difficulty difficulty;
+    private final long uniqueCount;
+
+    /**
+     * Creates a new exception
+     * @param topic the topic of the questions, or null for random topics
+     * @param difficulty the difficulty level of the questions
+     * @param uniqueCount the amount of unique questions that had been accepted
+     */
+    public QuestionSpaceExhaustedException(Topic topic, Difficulty difficulty, long uniqueCount) {
+        super(String.format("Ran out of unique %s %s questions after %d questions",
+                difficulty, topic == null ? "mixed" : topic, uniqueCount));
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.uniqueCount = uniqueCount;
+    }
+
+    /**
+     *
+     * @return the topic of the questions, or null for random topics
+     */
+    public Topic getTopic() {
+        return topic;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     *
+     * @return the amount of unique questions that had been accepted
+     */
+    public long getUniqueCount() {
+        return uniqueCount;
+    }
+}
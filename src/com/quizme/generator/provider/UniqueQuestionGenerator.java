@@ -0,0 +1,93 @@
+package com.quizme.generator.provider;
+
+import java.util.Iterator;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.uniqueness.QuestionFilter;
+
+/**
+ * Generates questions that are never repeated, by rejecting any question whose fingerprint the filter has already seen.
+ * Questions are drawn at random, so the more of a topic's questions have been used the more attempts a new one takes.
+ * The rate of repeats is tracked so a caller can tell when the questions are running out, and generation gives up
+ * once it's drawn too many repeats in a row.
+ */
+public class UniqueQuestionGenerator {
+
+    //Drawing this many repeats in a row means at least 99.9% of the questions have almost certainly been used
+    public static final int MAX_CONSECUTIVE_REPEATS = 5000;
+    //Once half of the draws are repeats, at least half of the questions have been used
+    private static final double NEARLY_EXHAUSTED_REPEAT_RATE = 0.5;
+    //The weight of each draw in the moving average of the repeat rate
+    private static final double REPEAT_RATE_SMOOTHING = 0.02;
+
+    private final QuestionGenerator questionGenerator;
+    private final QuestionFilter filter;
+    private volatile double repeatRate;
+
+    /**
+     * Creates a new unique question generator
+     * @param questionGenerator the generator the questions are drawn from
+     * @param filter the filter of the questions that have already been used, it can be shared to make questions
+     *               unique across several calls or generators
+     */
+    public UniqueQuestionGenerator(QuestionGenerator questionGenerator, QuestionFilter filter) {
+        this.questionGenerator = questionGenerator;
+        this.filter = filter;
+    }
+
+    /**
+     * Generates questions that the filter hasn't seen before
+     * @param topic The topic the generated questions should be of, or null for random topics
+     * @param difficultyLevel The difficulty level the generated questions should be
+     * @param amount The amount of questions to generate
+     * @param isMultiChoice A flag to denote if the generated questions should be multiple choice questions
+     * @return A list of unique generated questions
+     * @throws QuestionSpaceExhaustedException if there aren't enough unique questions left
+     */
+    public Question[] generateQuestions(Topic topic, Difficulty difficultyLevel, int amount, boolean isMultiChoice) {
+        Question[] questions = new Question[amount];
+        Iterator<Question> candidates = questionGenerator.iterator(topic, difficultyLevel, isMultiChoice);
+        double rate = repeatRate;
+        int consecutiveRepeats = 0;
+
+        try {
+            for (int count = 0; count < amount; ) {
+                Question candidate = candidates.next();
+                boolean isRepeat = !filter.add(candidate.getFingerprint());
+                rate += ((isRepeat ? 1 : 0) - rate) * REPEAT_RATE_SMOOTHING;
+
+                if (!isRepeat) {
+                    questions[count++] = candidate;
+                    consecutiveRepeats = 0;
+                } else if (++consecutiveRepeats >= MAX_CONSECUTIVE_REPEATS) {
+                    throw new QuestionSpaceExhaustedException(topic, difficultyLevel, filter.size());
+                }
+            }
+        } finally {
+            repeatRate = rate;
+        }
+
+        return questions;
+    }
+
+    /**
+     *
+     * @return the recent fraction of drawn questions that were repeats, between 0 and 1
+     */
+    public double getRepeatRate() {
+        return repeatRate;
+    }
+
+    /**
+     *
+     * @return true if most of the recently drawn questions were repeats, so the questions are running out
+     */
+    public boolean isNearlyExhausted() {
+        return repeatRate >= NEARLY_EXHAUSTED_REPEAT_RATE;
+    }
+
+    public QuestionFilter getFilter() {
+        return filter;
+    }
+}
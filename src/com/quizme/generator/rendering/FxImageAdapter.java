@@ -0,0 +1,28 @@
+package com.quizme.generator.rendering;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Converts raster images into JavaFX images, for when they need to be displayed
+ */
+public final class FxImageAdapter {
+
+    private FxImageAdapter() { }
+
+    /**
+     * Copies a raster image into a new JavaFX image
+     * @param raster the raster image to convert
+     * @return the JavaFX image
+     */
+    public static Image toImage(RasterImage raster) {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), raster.getPixels(), 0, width);
+
+        return image;
+    }
+}
@@ -0,0 +1,88 @@
+package com.quizme.generator.rendering;
+
+import java.util.function.Supplier;
+
+import javafx.scene.image.Image;
+import com.quizme.generator.metrics.LatencyMetrics;
+import com.quizme.generator.metrics.Operation;
+
+/**
+ * An image that is only rendered the first time it's needed.
+ * The rendered image is memoized, so it's only ever rendered once even when it's shared between threads.
+ */
+public final class LazyImage {
+
+    private Supplier<RasterImage> renderer;
+    private volatile RasterImage raster;
+    private volatile Image fxImage;
+
+    /**
+     * Creates a new lazy image
+     * @param renderer the function used to render the image on first use
+     */
+    public LazyImage(Supplier<RasterImage> renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     *
+     * @return the rendered image, it's rendered by the calling thread if it hasn't been yet
+     */
+    public RasterImage getRaster() {
+        RasterImage result = raster;
+
+        if (result == null) {
+            synchronized (this) {
+                result = raster;
+
+                if (result == null) {
+                    result = renderer.get();
+                    raster = result;
+                    //The renderer isn't needed anymore, so whatever it references can be garbage collected
+                    renderer = null;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @return the rendered image as a JavaFX image
+     */
+    public Image getImage() {
+        Image result = fxImage;
+
+        if (result == null) {
+            synchronized (this) {
+                result = fxImage;
+
+                if (result == null) {
+                    RasterImage rendered = getRaster();
+                    long start = LatencyMetrics.start();
+                    boolean failed = true;
+
+                    try {
+                        result = FxImageAdapter.toImage(rendered);
+                        failed = false;
+                    } finally {
+                        LatencyMetrics.record(Operation.SNAPSHOT, FxImageAdapter.class, null, null, start, failed);
+                    }
+
+                    fxImage = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @return true if the image has already been rendered
+     */
+    public boolean isRendered() {
+        return raster != null;
+    }
+}
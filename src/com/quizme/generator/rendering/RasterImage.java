@@ -0,0 +1,53 @@
+package com.quizme.generator.rendering;
+
+/**
+ * A toolkit independent image, stored as a buffer of ARGB pixels.
+ * It can be created and read from any thread.
+ */
+public final class RasterImage {
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    /**
+     * Creates a new raster image
+     * @param width the width of the image in pixels
+     * @param height the height of the image in pixels
+     * @param pixels the ARGB pixels of the image, row by row
+     */
+    public RasterImage(int width, int height, int[] pixels) {
+        if (pixels.length != width * height) {
+            throw new IllegalArgumentException("Expected " + (width * height) + " pixels but got " + pixels.length);
+        }
+
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     *
+     * @return the ARGB pixels of the image, row by row. The array is shared and must not be modified
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    /**
+     * @param x the x coordinate of the pixel
+     * @param y the y coordinate of the pixel
+     * @return the ARGB value of the pixel
+     */
+    public int getArgb(int x, int y) {
+        return pixels[(y * width) + x];
+    }
+}
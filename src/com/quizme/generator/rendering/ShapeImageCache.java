@@ -0,0 +1,178 @@
+package com.quizme.generator.rendering;
+
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of shape images, shared by all the shape question generators.
+ * Questions with identical shapes share a single image instance, so it's only rendered once.
+ * When the cache is full the least recently used image of the key's segment is evicted.
+ */
+public final class ShapeImageCache {
+
+    //Random quizzes rarely repeat an image, there are about 230,000 EASY images of around 780KB each.
+    //The hit rate only grows in proportion to the size, 0.1-0.2% at 32 entries and 0.7-4.5% at 1024 entries, so the default
+    //only keeps about 25MB of recently shown images rather than trying to hold a useful share of every image
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+    private static final ShapeImageCache DEFAULT_CACHE = new ShapeImageCache(
+            Integer.getInteger("quizme.imageCache.maxEntries", DEFAULT_MAX_ENTRIES));
+
+    //Each segment holds at least this many entries, so small caches keep an exact LRU order
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final int maxEntries;
+    private final Segment[] segments;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new shape image cache
+     * @param maxEntries the maximum amount of images to keep, 0 disables caching
+     */
+    public ShapeImageCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("The maximum amount of entries can't be negative");
+        }
+
+        this.maxEntries = maxEntries;
+
+        //The cache is split into independently locked segments, so that threads generating
+        //shape questions in parallel rarely wait on each other
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_SIZE));
+        segments = new Segment[segmentCount];
+
+        for (int i = 0; i < segmentCount; i++) {
+            //Spreads the remainder over the first segments so the capacities add up to maxEntries
+            int capacity = (maxEntries / segmentCount) + (i < maxEntries % segmentCount ? 1 : 0);
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     *
+     * @return the cache shared by the shape question generators.
+     * Its size can be set with the quizme.imageCache.maxEntries system property
+     */
+    public static ShapeImageCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    /**
+     * Returns the cached image for a key, or caches a new lazily rendered image if there isn't one.
+     * The image isn't rendered whilst the cache is locked, so a slow render never blocks other lookups.
+     * @param key the key of the image
+     * @param renderer the function used to render the image if it's not cached
+     * @return the shared image
+     */
+    public LazyImage get(ShapeImageKey key, Supplier<RasterImage> renderer) {
+        Segment segment = segmentFor(key);
+
+        synchronized (segment) {
+            LazyImage image = segment.get(key);
+
+            if (image != null) {
+                hits.incrementAndGet();
+                return image;
+            }
+
+            misses.incrementAndGet();
+            image = new LazyImage(renderer);
+            segment.put(key, image);
+            return image;
+        }
+    }
+
+    /**
+     * Removes every image from the cache, the counters are left untouched
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     *
+     * @return the ratio of lookups that were served from the cache
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @param key the key to look for
+     * @return the segment the key belongs to
+     */
+    private Segment segmentFor(ShapeImageKey key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShapeImageCache[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+                size(), maxEntries, getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * An access ordered map, so the eldest entry is always the least recently used one
+     */
+    private class Segment extends LinkedHashMap<ShapeImageKey, LazyImage> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ShapeImageKey, LazyImage> eldest) {
+            if (size() > capacity) {
+                evictions.incrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
\ No newline at end of file
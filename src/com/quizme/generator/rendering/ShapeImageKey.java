@@ -0,0 +1,92 @@
+package com.quizme.generator.rendering;
+
+import java.util.Arrays;
+
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+
+/**
+ * Identifies a shape image by everything that is drawn on it.
+ * Two equal keys always produce identical images.
+ */
+public final class ShapeImageKey {
+
+    private final ShapeType shape;
+    private final int[] sides;
+    private final Units units;
+    private final int angle;
+    private final int hash;
+
+    /**
+     * Creates a new shape image key
+     * @param shape the type of shape drawn
+     * @param units the units the sides are labelled with
+     * @param angle the angle in degrees the image is rotated by
+     * @param sides the labelled side lengths, in the order they're drawn
+     */
+    public ShapeImageKey(ShapeType shape, Units units, int angle, int... sides) {
+        this.shape = shape;
+        this.units = units;
+        this.angle = angle;
+        this.sides = sides.clone();
+
+        int result = shape.hashCode();
+        result = 31 * result + units.hashCode();
+        result = 31 * result + angle;
+
+        for (int side : this.sides) {
+            result = 31 * result + side;
+        }
+
+        this.hash = result;
+    }
+
+    public ShapeType getShape() {
+        return shape;
+    }
+
+    public Units getUnits() {
+        return units;
+    }
+
+    public int getAngle() {
+        return angle;
+    }
+
+    /**
+     * @param index the index of the side
+     * @return the length of the side
+     */
+    public int getSide(int index) {
+        return sides[index];
+    }
+
+    public int getSideCount() {
+        return sides.length;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ShapeImageKey)) {
+            return false;
+        }
+
+        ShapeImageKey other = (ShapeImageKey) obj;
+        return hash == other.hash && shape == other.shape && units == other.units
+                && angle == other.angle && Arrays.equals(sides, other.sides);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return shape + Arrays.toString(sides) + units + "@" + angle;
+    }
+}
@@ -0,0 +1,298 @@
+package com.quizme.generator.rendering;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+
+/**
+ * A store of pre-rendered shape images, read from a memory mapped file written by ShapeImageStoreWriter.
+ *
+ * The file starts with a 16 byte header: the magic number, the format version, the angle step and the amount of images.
+ * It's followed by an index of 24 byte entries sorted by key: the packed key of the image, the offset of its pixels,
+ * its width and height and the length of its pixels. The pixels of each image are run length encoded,
+ * as pairs of the length of a run and its ARGB value, since the images are mostly made of large blocks of colour.
+ * The images are stored as they're displayed, rotated, since rotating a stored image costs more than drawing it.
+ * A store pre-rendered with an angle step of more than 1 degree only has an image every that many degrees,
+ * the shape questions then display their images at the nearest angle the store has.
+ *
+ * The file is mapped in segments of at most 1GB and an image never crosses a segment,
+ * so looking up an image is a binary search of the index and a read of the pages of its pixels.
+ * A store is safe to share between threads.
+ */
+public final class ShapeImageStore {
+
+    /**
+     * The system property of the path of the store used by the shape questions
+     */
+    public static final String PATH_PROPERTY = "quizme.imageStore";
+
+    static final int MAGIC = 0x515A4953;
+    static final short FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 16;
+    static final int INDEX_ENTRY_BYTES = 24;
+    static final int SEGMENT_BYTES = 1 << 30;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int MAX_SIDES = 3;
+    private static final int MAX_SIDE = 0xFFF;
+    private static final Logger LOGGER = Logger.getLogger(ShapeImageStore.class.getName());
+
+    private final ByteBuffer index;
+    private final ByteBuffer[] segments;
+    private final long tilesOffset;
+    private final int imageCount;
+    private final int angleStep;
+
+    private ShapeImageStore(ByteBuffer index, ByteBuffer[] segments, long tilesOffset, int imageCount, int angleStep) {
+        this.index = index;
+        this.segments = segments;
+        this.tilesOffset = tilesOffset;
+        this.imageCount = imageCount;
+        this.angleStep = angleStep;
+    }
+
+    /**
+     * Opens a shape image store
+     * @param path the path of the store file
+     * @return the shape image store
+     * @throws IOException if the file can't be read or isn't a valid shape image store
+     */
+    public static ShapeImageStore open(Path path) throws IOException {
+        //The mappings stay valid after the channel is closed, until the buffers are garbage collected
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("The file isn't a shape image store");
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(BYTE_ORDER);
+
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("The file isn't a shape image store");
+            }
+
+            if (header.getShort(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported shape image store version " + header.getShort(4));
+            }
+
+            int angleStep = header.getShort(6);
+            long imageCount = header.getLong(8);
+            long tilesOffset = getTilesOffset(imageCount);
+
+            if (angleStep < 1 || imageCount < 0 || tilesOffset > fileSize || tilesOffset > Integer.MAX_VALUE) {
+                throw new IOException("The index of the shape image store is corrupted");
+            }
+
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, tilesOffset - HEADER_BYTES)
+                    .order(BYTE_ORDER);
+
+            long tilesSize = fileSize - tilesOffset;
+            ByteBuffer[] segments = new ByteBuffer[(int) ((tilesSize + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * SEGMENT_BYTES;
+                long size = Math.min(SEGMENT_BYTES, tilesSize - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, tilesOffset + start, size).order(BYTE_ORDER);
+            }
+
+            ShapeImageStore store = new ShapeImageStore(index, segments, tilesOffset, (int) imageCount, angleStep);
+            store.checkLastImage(fileSize);
+            return store;
+        }
+    }
+
+    /**
+     * The store used by the shape questions, it's opened from the path in the quizme.imageStore system property
+     * @return the shared store, or null if the property isn't set or the store can't be opened
+     */
+    public static ShapeImageStore getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+        private static final ShapeImageStore INSTANCE = openDefault();
+
+        private static ShapeImageStore openDefault() {
+            String path = System.getProperty(PATH_PROPERTY);
+
+            if (path == null || path.isEmpty()) {
+                return null;
+            }
+
+            try {
+                return open(Paths.get(path));
+            } catch (IOException ex) {
+                //The images are drawn instead, which is slower but gives the same images
+                LOGGER.log(Level.WARNING, "The shape image store " + path + " couldn't be opened", ex);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @param imageCount the amount of images in the store
+     * @return the offset of the pixels of the first image, after the header and the index
+     */
+    static long getTilesOffset(long imageCount) {
+        return HEADER_BYTES + (imageCount * INDEX_ENTRY_BYTES);
+    }
+
+    /**
+     * Packs a key into the number the store is sorted by
+     * @param key the key of an image
+     * @return the packed key, or -1 if the key has more sides or longer sides than a store can hold
+     */
+    static long pack(ShapeImageKey key) {
+        int sideCount = key.getSideCount();
+
+        if (sideCount > MAX_SIDES) {
+            return -1;
+        }
+
+        long packed = ((long) key.getShape().ordinal() << 56)
+                | ((long) key.getUnits().ordinal() << 52)
+                | ((long) sideCount << 50)
+                | ((key.getAngle() & 0x3FFL) << 36);
+
+        for (int i = 0; i < sideCount; i++) {
+            int side = key.getSide(i);
+
+            if (side < 0 || side > MAX_SIDE) {
+                return -1;
+            }
+
+            packed |= (long) side << (i * 12);
+        }
+
+        return packed;
+    }
+
+    /**
+     * Checks that the pixels of the last image are in the file, so a truncated store is caught when it's opened
+     */
+    private void checkLastImage(long fileSize) throws IOException {
+        if (imageCount > 0) {
+            int entry = (imageCount - 1) * INDEX_ENTRY_BYTES;
+            long end = tilesOffset + index.getLong(entry + 8) + index.getInt(entry + 20);
+
+            if (end > fileSize) {
+                throw new IOException("The shape image store is truncated");
+            }
+        }
+    }
+
+    /**
+     *
+     * @return the amount of images in the store
+     */
+    public int size() {
+        return imageCount;
+    }
+
+    /**
+     *
+     * @return the step in degrees between the angles of the stored images, 1 if every angle is stored
+     */
+    public int getAngleStep() {
+        return angleStep;
+    }
+
+    /**
+     * @param key the key of the image
+     * @return true if the store has the image
+     */
+    public boolean contains(ShapeImageKey key) {
+        return find(pack(key)) >= 0;
+    }
+
+    /**
+     * Reads an image from the store
+     * @param key the key of the image
+     * @return the image, or null if it isn't in the store
+     */
+    public RasterImage get(ShapeImageKey key) {
+        int entry = find(pack(key));
+
+        if (entry < 0) {
+            return null;
+        }
+
+        int position = entry * INDEX_ENTRY_BYTES;
+        long offset = index.getLong(position + 8);
+        int width = index.getShort(position + 16) & 0xFFFF;
+        int height = index.getShort(position + 18) & 0xFFFF;
+        int length = index.getInt(position + 20);
+
+        ByteBuffer segment = segments[(int) (offset / SEGMENT_BYTES)];
+        int start = (int) (offset % SEGMENT_BYTES);
+        return new RasterImage(width, height, decode(segment, start, start + length, width * height));
+    }
+
+    /**
+     * Decodes the run length encoded pixels of an image
+     * @param segment the segment the pixels are in
+     * @param from the position of the first run
+     * @param to the position after the last run
+     * @param pixelCount the amount of pixels of the image
+     * @return the ARGB pixels of the image
+     */
+    private static int[] decode(ByteBuffer segment, int from, int to, int pixelCount) {
+        int[] pixels = new int[pixelCount];
+        int pixel = 0;
+
+        for (int position = from; position < to; position += 8) {
+            int runLength = segment.getInt(position);
+            int argb = segment.getInt(position + 4);
+
+            if (runLength <= 0 || runLength > pixelCount - pixel) {
+                throw new IllegalStateException("The pixels of the shape image store are corrupted");
+            }
+
+            Arrays.fill(pixels, pixel, pixel + runLength, argb);
+            pixel += runLength;
+        }
+
+        if (pixel != pixelCount) {
+            throw new IllegalStateException("The pixels of the shape image store are corrupted");
+        }
+
+        return pixels;
+    }
+
+    /**
+     * Binary searches the index for a packed key
+     * @param packed the packed key
+     * @return the index of the entry, or -1 if the key isn't in the store
+     */
+    private int find(long packed) {
+        if (packed < 0) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = imageCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = index.getLong(middle * INDEX_ENTRY_BYTES);
+
+            if (middleKey < packed) {
+                low = middle + 1;
+            } else if (middleKey > packed) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+}
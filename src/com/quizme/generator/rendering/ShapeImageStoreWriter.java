@@ -0,0 +1,223 @@
+package com.quizme.generator.rendering;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes shape image stores that can be opened with ShapeImageStore.
+ * The images are rendered and encoded in parallel, a batch at a time so only a batch of images is ever in memory,
+ * and each batch is appended to the file in the order of the keys. The index and the magic number are written last,
+ * so a store that wasn't completely written can't be opened.
+ */
+public class ShapeImageStoreWriter {
+
+    //The amount of images rendered at a time, and the amount rendered by each task of a batch
+    private static final int BATCH_SIZE = 1024;
+    private static final int CHUNK_SIZE = 32;
+
+    private final Executor executor;
+
+    public ShapeImageStoreWriter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new shape image store writer
+     * @param executor the executor the images are rendered on
+     */
+    public ShapeImageStoreWriter(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Renders images and writes them to a store
+     * @param path the path of the store file, it's replaced if it already exists
+     * @param keys the keys of the images, duplicate keys are only stored once
+     * @param angleStep the step in degrees between the angles of the images, 1 if every angle is stored
+     * @param renderer renders the image of a key, it's called from the executor's threads
+     * @return the amount of images written
+     * @throws IOException if the file can't be written
+     * @throws IllegalArgumentException if a key can't be stored or its angle isn't a multiple of the angle step
+     */
+    public int write(Path path, List<ShapeImageKey> keys, int angleStep,
+                     Function<ShapeImageKey, RasterImage> renderer) throws IOException {
+        if (angleStep < 1 || angleStep > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid angle step " + angleStep);
+        }
+
+        ShapeImageKey[] sortedKeys = sortUniqueKeys(keys, angleStep);
+        int imageCount = sortedKeys.length;
+        long tilesOffset = ShapeImageStore.getTilesOffset(imageCount);
+        ByteBuffer index = ByteBuffer.allocate(imageCount * ShapeImageStore.INDEX_ENTRY_BYTES)
+                .order(ShapeImageStore.BYTE_ORDER);
+
+        StandardOpenOption[] options = {
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+        };
+
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long offset = 0;
+
+            for (int from = 0; from < imageCount; from += BATCH_SIZE) {
+                byte[][] tiles = renderBatch(sortedKeys, from, Math.min(imageCount, from + BATCH_SIZE), renderer);
+
+                for (int i = 0; i < tiles.length; i++) {
+                    ByteBuffer tile = ByteBuffer.wrap(tiles[i]).order(ShapeImageStore.BYTE_ORDER);
+                    int length = tile.capacity() - 4;
+
+                    //An image never crosses a segment, so the reader can map the file in segments
+                    if ((offset % ShapeImageStore.SEGMENT_BYTES) + length > ShapeImageStore.SEGMENT_BYTES) {
+                        offset += ShapeImageStore.SEGMENT_BYTES - (offset % ShapeImageStore.SEGMENT_BYTES);
+                    }
+
+                    index.putLong(ShapeImageStore.pack(sortedKeys[from + i]));
+                    index.putLong(offset);
+                    index.putShort(tile.getShort(0));
+                    index.putShort(tile.getShort(2));
+                    index.putInt(length);
+
+                    tile.position(4);
+                    writeFully(channel, tile, tilesOffset + offset);
+                    offset += length;
+                }
+            }
+
+            index.flip();
+            writeFully(channel, index, ShapeImageStore.HEADER_BYTES);
+
+            ByteBuffer header = ByteBuffer.allocate(ShapeImageStore.HEADER_BYTES).order(ShapeImageStore.BYTE_ORDER);
+            header.putInt(0).putShort(ShapeImageStore.FORMAT_VERSION).putShort((short) angleStep).putLong(imageCount).flip();
+            writeFully(channel, header, 0);
+            channel.force(false);
+
+            //The magic number is only written once everything else is on disk
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ShapeImageStore.BYTE_ORDER).putInt(ShapeImageStore.MAGIC);
+            magic.flip();
+            writeFully(channel, magic, 0);
+            channel.force(false);
+        }
+
+        return imageCount;
+    }
+
+    /**
+     * @param keys the keys of the images
+     * @param angleStep the step in degrees between the angles of the images
+     * @return the keys in the order of their packed keys, without duplicates
+     */
+    private static ShapeImageKey[] sortUniqueKeys(List<ShapeImageKey> keys, int angleStep) {
+        long[] packedKeys = new long[keys.size()];
+        ShapeImageKey[] sortedKeys = keys.toArray(new ShapeImageKey[0]);
+
+        for (int i = 0; i < sortedKeys.length; i++) {
+            if (ShapeImageStore.pack(sortedKeys[i]) < 0) {
+                throw new IllegalArgumentException("The image " + sortedKeys[i] + " can't be stored");
+            }
+
+            if (sortedKeys[i].getAngle() % angleStep != 0) {
+                throw new IllegalArgumentException("The angle of " + sortedKeys[i] + " isn't a step of " + angleStep + " degrees");
+            }
+        }
+
+        Arrays.sort(sortedKeys, (key1, key2) -> Long.compare(ShapeImageStore.pack(key1), ShapeImageStore.pack(key2)));
+        int size = 0;
+
+        for (ShapeImageKey key : sortedKeys) {
+            long packed = ShapeImageStore.pack(key);
+
+            if (size == 0 || packedKeys[size - 1] != packed) {
+                packedKeys[size] = packed;
+                sortedKeys[size++] = key;
+            }
+        }
+
+        return Arrays.copyOf(sortedKeys, size);
+    }
+
+    /**
+     * Renders and encodes a batch of images in parallel
+     * @param keys the sorted keys of every image
+     * @param from the index of the first key of the batch, inclusive
+     * @param to the index of the last key of the batch, exclusive
+     * @return the width and height of each image followed by its encoded pixels
+     */
+    private byte[][] renderBatch(ShapeImageKey[] keys, int from, int to,
+                                 Function<ShapeImageKey, RasterImage> renderer) {
+        byte[][] tiles = new byte[to - from][];
+        int chunkCount = (tiles.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<CompletableFuture<Void>> chunks = new ArrayList<>(chunkCount);
+
+        for (int i = 0; i < chunkCount; i++) {
+            int chunkFrom = i * CHUNK_SIZE;
+            int chunkTo = Math.min(tiles.length, chunkFrom + CHUNK_SIZE);
+
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int j = chunkFrom; j < chunkTo; j++) {
+                    tiles[j] = encode(renderer.apply(keys[from + j]));
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : ex;
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Run length encodes the pixels of an image
+     * @param image the image
+     * @return the width and height of the image as shorts, followed by pairs of the length of a run and its ARGB value
+     */
+    static byte[] encode(RasterImage image) {
+        if (image.getWidth() > 0xFFFF || image.getHeight() > 0xFFFF) {
+            throw new IllegalArgumentException("The image is too large to be stored");
+        }
+
+        int[] pixels = image.getPixels();
+        int runCount = 0;
+
+        for (int i = 0; i < pixels.length; i++) {
+            if (i == 0 || pixels[i] != pixels[i - 1]) {
+                runCount++;
+            }
+        }
+
+        ByteBuffer tile = ByteBuffer.allocate(4 + (runCount * 8)).order(ShapeImageStore.BYTE_ORDER);
+        tile.putShort((short) image.getWidth()).putShort((short) image.getHeight());
+
+        for (int start = 0; start < pixels.length; ) {
+            int end = start + 1;
+
+            while (end < pixels.length && pixels[end] == pixels[start]) {
+                end++;
+            }
+
+            tile.putInt(end - start).putInt(pixels[start]);
+            start = end;
+        }
+
+        return tile.array();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.quizme.generator.rendering;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.image.DataBufferInt;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the labelled shape images used by the shape questions.
+ * It only uses Java2D off-screen images, so unlike a JavaFX Canvas
+ * it doesn't need the FX Application Thread and can be used from any thread.
+ */
+public final class ShapeRenderer {
+
+    private static final int CANVAS_SIZE = 350;
+    private static final Color SHAPE_COLOR = new Color(0, 128, 0);
+    private static final Color LABEL_COLOR = new Color(255, 0, 0);
+    private static final Color BACKGROUND_COLOR = Color.WHITE;
+    private static final Font LABEL_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 25);
+
+    private ShapeRenderer() { }
+
+    /**
+     * Draws an image of a rectangle with its width and height labelled
+     * @param widthLabel the label of the top side
+     * @param heightLabel the label of the right side
+     * @param angle the angle in degrees to rotate the image by
+     * @return the rectangle image
+     */
+    public static RasterImage drawRectangle(String widthLabel, String heightLabel, int angle) {
+        Graphics2D gc = null;
+        BufferedImage image = createRotatedCanvas(angle);
+
+        try {
+            gc = createGraphics(image, angle);
+
+            gc.setColor(SHAPE_COLOR);
+            gc.fillRect(50, 50, 180, 260);
+
+            gc.setColor(LABEL_COLOR);
+            gc.drawString(widthLabel, 110, 40);
+            gc.drawString(heightLabel, 240, 180);
+        } finally {
+            if (gc != null) {
+                gc.dispose();
+            }
+        }
+
+        return toRaster(image);
+    }
+
+    /**
+     * Draws an image of a right angled triangle with each side labelled
+     * @param adjacentLabel the label of the vertical side
+     * @param hypotenuseLabel the label of the hypotenuse
+     * @param oppositeLabel the label of the horizontal side
+     * @param angle the angle in degrees to rotate the image by
+     * @return the triangle image
+     */
+    public static RasterImage drawTriangle(String adjacentLabel, String hypotenuseLabel, String oppositeLabel, int angle) {
+        Graphics2D gc = null;
+        BufferedImage image = createRotatedCanvas(angle);
+
+        try {
+            gc = createGraphics(image, angle);
+
+            Path2D.Double triangle = new Path2D.Double();
+            triangle.moveTo(100, 70);
+            triangle.lineTo(100, 270);
+            triangle.lineTo(260, 270);
+            triangle.closePath();
+
+            //The triangle is drawn in the same colour as its labels
+            gc.setColor(LABEL_COLOR);
+            gc.fill(triangle);
+
+            gc.drawString(adjacentLabel, 40, 180);
+            gc.drawString(hypotenuseLabel, 180, 160);
+            gc.drawString(oppositeLabel, 145, 300);
+        } finally {
+            if (gc != null) {
+                gc.dispose();
+            }
+        }
+
+        return toRaster(image);
+    }
+
+    /**
+     * Creates an image big enough to hold the canvas once it's been rotated,
+     * the same way a JavaFX snapshot of a rotated node is sized
+     * @param angle the angle in degrees the canvas will be rotated by
+     * @return a blank image
+     */
+    private static BufferedImage createRotatedCanvas(int angle) {
+        double radians = Math.toRadians(angle);
+        double size = CANVAS_SIZE * (Math.abs(Math.cos(radians)) + Math.abs(Math.sin(radians)));
+        int pixels = (int) Math.ceil(size - 1e-9);
+
+        return new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Creates the graphics context used to draw onto the image.
+     * The background is filled in and the context is rotated around the centre of the image.
+     * @param image the image to draw onto
+     * @param angle the angle in degrees to rotate by
+     * @return the graphics context
+     */
+    private static Graphics2D createGraphics(BufferedImage image, int angle) {
+        Graphics2D gc = image.createGraphics();
+        gc.setColor(BACKGROUND_COLOR);
+        gc.fillRect(0, 0, image.getWidth(), image.getHeight());
+
+        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        gc.setFont(LABEL_FONT);
+
+        gc.translate(image.getWidth() / 2.0, image.getHeight() / 2.0);
+        gc.rotate(Math.toRadians(angle));
+        gc.translate(-CANVAS_SIZE / 2.0, -CANVAS_SIZE / 2.0);
+
+        return gc;
+    }
+
+    /**
+     * Wraps the pixels of a Java2D image without copying them
+     * @param image an image of TYPE_INT_ARGB
+     * @return the raster image
+     */
+    private static RasterImage toRaster(BufferedImage image) {
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        return new RasterImage(image.getWidth(), image.getHeight(), pixels);
+    }
+}
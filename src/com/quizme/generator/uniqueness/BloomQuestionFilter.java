@@ -0,0 +1,96 @@
+package com.quizme.generator.uniqueness;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of question fingerprints for banks that are too large to remember exactly.
+ * Its memory is fixed up front, in exchange a small fraction of new questions are mistaken for repeats
+ * and rejected. A repeat is only ever accepted if two threads add the same question at the same moment.
+ * The bits are set with compare and swap, so it can be shared between threads without locking.
+ */
+public class BloomQuestionFilter implements QuestionFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Creates a filter sized for the expected amount of questions
+     * @param expectedSize the amount of questions the filter is expected to hold
+     * @param falsePositiveRate the fraction of new questions that may be rejected once it's full, e.g. 0.001
+     */
+    public BloomQuestionFilter(long expectedSize, double falsePositiveRate) {
+        if (expectedSize < 1) {
+            throw new IllegalArgumentException("The expected size must be at least 1");
+        }
+
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+
+        //The optimal size is -n ln(p) / ln(2)², rounded up to whole longs
+        double ln2 = Math.log(2);
+        long words = (long) Math.ceil((-expectedSize * Math.log(falsePositiveRate)) / (ln2 * ln2 * Long.SIZE));
+
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The filter would be too large");
+        }
+
+        bits = new AtomicLongArray((int) Math.max(1, words));
+        bitCount = (long) bits.length() * Long.SIZE;
+        hashCount = Math.max(1, (int) Math.round((bitCount / (double) expectedSize) * ln2));
+    }
+
+    @Override
+    public boolean add(long fingerprint) {
+        //Double hashing, the k indexes are h1 + i * h2 of two independent hashes of the fingerprint
+        long hash1 = mix(fingerprint);
+        long hash2 = mix(hash1) | 1;
+        boolean isNew = false;
+
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + (i * hash2), bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            if ((bits.get(word) & mask) == 0 && (bits.getAndAccumulate(word, mask, (a, b) -> a | b) & mask) == 0) {
+                isNew = true;
+            }
+        }
+
+        if (isNew) {
+            size.incrementAndGet();
+        }
+
+        return isNew;
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     *
+     * @return the amount of bits of the filter
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * The SplitMix64 finalizer, it spreads the packed fingerprints evenly over every bit
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
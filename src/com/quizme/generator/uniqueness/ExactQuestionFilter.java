@@ -0,0 +1,34 @@
+package com.quizme.generator.uniqueness;
+
+import java.util.Set;
+import java.util.HashSet;
+
+/**
+ * A filter that never mistakes a new question for a repeat, it's meant for quizzes and other small sets of questions
+ */
+public class ExactQuestionFilter implements QuestionFilter {
+
+    private final Set<Long> fingerprints;
+
+    public ExactQuestionFilter() {
+        fingerprints = new HashSet<>();
+    }
+
+    /**
+     * Creates a new filter
+     * @param expectedSize the amount of questions the filter is expected to hold
+     */
+    public ExactQuestionFilter(int expectedSize) {
+        fingerprints = new HashSet<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+    }
+
+    @Override
+    public synchronized boolean add(long fingerprint) {
+        return fingerprints.add(fingerprint);
+    }
+
+    @Override
+    public synchronized long size() {
+        return fingerprints.size();
+    }
+}
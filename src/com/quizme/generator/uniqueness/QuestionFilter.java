@@ -0,0 +1,21 @@
+package com.quizme.generator.uniqueness;
+
+/**
+ * Remembers the fingerprints of the questions that have been accepted, so repeats can be rejected
+ */
+public interface QuestionFilter {
+
+    /**
+     * Adds a fingerprint to the filter if it hasn't been seen yet.
+     * Implementations must be safe to call from several threads at once.
+     * @param fingerprint the fingerprint of a question
+     * @return true if the fingerprint was added, false if it's a repeat
+     */
+    boolean add(long fingerprint);
+
+    /**
+     *
+     * @return the amount of fingerprints that have been added
+     */
+    long size();
+}
@@ -0,0 +1,113 @@
+package com.quizme.server;
+
+/**
+ * A minimal writer of JSON documents, the server only ever writes JSON so it doesn't need a library for it.
+ * Commas between values are added automatically.
+ */
+class JsonWriter {
+
+    private final StringBuilder sb = new StringBuilder(256);
+    private boolean needsComma;
+
+    JsonWriter beginObject() {
+        separate();
+        sb.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        sb.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        separate();
+        sb.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        sb.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes the name of the next value of an object
+     * @param name the name of the value
+     * @return this writer
+     */
+    JsonWriter name(String name) {
+        separate();
+        appendString(name);
+        sb.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+
+        if (value == null) {
+            sb.append("null");
+        } else {
+            appendString(value);
+        }
+
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        separate();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(double value) {
+        separate();
+        sb.append(Double.isFinite(value) ? String.valueOf(value) : "null");
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+        separate();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    private void separate() {
+        if (needsComma) {
+            sb.append(',');
+        }
+    }
+
+    private void appendString(String value) {
+        sb.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+
+        sb.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
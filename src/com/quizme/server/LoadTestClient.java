@@ -0,0 +1,155 @@
+package com.quizme.server;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local load test of the quiz server, it sends requests from a fixed amount of threads for a while
+ * and then reports the throughput and the latency percentiles.
+ *
+ * Usage: LoadTestClient [url] [threads] [seconds]
+ */
+public class LoadTestClient {
+
+    private static final String DEFAULT_URL = "http://localhost:8080/quiz?topic=ALGEBRA&difficulty=MEDIUM&amount=10";
+
+    private final URL url;
+    private final int threads;
+    private final long durationNanos;
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Creates a new load test
+     * @param url the url that's requested
+     * @param threads the amount of concurrent clients
+     * @param durationSeconds how long to send requests for, the first fifth of it is a warm up that isn't measured
+     */
+    public LoadTestClient(URL url, int threads, int durationSeconds) {
+        this.url = url;
+        this.threads = threads;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+
+    /**
+     * Runs the load test
+     * @return the latency of each measured request in nanoseconds, sorted
+     */
+    public long[] run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long measureFrom = start + (durationNanos / 5);
+        long end = start + durationNanos;
+        long[][] latencies = new long[threads][];
+
+        for (int i = 0; i < threads; i++) {
+            int client = i;
+            executor.execute(() -> latencies[client] = runClient(measureFrom, end));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(durationNanos * 2, TimeUnit.NANOSECONDS);
+
+        int total = 0;
+        for (long[] clientLatencies : latencies) {
+            total += clientLatencies == null ? 0 : clientLatencies.length;
+        }
+
+        long[] merged = new long[total];
+        int position = 0;
+
+        for (long[] clientLatencies : latencies) {
+            if (clientLatencies != null) {
+                System.arraycopy(clientLatencies, 0, merged, position, clientLatencies.length);
+                position += clientLatencies.length;
+            }
+        }
+
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Sends requests one after another until the end
+     * @return the latencies of the requests that were sent after the warm up
+     */
+    private long[] runClient(long measureFrom, long end) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        byte[] buffer = new byte[8192];
+
+        for (long now = System.nanoTime(); now < end; now = System.nanoTime()) {
+            boolean failed;
+
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+                //The response is read fully so the connection can be kept alive
+                try (InputStream in = connection.getResponseCode() < 400
+                        ? connection.getInputStream() : connection.getErrorStream()) {
+                    while (in != null && in.read(buffer) != -1) {
+                        //Discards the response
+                    }
+                }
+
+                failed = connection.getResponseCode() >= 400;
+            } catch (IOException ex) {
+                failed = true;
+            }
+
+            if (now >= measureFrom) {
+                if (failed) {
+                    errors.incrementAndGet();
+                }
+
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+
+                latencies[count++] = System.nanoTime() - now;
+            }
+        }
+
+        return Arrays.copyOf(latencies, count);
+    }
+
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    /**
+     * @param sortedLatencies the sorted latencies
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency at the percentile, in nanoseconds
+     */
+    static long percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil((percentile / 100) * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length - 1, index))];
+    }
+
+    public static void main(String[] args) throws Exception {
+        URL url = new URL(args.length > 0 ? args[0] : DEFAULT_URL);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        LoadTestClient client = new LoadTestClient(url, threads, seconds);
+        long[] latencies = client.run();
+        double measuredSeconds = (seconds * 0.8);
+
+        System.out.printf("%s with %d threads for %ds%n", url, threads, seconds);
+        System.out.printf("Requests: %d, errors: %d%n", latencies.length, client.getErrorCount());
+        System.out.printf("Throughput: %.1f requests/s%n", latencies.length / measuredSeconds);
+        System.out.printf("Latency p50: %.3fms, p99: %.3fms, max: %.3fms%n",
+                percentile(latencies, 50) / 1e6, percentile(latencies, 99) / 1e6, percentile(latencies, 100) / 1e6);
+    }
+}
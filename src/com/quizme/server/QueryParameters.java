@@ -0,0 +1,119 @@
+package com.quizme.server;
+
+import java.util.*;
+import java.net.URLDecoder;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * The parameters of a URL query string or of a form encoded request body
+ */
+class QueryParameters {
+
+    private final Map<String, List<String>> parameters = new HashMap<>();
+
+    /**
+     * Parses the parameters
+     * @param query the query string, e.g. topic=ALGEBRA&amount=10, may be null
+     */
+    QueryParameters(String query) {
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = decode(separator == -1 ? pair : pair.substring(0, separator));
+            String value = separator == -1 ? "" : decode(pair.substring(separator + 1));
+            parameters.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    private static String decode(String text) {
+        try {
+            return URLDecoder.decode(text, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return the first value of the parameter, or null if it's missing
+     */
+    String get(String name) {
+        List<String> values = parameters.get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return every value of the parameter in the order they were given
+     */
+    List<String> getAll(String name) {
+        List<String> values = parameters.get(name);
+        return values == null ? Collections.emptyList() : values;
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return the value of the parameter, which must be given
+     */
+    String require(String name) {
+        String value = get(name);
+
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+
+        return value;
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @param type the enum the value must be a constant of, ignoring case
+     * @param defaultValue the value if the parameter is missing
+     * @return the parsed constant
+     */
+    <E extends Enum<E>> E getEnum(String name, Class<E> type, E defaultValue) {
+        String value = get(name);
+
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value);
+        }
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @param defaultValue the value if the parameter is missing
+     * @return the parsed integer
+     */
+    int getInt(String name, int defaultValue) {
+        String value = get(name);
+
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + " " + value);
+        }
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @param defaultValue the value if the parameter is missing
+     * @return true if the value is true, ignoring case
+     */
+    boolean getBoolean(String name, boolean defaultValue) {
+        String value = get(name);
+        return (value == null || value.isEmpty()) ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
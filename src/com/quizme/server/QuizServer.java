@@ -0,0 +1,376 @@
+package com.quizme.server;
+
+import java.util.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import javax.imageio.ImageIO;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpExchange;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.QuizId;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.grading.Score;
+import com.quizme.generator.grading.Submission;
+import com.quizme.generator.grading.GradingReport;
+import com.quizme.generator.grading.GradingService;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.provider.QuestionSpaceExhaustedException;
+
+/**
+ * Serves quizzes to browsers over HTTP using the JDK's built in server.
+ * A quiz is never stored, every request carries the quiz id and the questions are regenerated from its seed.
+ * The most recently used quizzes are kept in memory, so loading the images of a quiz doesn't regenerate it for every image.
+ *
+ * GET /quiz?topic=ALGEBRA&difficulty=EASY&amount=10&multiChoice=true&unique=true generates a new quiz, leave out the topic for a mixed quiz
+ * GET /quiz?id=... returns an existing quiz
+ * GET /image?quiz=...&index=0 returns the image of a question as a PNG
+ * POST /grade with the form parameters quiz=... and an answer=... for each question, in order, grades a quiz
+ */
+public class QuizServer {
+
+    //Keeps a single request from generating an unreasonable amount of questions
+    public static final int MAX_AMOUNT = 1000;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final int DEFAULT_PORT = 8080;
+    //A quiz of MAX_AMOUNT questions only takes up tens of kilobytes, as its questions are stored as their parameters.
+    //Their images are never rendered whilst they're cached, images are rendered from copies of the questions
+    private static final int MAX_CACHED_QUIZZES = 128;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final QuestionGenerator questionGenerator;
+    private final GradingService gradingService;
+    private final QuizCache quizCache = new QuizCache();
+
+    /**
+     * Creates a new server, it doesn't accept requests until it's started
+     * @param address the address to listen on
+     * @param questionGenerator the generator the quizzes are generated with
+     * @param gradingService the service the quizzes are graded with
+     * @throws IOException if the address can't be bound to
+     */
+    public QuizServer(InetSocketAddress address, QuestionGenerator questionGenerator,
+                      GradingService gradingService) throws IOException {
+        this.questionGenerator = questionGenerator;
+        this.gradingService = gradingService;
+
+        executor = createExecutor();
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/quiz", exchange -> handle(exchange, "GET", this::handleQuiz));
+        server.createContext("/image", exchange -> handle(exchange, "GET", this::handleImage));
+        server.createContext("/grade", exchange -> handle(exchange, "POST", this::handleGrade));
+    }
+
+    /**
+     * Virtual threads make a blocking thread per request cheap, but they only exist on Java 21 and above
+     * so they're looked up reflectively and a cached thread pool is used on older runtimes
+     * @return the executor that requests are handled on
+     */
+    static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting at most the delay for the requests in progress to finish
+     * @param delaySeconds the maximum amount of seconds to wait
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange, QueryParameters parameters) throws IOException;
+    }
+
+    /**
+     * Runs a handler, turning invalid requests into error responses
+     * @param exchange the request
+     * @param method the only method the endpoint accepts
+     * @param handler the handler of the endpoint
+     */
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+                exchange.getResponseHeaders().set("Allow", method);
+                sendError(exchange, 405, "Only " + method + " is allowed");
+                return;
+            }
+
+            String query = method.equals("POST") ? readBody(exchange) : exchange.getRequestURI().getRawQuery();
+            handler.handle(exchange, new QueryParameters(query));
+        } catch (IllegalArgumentException | QuestionSpaceExhaustedException ex) {
+            sendError(exchange, 400, ex.getMessage());
+        } catch (RuntimeException ex) {
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleQuiz(HttpExchange exchange, QueryParameters parameters) throws IOException {
+        String id = parameters.get("id");
+        QuizId quizId;
+
+        if (id != null) {
+            quizId = parseQuizId(id);
+        } else {
+            String topicName = parameters.get("topic");
+            Topic topic = "mixed".equalsIgnoreCase(topicName) ? null : parameters.getEnum("topic", Topic.class, null);
+            Difficulty difficulty = parameters.getEnum("difficulty", Difficulty.class, Difficulty.EASY);
+            int amount = parameters.getInt("amount", 10);
+            checkAmount(amount);
+            quizId = questionGenerator.createQuizId(topic, difficulty, amount,
+                    parameters.getBoolean("multiChoice", false), parameters.getBoolean("unique", false));
+        }
+
+        Question[] questions = generateQuiz(quizId);
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("id").value(quizId.toString())
+                .name("questions").beginArray();
+
+        for (int i = 0; i < questions.length; i++) {
+            Question question = questions[i];
+            json.beginObject()
+                    .name("index").value(i)
+                    .name("topic").value(question.getTopic().name())
+                    .name("difficulty").value(question.getDifficulty().name())
+                    .name("question").value(question.getQuestion())
+                    .name("hasImage").value(question.hasImage());
+
+            if (question.isMultiChoice()) {
+                json.name("choices").beginArray();
+
+                for (String choice : shuffleChoices(quizId, i, question)) {
+                    json.value(choice);
+                }
+
+                json.endArray();
+            }
+
+            json.endObject();
+        }
+
+        sendJson(exchange, 200, json.endArray().endObject().toString());
+    }
+
+    private void handleImage(HttpExchange exchange, QueryParameters parameters) throws IOException {
+        QuizId quizId = parseQuizId(parameters.require("quiz"));
+        //A copy read from the question's record, so the rendered image isn't kept by the cached quiz
+        Question question = questionGenerator.readQuestion(findQuestion(quizId, parameters.getInt("index", -1)).toRecord());
+
+        if (!question.hasImage()) {
+            sendError(exchange, 404, "The question doesn't have an image");
+            return;
+        }
+
+        RasterImage raster = question.getRasterImage();
+        BufferedImage image = new BufferedImage(raster.getWidth(), raster.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, raster.getWidth(), raster.getHeight(), raster.getPixels(), 0, raster.getWidth());
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(16 * 1024);
+        ImageIO.write(image, "png", png);
+
+        exchange.getResponseHeaders().set("Content-Type", "image/png");
+        exchange.getResponseHeaders().set("Cache-Control", "public, max-age=86400, immutable");
+        send(exchange, 200, png.toByteArray());
+    }
+
+    private void handleGrade(HttpExchange exchange, QueryParameters parameters) throws IOException {
+        QuizId quizId = parseQuizId(parameters.require("quiz"));
+        Question[] questions = generateQuiz(quizId);
+        List<String> answers = parameters.getAll("answer");
+
+        if (answers.size() > questions.length) {
+            throw new IllegalArgumentException("There are more answers than questions");
+        }
+
+        //Questions that weren't answered are graded as wrong answers
+        List<Submission> submissions = new ArrayList<>(questions.length);
+        for (int i = 0; i < questions.length; i++) {
+            submissions.add(new Submission(questions[i], i < answers.size() ? answers.get(i) : null));
+        }
+
+        GradingReport report = gradingService.grade(submissions);
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("id").value(quizId.toString())
+                .name("correct").beginArray();
+
+        for (int i = 0; i < report.size(); i++) {
+            json.value(report.isCorrect(i));
+        }
+
+        json.endArray().name("answers").beginArray();
+
+        for (Question question : questions) {
+            json.value(question.getAnswer());
+        }
+
+        json.endArray().name("score");
+        writeScore(json, report.getScore());
+        json.name("topics").beginObject();
+
+        for (Map.Entry<Topic, Score> entry : report.getTopicScores().entrySet()) {
+            json.name(entry.getKey().name());
+            writeScore(json, entry.getValue());
+        }
+
+        sendJson(exchange, 200, json.endObject().endObject().toString());
+    }
+
+    private static void writeScore(JsonWriter json, Score score) {
+        json.beginObject()
+                .name("correct").value(score.getCorrect())
+                .name("total").value(score.getTotal())
+                .name("percentage").value(score.getPercentage())
+                .endObject();
+    }
+
+    /**
+     * The choices are shuffled the same way every time, so reloading a quiz doesn't move its choices around
+     * @return the correct answer and the wrong answers of a multiple choice question, shuffled
+     */
+    private static List<String> shuffleChoices(QuizId quizId, int index, Question question) {
+        List<String> choices = new ArrayList<>(Arrays.asList(question.getMultipleChoices()));
+        choices.add(question.getAnswer());
+        Collections.shuffle(choices, new Random(quizId.getSeed() + index));
+        return choices;
+    }
+
+    private Question findQuestion(QuizId quizId, int index) {
+        if (index < 0 || index >= quizId.getAmount()) {
+            throw new IllegalArgumentException("Invalid question index " + index);
+        }
+
+        return generateQuiz(quizId)[index];
+    }
+
+    /**
+     * @param quizId the id of the quiz
+     * @return the questions of the quiz, they're only generated if the quiz isn't in the cache
+     */
+    private Question[] generateQuiz(QuizId quizId) {
+        Question[] questions = quizCache.get(quizId);
+
+        if (questions == null) {
+            //Generated outside of the lock, if two requests generate the same quiz at once they get identical questions
+            questions = questionGenerator.generateQuiz(quizId);
+            quizCache.put(quizId, questions);
+        }
+
+        return questions;
+    }
+
+    private static QuizId parseQuizId(String text) {
+        QuizId quizId = QuizId.parse(text);
+        checkAmount(quizId.getAmount());
+        return quizId;
+    }
+
+    private static void checkAmount(int amount) {
+        if (amount < 1 || amount > MAX_AMOUNT) {
+            throw new IllegalArgumentException("The amount of questions must be between 1 and " + MAX_AMOUNT);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+
+                if (body.size() > MAX_BODY_BYTES) {
+                    throw new IllegalArgumentException("The request body is too large");
+                }
+            }
+        }
+
+        return body.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, new JsonWriter().beginObject().name("error").value(message).endObject().toString());
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        send(exchange, status, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * A least recently used cache of generated quizzes, the questions are never modified so they can be shared
+     */
+    private static class QuizCache {
+
+        private final Map<QuizId, Question[]> quizzes = new LinkedHashMap<QuizId, Question[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QuizId, Question[]> eldest) {
+                return size() > MAX_CACHED_QUIZZES;
+            }
+        };
+
+        synchronized Question[] get(QuizId quizId) {
+            return quizzes.get(quizId);
+        }
+
+        synchronized void put(QuizId quizId, Question[] questions) {
+            quizzes.put(quizId, questions);
+        }
+    }
+
+    /**
+     * Starts a server until the process is stopped
+     * @param args the port to listen on, 8080 by default
+     */
+    public static void main(String[] args) throws IOException {
+        //Without it every small response on a kept alive connection waits for the client's delayed ack, about 40ms.
+        //It's read when the first server is created, and can still be set to false on the command line
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        QuizServer quizServer = new QuizServer(new InetSocketAddress(port), QuestionGenerator.getDefault(), new GradingService());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> quizServer.stop(1)));
+        quizServer.start();
+        System.out.println("QuizMe server listening on " + quizServer.getAddress());
+    }
+}
@@ -0,0 +1,103 @@
+package com.quizme.test;
+
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+
+import org.junit.*;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.base.AliasTable;
+import com.quizme.generator.base.RandomScope;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
+
+public class AliasTableTest {
+
+    /**
+     * Samples every column with evenly spaced coins, which gives the exact probabilities up to the spacing
+     */
+    private double[] sampleEvenly(AliasTable table, int coinsPerColumn) {
+        double[] frequencies = new double[table.size()];
+        double total = table.size() * coinsPerColumn;
+
+        for (int column = 0; column < table.size(); column++) {
+            for (int i = 0; i < coinsPerColumn; i++) {
+                frequencies[table.sample(column, (i + 0.5) / coinsPerColumn)] += 1 / total;
+            }
+        }
+
+        return frequencies;
+    }
+
+    @Test
+    public void testIndexesArePickedInProportionToTheirWeights() throws Exception {
+        double[] weights = {7, 3, 0, 10, 0.5};
+        double[] frequencies = sampleEvenly(new AliasTable(weights), 10000);
+
+        for (int i = 0; i < weights.length; i++) {
+            Assert.assertEquals(weights[i] / 20.5, frequencies[i], 0.001);
+        }
+    }
+
+    @Test
+    public void testEqualWeightsAreUniform() throws Exception {
+        Assert.assertTrue(new AliasTable(new double[] {2, 2, 2}).isUniform());
+        Assert.assertFalse(new AliasTable(new double[] {2, 1}).isUniform());
+
+        double[] frequencies = sampleEvenly(new AliasTable(new double[] {1, 1, 1, 1}), 100);
+        for (double frequency : frequencies) {
+            Assert.assertEquals(0.25, frequency, 1e-9);
+        }
+    }
+
+    @Test
+    public void testInvalidWeightsAreRejected() throws Exception {
+        double[][] invalid = {{}, {0, 0}, {1, -1}, {1, Double.NaN}, {Double.POSITIVE_INFINITY}};
+
+        for (double[] weights : invalid) {
+            try {
+                new AliasTable(weights);
+                Assert.fail("Accepted invalid weights");
+            } catch (IllegalArgumentException ex) {
+                //Expected
+            }
+        }
+    }
+
+    @Test
+    public void testShapesArePickedByTheirWeights() throws Exception {
+        EnumMap<ShapeType, Double> weights = new EnumMap<>(ShapeType.class);
+        weights.put(ShapeType.TRIANGLE, 0.7);
+        weights.put(ShapeType.RECTANGLE, 0.3);
+
+        ShapesQuestionGenerator generator = new ShapesQuestionGenerator(weights);
+        Question[] questions = RandomScope.call(new SplittableRandom(42),
+                () -> generator.generateQuestions(20000, Difficulty.MEDIUM, false));
+
+        int triangles = 0;
+        for (Question question : questions) {
+            triangles += question.getQuestion().contains("triangle") ? 1 : 0;
+        }
+
+        Assert.assertEquals(0.7, triangles / (double) questions.length, 0.02);
+    }
+
+    @Test
+    public void testShapeWeightsAreParsed() throws Exception {
+        Assert.assertTrue(ShapesQuestionGenerator.parseWeights(null).isEmpty());
+        Assert.assertEquals(Double.valueOf(0.7), ShapesQuestionGenerator.parseWeights("triangle:0.7, RECTANGLE : 0.3").get(ShapeType.TRIANGLE));
+
+        weightsAreRejected("TRIANGLE");
+        weightsAreRejected("CIRCLE:1");
+        weightsAreRejected("TRIANGLE:heavy");
+    }
+
+    private void weightsAreRejected(String text) {
+        try {
+            ShapesQuestionGenerator.parseWeights(text);
+            Assert.fail("Accepted invalid weights " + text);
+        } catch (IllegalArgumentException ex) {
+            //Expected
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.quizme.test;
+
+import java.util.Locale;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.grading.AnswerParser;
+import com.quizme.generator.grading.AnswerChecker;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.modules.shapes.models.Units;
+
+public class AnswerCheckerTest {
+
+    private QuestionGenerator questionGenerator;
+
+    @Before
+    public void setUp() {
+        questionGenerator = new QuestionGenerator();
+    }
+
+    @Test
+    public void testPolynomialsAreEquivalentInAnyForm() throws Exception {
+        AnswerKey expected = AnswerKey.polynomial('x', 1, 5, 6);
+
+        Assert.assertEquals(expected, AnswerParser.parse("x² + 5x + 6", AnswerKey.Type.POLYNOMIAL));
+        Assert.assertEquals(expected, AnswerParser.parse("x^2+5x+6", AnswerKey.Type.POLYNOMIAL));
+        Assert.assertEquals(expected, AnswerParser.parse("5x + X² + 6", AnswerKey.Type.POLYNOMIAL));
+        Assert.assertEquals(expected, AnswerParser.parse("6 + 2x + x^2 + 3x", AnswerKey.Type.POLYNOMIAL));
+        Assert.assertEquals(AnswerKey.polynomial('y', 1, -1, 0), AnswerParser.parse("y² - y - 0", AnswerKey.Type.POLYNOMIAL));
+
+        Assert.assertNotEquals(expected, AnswerParser.parse("y² + 5y + 6", AnswerKey.Type.POLYNOMIAL));
+        Assert.assertNotEquals(expected, AnswerParser.parse("x² + 5x - 6", AnswerKey.Type.POLYNOMIAL));
+    }
+
+    @Test
+    public void testInvalidPolynomialsAreRejected() throws Exception {
+        String[] invalid = {"", "   ", "x³ + 1", "x^3", "x² + 5y", "x² 5x", "5² + x", "x² + ", "2.5x", "x^"};
+
+        for (String answer : invalid) {
+            Assert.assertNull(answer, AnswerParser.parse(answer, AnswerKey.Type.POLYNOMIAL));
+        }
+    }
+
+    @Test
+    public void testMeasurementsAreEquivalentInAnyForm() throws Exception {
+        AnswerKey expected = AnswerKey.measurement(1200, Units.CM, 2);
+
+        Assert.assertEquals(expected, AnswerParser.parse("12cm²", AnswerKey.Type.MEASUREMENT));
+        Assert.assertEquals(expected, AnswerParser.parse("12.0 cm^2", AnswerKey.Type.MEASUREMENT));
+        Assert.assertEquals(expected, AnswerParser.parse("12,00 CM2", AnswerKey.Type.MEASUREMENT));
+        Assert.assertEquals(AnswerKey.measurement(621000, Units.CM, 2), AnswerParser.parse("6,210cm²", AnswerKey.Type.MEASUREMENT));
+
+        Assert.assertNotEquals(expected, AnswerParser.parse("12cm", AnswerKey.Type.MEASUREMENT));
+        Assert.assertNotEquals(expected, AnswerParser.parse("12m²", AnswerKey.Type.MEASUREMENT));
+        Assert.assertNull(AnswerParser.parse("12", AnswerKey.Type.MEASUREMENT));
+        Assert.assertNull(AnswerParser.parse("12.001cm²", AnswerKey.Type.MEASUREMENT));
+        Assert.assertNull(AnswerParser.parse("12cms", AnswerKey.Type.MEASUREMENT));
+    }
+
+    @Test
+    public void testGeneratedAnswersMatchTheirKeys() throws Exception {
+        Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+
+        try {
+            for (Locale locale : new Locale[] {Locale.UK, Locale.GERMANY}) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+
+                for (Topic topic : Topic.values()) {
+                    for (Difficulty difficulty : Difficulty.values()) {
+                        for (Question question : questionGenerator.generateQuestions(topic, difficulty, 200, true)) {
+                            AnswerKey answerKey = question.getAnswerKey();
+                            Assert.assertEquals(question.getAnswer(), answerKey,
+                                    AnswerParser.parse(question.getAnswer(), answerKey.getType()));
+                            Assert.assertTrue(AnswerChecker.isCorrect(question, question.getAnswer()));
+
+                            for (String choice : question.getMultipleChoices()) {
+                                Assert.assertNotNull(choice, AnswerParser.parse(choice, answerKey.getType()));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.quizme.test;
+
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Arrays;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.base.DistractorEngine;
+import com.quizme.generator.provider.QuestionGenerator;
+
+public class DistractorEngineTest {
+
+    @Test
+    public void testValidUniqueCandidatesArePickedInOrder() throws Exception {
+        long[] picked = DistractorEngine.pick(10, new long[] {4, 12, 7}, 3, 1, code -> true);
+
+        Assert.assertArrayEquals(new long[] {4, 12, 7}, picked);
+    }
+
+    @Test
+    public void testRepeatedCandidatesAreReplacedByTheNearestFreeCodes() throws Exception {
+        //The answer itself, a duplicate and an invalid code are all replaced
+        long[] picked = DistractorEngine.pick(10, new long[] {10, 11, 11, -3}, 4, 1, code -> code > 0);
+
+        Assert.assertArrayEquals(new long[] {11, 9, 12, 8}, picked);
+    }
+
+    @Test
+    public void testReplacementsKeepTheFormOfTheAnswer() throws Exception {
+        //With a step of 2 the lowest bit of every replacement matches the answer
+        long[] picked = DistractorEngine.pick(21, new long[0], 3, 2, code -> true);
+
+        Assert.assertArrayEquals(new long[] {23, 19, 25}, picked);
+    }
+
+    @Test
+    public void testReplacementsOnlyGoAboveTheAnswerWhenTheCodesBelowAreInvalid() throws Exception {
+        long[] picked = DistractorEngine.pick(1, new long[] {0, -1}, 3, 1, code -> code > 0);
+
+        Assert.assertArrayEquals(new long[] {2, 3, 4}, picked);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStepMustBePositive() throws Exception {
+        DistractorEngine.pick(1, new long[0], 3, 0, code -> true);
+    }
+
+    @Test
+    public void testMultipleChoicesAreAlwaysDistinct() throws Exception {
+        QuestionGenerator questionGenerator = new QuestionGenerator();
+
+        for (Topic topic : Topic.values()) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                for (Question question : questionGenerator.generateQuestions(topic, difficulty, 2000, true)) {
+                    String[] choices = question.getMultipleChoices();
+                    Set<String> distinctChoices = new HashSet<>(Arrays.asList(choices));
+                    distinctChoices.add(question.getAnswer());
+
+                    Assert.assertEquals(question.getQuestion(), choices.length + 1, distinctChoices.size());
+
+                    if (topic == Topic.SHAPES) {
+                        for (String choice : choices) {
+                            Assert.assertFalse(choice, choice.startsWith("-") || choice.startsWith("0"));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
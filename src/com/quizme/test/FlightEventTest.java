@@ -0,0 +1,95 @@
+package com.quizme.test;
+
+import java.util.List;
+import java.nio.file.Path;
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.metrics.FlightEvent;
+import com.quizme.generator.metrics.FlightEventType;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.modules.shapes.base.ShapeQuestion;
+
+public class FlightEventTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEventsDoNothingWithoutRecording() {
+        FlightEvent event = FlightEvent.begin(FlightEventType.QUIZ_SCENE_LOAD);
+
+        //Setting a field that doesn't exist is only checked when the event is recorded
+        Assert.assertFalse(event.isRecording());
+        event.set("missing", 1).commit();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownField() {
+        FlightEventType.ANSWER_SUBMISSION.getFieldIndex("amount");
+    }
+
+    /**
+     * Records question generation and image rendering events with a flight recording,
+     * the recording API is used reflectively so the test still compiles for Java 8
+     */
+    @Test
+    public void testEventsAreRecorded() throws ReflectiveOperationException, IOException {
+        Class<?> recordingClass;
+
+        try {
+            recordingClass = Class.forName("jdk.jfr.Recording");
+        } catch (ClassNotFoundException ex) {
+            Assume.assumeNoException(ex);
+            return;
+        }
+
+        Object recording = recordingClass.getConstructor().newInstance();
+        recordingClass.getMethod("enable", String.class).invoke(recording, FlightEventType.QUESTION_GENERATION.getName());
+        recordingClass.getMethod("enable", String.class).invoke(recording, FlightEventType.IMAGE_RENDERING.getName());
+        recordingClass.getMethod("start").invoke(recording);
+
+        try {
+            Question[] questions = new QuestionGenerator().generateQuestions(Topic.SHAPES, Difficulty.HARD, 3, false);
+
+            for (Question question : questions) {
+                ((ShapeQuestion) question).renderImage();
+            }
+        } finally {
+            recordingClass.getMethod("stop").invoke(recording);
+        }
+
+        Path file = folder.newFile("quiz.jfr").toPath();
+        recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+        recordingClass.getMethod("close").invoke(recording);
+
+        Method readAllEvents = Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class);
+        int generationEvents = 0;
+        int renderingEvents = 0;
+
+        for (Object recorded : (List<?>) readAllEvents.invoke(null, file)) {
+            Object eventType = recorded.getClass().getMethod("getEventType").invoke(recorded);
+            String name = (String) eventType.getClass().getMethod("getName").invoke(eventType);
+            Method getValue = recorded.getClass().getMethod("getValue", String.class);
+
+            if (name.equals(FlightEventType.QUESTION_GENERATION.getName())) {
+                Assert.assertEquals("ShapesQuestionGenerator", getValue.invoke(recorded, "module"));
+                Assert.assertEquals("SHAPES", getValue.invoke(recorded, "topic"));
+                Assert.assertEquals("HARD", getValue.invoke(recorded, "difficulty"));
+                Assert.assertEquals(3, getValue.invoke(recorded, "amount"));
+                generationEvents++;
+            } else if (name.equals(FlightEventType.IMAGE_RENDERING.getName())) {
+                Assert.assertTrue((Integer) getValue.invoke(recorded, "width") > 0);
+                renderingEvents++;
+            }
+        }
+
+        Assert.assertEquals(1, generationEvents);
+        Assert.assertEquals(3, renderingEvents);
+    }
+}
@@ -0,0 +1,90 @@
+package com.quizme.test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.base.GeneratorModuleProvider;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.provider.GeneratorModuleRegistry;
+import com.quizme.generator.modules.algebra.AlgebraModuleProvider;
+import com.quizme.generator.modules.shapes.base.ShapesModuleProvider;
+import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
+
+public class GeneratorModuleRegistryTest {
+
+    @Test
+    public void testModulesAreOnlyCreatedWhenTheirTopicIsUsed() throws Exception {
+        GeneratorModuleRegistry registry = GeneratorModuleRegistry.load();
+        Assert.assertFalse(registry.isCreated(Topic.ALGEBRA));
+        Assert.assertFalse(registry.isCreated(Topic.SHAPES));
+
+        new QuestionGenerator(registry, ForkJoinPool.commonPool()).generateQuestions(Topic.ALGEBRA, Difficulty.EASY, 5, false);
+        Assert.assertTrue(registry.isCreated(Topic.ALGEBRA));
+        Assert.assertFalse(registry.isCreated(Topic.SHAPES));
+
+        Assert.assertSame(registry.get(Topic.ALGEBRA), registry.get(Topic.ALGEBRA));
+    }
+
+    @Test
+    public void testTopicsAreInDeclarationOrder() throws Exception {
+        GeneratorModuleRegistry registry = new GeneratorModuleRegistry(
+                Arrays.asList(new ShapesModuleProvider(), new AlgebraModuleProvider()));
+
+        Assert.assertEquals(2, registry.getTopicCount());
+        Assert.assertEquals(Topic.ALGEBRA, registry.getTopic(0));
+        Assert.assertEquals(Topic.SHAPES, registry.getTopic(1));
+    }
+
+    @Test
+    public void testFirstProviderOfATopicIsUsed() throws Exception {
+        AbstractQuestionGenerator replacement = new ShapesQuestionGenerator();
+        GeneratorModuleProvider provider = new GeneratorModuleProvider() {
+            @Override
+            public Topic getTopic() {
+                return Topic.SHAPES;
+            }
+
+            @Override
+            public AbstractQuestionGenerator create() {
+                return replacement;
+            }
+        };
+
+        GeneratorModuleRegistry registry = new GeneratorModuleRegistry(Arrays.asList(provider, new ShapesModuleProvider()));
+        Assert.assertSame(replacement, registry.get(Topic.SHAPES));
+
+        //Mixed questions can only come from the registered topics
+        QuestionGenerator questionGenerator = new QuestionGenerator(registry, ForkJoinPool.commonPool());
+        for (Question question : questionGenerator.generateQuestions(Difficulty.HARD, 50, true)) {
+            Assert.assertEquals(Topic.SHAPES, question.getTopic());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingTopicIsRejected() throws Exception {
+        new GeneratorModuleRegistry(Collections.singletonList(new AlgebraModuleProvider())).get(Topic.SHAPES);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testModuleOfTheWrongTopicIsRejected() throws Exception {
+        GeneratorModuleProvider provider = new GeneratorModuleProvider() {
+            @Override
+            public Topic getTopic() {
+                return Topic.ALGEBRA;
+            }
+
+            @Override
+            public AbstractQuestionGenerator create() {
+                return new ShapesQuestionGenerator();
+            }
+        };
+
+        new GeneratorModuleRegistry(Collections.singletonList(provider)).get(Topic.ALGEBRA);
+    }
+}
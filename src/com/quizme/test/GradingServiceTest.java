@@ -0,0 +1,108 @@
+package com.quizme.test;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.*;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.grading.Score;
+import com.quizme.generator.grading.Submission;
+import com.quizme.generator.grading.GradingReport;
+import com.quizme.generator.grading.GradingService;
+import com.quizme.generator.provider.QuestionGenerator;
+
+public class GradingServiceTest {
+
+    private QuestionGenerator questionGenerator;
+
+    @Before
+    public void setUp() {
+        questionGenerator = new QuestionGenerator();
+    }
+
+    /**
+     * Answers every third question wrong
+     */
+    private List<Submission> createSubmissions(int amount) {
+        List<Submission> submissions = new ArrayList<>(amount);
+        Question[] questions = questionGenerator.generateQuestions(Difficulty.MEDIUM, amount, true);
+
+        for (int i = 0; i < questions.length; i++) {
+            String answer = (i % 3 == 0) ? questions[i].getMultipleChoices()[0] : questions[i].getAnswer();
+            submissions.add(new Submission(questions[i], answer));
+        }
+
+        return submissions;
+    }
+
+    private void assertReportIsCorrect(List<Submission> submissions, GradingReport report) {
+        Assert.assertEquals(submissions.size(), report.size());
+        int correct = 0;
+
+        for (int i = 0; i < submissions.size(); i++) {
+            Submission submission = submissions.get(i);
+            boolean isCorrect = submission.getAnswer().equals(submission.getQuestion().getAnswer());
+            Assert.assertEquals(isCorrect, report.isCorrect(i));
+            correct += isCorrect ? 1 : 0;
+        }
+
+        Assert.assertEquals(new Score(correct, submissions.size()), report.getScore());
+
+        int topicTotal = 0;
+        for (Score score : report.getTopicScores().values()) {
+            topicTotal += score.getTotal();
+        }
+
+        Assert.assertEquals(submissions.size(), topicTotal);
+    }
+
+    @Test
+    public void testSmallBatchIsGraded() throws Exception {
+        List<Submission> submissions = createSubmissions(30);
+        assertReportIsCorrect(submissions, new GradingService().grade(submissions));
+    }
+
+    @Test
+    public void testLargeBatchIsGradedInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Submission> submissions = createSubmissions(20000);
+            assertReportIsCorrect(submissions, new GradingService(executor, 4).gradeAsync(submissions).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSmallBatchIsGradedInTheBackground() throws Exception {
+        List<Submission> submissions = createSubmissions(30);
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<GradingReport> report = new GradingService(tasks::add, 1).gradeAsync(submissions);
+
+        //Nothing is graded until the executor runs the task
+        Assert.assertFalse(report.isDone());
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertReportIsCorrect(submissions, report.get());
+    }
+
+    @Test
+    public void testEmptyBatchScoresZero() throws Exception {
+        GradingReport report = new GradingService().grade(new ArrayList<>());
+        Assert.assertEquals(0, report.size());
+        Assert.assertEquals(0, report.getScore().getPercentage(), 0);
+        Assert.assertTrue(report.getTopicScores().isEmpty());
+    }
+
+    @Test
+    public void testScorePercentage() throws Exception {
+        Assert.assertEquals(66.67, new Score(2, 3).getPercentage(), 0.01);
+        Assert.assertEquals(new Score(3, 5), new Score(1, 2).plus(new Score(2, 3)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.quizme.test;
+
+import javax.management.ObjectName;
+import javax.management.MBeanServer;
+import javax.management.JMException;
+import javax.management.MBeanServerFactory;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.metrics.Operation;
+import com.quizme.generator.metrics.LatencyMetrics;
+import com.quizme.generator.metrics.MetricsRegistry;
+import com.quizme.generator.metrics.LatencyHistogram;
+import com.quizme.generator.modules.algebra.AlgebraQuestionGenerator;
+
+public class LatencyMetricsTest {
+
+    private MBeanServer mBeanServer;
+
+    @Before
+    public void initializeMBeanServer() {
+        //A server of its own, so the test doesn't register anything to the platform server
+        mBeanServer = MBeanServerFactory.newMBeanServer();
+    }
+
+    @Test
+    public void testPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //Latencies of 1 to 10000 microseconds
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000L, false);
+        }
+
+        Assert.assertEquals(10000, histogram.getCount());
+        Assert.assertEquals(5.0, histogram.getP50Millis(), 5.0 * 0.035);
+        Assert.assertEquals(9.9, histogram.getP99Millis(), 9.9 * 0.035);
+        Assert.assertEquals(9.99, histogram.getP999Millis(), 9.99 * 0.035);
+        Assert.assertEquals(10.0, histogram.getMaxMillis(), 0);
+        Assert.assertEquals(5.0005, histogram.getMeanMillis(), 1e-9);
+        Assert.assertTrue(histogram.getP999Millis() <= histogram.getMaxMillis());
+    }
+
+    @Test
+    public void testSmallLatenciesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(7, false);
+        histogram.record(-5, false);
+
+        Assert.assertEquals(0, histogram.getPercentileNanos(50));
+        Assert.assertEquals(7, histogram.getPercentileNanos(100));
+        Assert.assertEquals(0, new LatencyHistogram().getPercentileNanos(99));
+    }
+
+    @Test
+    public void testErrorRateAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000, true);
+        histogram.record(1000, false);
+        histogram.record(1000, false);
+        histogram.record(1000, false);
+
+        Assert.assertEquals(1, histogram.getErrorCount());
+        Assert.assertEquals(0.25, histogram.getErrorRate(), 0);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getErrorRate(), 0);
+        Assert.assertEquals(0, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void testHistogramsArePublishedThroughJmx() throws JMException {
+        MetricsRegistry registry = new MetricsRegistry(mBeanServer);
+        registry.record(Operation.GENERATE, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.EASY, 2000000, false);
+        registry.record(Operation.GENERATE, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.EASY, 4000000, true);
+
+        ObjectName name = MetricsRegistry.getObjectName(Operation.GENERATE, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.EASY);
+        Assert.assertEquals("com.quizme:type=Latency,operation=generate,module=AlgebraQuestionGenerator,topic=ALGEBRA,difficulty=EASY",
+                name.toString());
+        Assert.assertTrue(mBeanServer.isRegistered(name));
+        Assert.assertEquals(2L, mBeanServer.getAttribute(name, "Count"));
+        Assert.assertEquals(1L, mBeanServer.getAttribute(name, "ErrorCount"));
+        Assert.assertEquals(0.5, (Double) mBeanServer.getAttribute(name, "ErrorRate"), 0);
+        Assert.assertEquals(4.0, (Double) mBeanServer.getAttribute(name, "MaxMillis"), 0);
+
+        mBeanServer.invoke(name, "reset", new Object[0], new String[0]);
+        Assert.assertEquals(0L, mBeanServer.getAttribute(name, "Count"));
+    }
+
+    @Test
+    public void testOperationsAreKeptApart() {
+        MetricsRegistry registry = new MetricsRegistry(null);
+        registry.record(Operation.DRAW, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.HARD, 1000, false);
+        registry.record(Operation.DRAW, AlgebraQuestionGenerator.class, Topic.ALGEBRA, null, 1000, false);
+        registry.record(Operation.SNAPSHOT, AlgebraQuestionGenerator.class, null, null, 1000, false);
+
+        Assert.assertEquals(1, registry.getHistogram(Operation.DRAW, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.HARD).getCount());
+        Assert.assertEquals(1, registry.getHistogram(Operation.DRAW, AlgebraQuestionGenerator.class, Topic.ALGEBRA, null).getCount());
+        Assert.assertEquals(0, registry.getHistogram(Operation.DRAW, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.EASY).getCount());
+        Assert.assertEquals(0, registry.getHistogram(Operation.GENERATE, AlgebraQuestionGenerator.class, Topic.ALGEBRA, Difficulty.HARD).getCount());
+
+        String[] lines = registry.dump().split(System.lineSeparator());
+        Assert.assertEquals(3, lines.length);
+        Assert.assertTrue(lines[0].startsWith("draw"));
+        Assert.assertTrue(lines[0].contains("ALGEBRA  -"));
+        Assert.assertTrue(lines[2].startsWith("snapshot"));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assume.assumeFalse(Boolean.getBoolean(LatencyMetrics.ENABLED_PROPERTY));
+
+        Assert.assertFalse(LatencyMetrics.isEnabled());
+        Assert.assertNull(LatencyMetrics.getDefault());
+        Assert.assertEquals(0, LatencyMetrics.start());
+    }
+}
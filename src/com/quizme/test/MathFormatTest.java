@@ -0,0 +1,70 @@
+package com.quizme.test;
+
+import java.util.Locale;
+
+import org.junit.*;
+import com.quizme.generator.formatting.MathFormat;
+import com.quizme.generator.modules.shapes.models.Units;
+
+public class MathFormatTest {
+
+    private Locale defaultLocale;
+
+    @Before
+    public void saveDefaultLocale() {
+        defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+    }
+
+    @After
+    public void restoreDefaultLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+    }
+
+    private void assertFixed2MatchesFormatter(double value) {
+        String expected = String.format("%.2f", value);
+        Assert.assertEquals(expected, MathFormat.appendFixed2(MathFormat.buffer(), value).toString());
+    }
+
+    @Test
+    public void testFixed2MatchesTheFormatter() throws Exception {
+        double[] values = {0, -0.0, 1, -1, 0.5, 12.5, -12.5, 0.05, 0.29, 1.005, 2.675, 1e20, 123456.78, Double.NaN};
+
+        for (double value : values) {
+            assertFixed2MatchesFormatter(value);
+        }
+
+        for (int i = -2000; i <= 2000; i++) {
+            assertFixed2MatchesFormatter(i / 2.0);
+            assertFixed2MatchesFormatter(i / 100.0);
+        }
+    }
+
+    @Test
+    public void testFixed2FollowsTheDefaultLocale() throws Exception {
+        for (Locale locale : new Locale[] {Locale.GERMANY, Locale.FRANCE, Locale.forLanguageTag("ar-EG"), Locale.US}) {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            assertFixed2MatchesFormatter(12.5);
+            Assert.assertEquals(String.format("%d", 42), MathFormat.appendInt(MathFormat.buffer(), 42).toString());
+        }
+    }
+
+    @Test
+    public void testBracketMatchesTheOriginalFormat() throws Exception {
+        for (int number = -20; number <= 20; number++) {
+            String expected = String.format("(%s %s %s)", 'x', number > 0 ? '+' : '-', Math.abs(number));
+            Assert.assertEquals(expected, MathFormat.appendBracket(MathFormat.buffer(), 'x', number).toString());
+        }
+    }
+
+    @Test
+    public void testSignedTermsAndUnits() throws Exception {
+        StringBuilder sb = MathFormat.buffer().append('x').append(MathFormat.SQUARED);
+        MathFormat.appendSignedTerm(sb, 5).append('x');
+        MathFormat.appendSignedTerm(sb, -6);
+        Assert.assertEquals("x² + 5x - 6", sb.toString());
+
+        Assert.assertEquals("12cm²", MathFormat.appendUnits(MathFormat.buffer().append(12), Units.CM, true).toString());
+        Assert.assertEquals(String.format("%s%s", 12, Units.M).toLowerCase(),
+                MathFormat.appendUnits(MathFormat.buffer().append(12), Units.M, false).toString());
+    }
+}
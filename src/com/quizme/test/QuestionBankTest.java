@@ -0,0 +1,118 @@
+package com.quizme.test;
+
+import java.util.Arrays;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.bank.QuestionBank;
+import com.quizme.generator.bank.QuestionBankWriter;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
+
+public class QuestionBankTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private QuestionGenerator questionGenerator;
+
+    @Before
+    public void initializeQuestionGenerator() {
+        questionGenerator = new QuestionGenerator();
+    }
+
+    private void assertSameQuestion(Question expected, Question actual) {
+        Assert.assertEquals(expected.getClass(), actual.getClass());
+        Assert.assertEquals(expected.getTopic(), actual.getTopic());
+        Assert.assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        Assert.assertEquals(expected.getQuestion(), actual.getQuestion());
+        Assert.assertEquals(expected.getAnswer(), actual.getAnswer());
+        Assert.assertEquals(expected.getAnswerKey(), actual.getAnswerKey());
+        Assert.assertEquals(expected.getFingerprint(), actual.getFingerprint());
+        Assert.assertEquals(expected.toRecord(), actual.toRecord());
+        Assert.assertArrayEquals(expected.getMultipleChoices(), actual.getMultipleChoices());
+    }
+
+    @Test
+    public void testQuestionsAreReadBackFromTheirRecords() throws Exception {
+        for (Topic topic : Topic.values()) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                for (boolean isMultiChoice : new boolean[] {false, true}) {
+                    for (Question question : questionGenerator.generateQuestions(topic, difficulty, 500, isMultiChoice)) {
+                        assertSameQuestion(question, questionGenerator.readQuestion(question.toRecord()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordsOfAnotherTopicAreRejected() throws Exception {
+        Question question = questionGenerator.generateQuestions(Topic.ALGEBRA, Difficulty.EASY, 1, false)[0];
+        new ShapesQuestionGenerator().readQuestion(question.toRecord());
+    }
+
+    @Test
+    public void testBankHasEveryTopicAndDifficulty() throws Exception {
+        int amountPerSection = 5000;
+        Path path = folder.newFile("questions.bank").toPath();
+        new QuestionBankWriter(questionGenerator, Runnable::run).write(path, amountPerSection, true);
+
+        QuestionBank bank = QuestionBank.open(path, questionGenerator);
+        Assert.assertEquals(amountPerSection * Topic.values().length * Difficulty.values().length, bank.size());
+
+        for (Topic topic : Topic.values()) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                Assert.assertEquals(amountPerSection, bank.size(topic, difficulty));
+
+                for (int i = 0; i < amountPerSection; i++) {
+                    Question question = bank.getQuestion(topic, difficulty, i);
+                    Assert.assertEquals(topic, question.getTopic());
+                    Assert.assertEquals(difficulty, question.getDifficulty());
+                    Assert.assertTrue(question.isMultiChoice());
+                    assertSameQuestion(question, questionGenerator.readQuestion(question.toRecord()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandomQuestionsArePickedFromTheBank() throws Exception {
+        Path path = folder.newFile("questions.bank").toPath();
+        new QuestionBankWriter(questionGenerator, ForkJoinPool.commonPool()).write(path, 10000, false);
+        QuestionBank bank = QuestionBank.open(path, questionGenerator);
+
+        for (Question question : bank.getRandomQuestions(null, Difficulty.HARD, 200)) {
+            Assert.assertEquals(Difficulty.HARD, question.getDifficulty());
+            Assert.assertFalse(question.isMultiChoice());
+        }
+
+        for (Question question : bank.getRandomQuestions(Topic.SHAPES, Difficulty.EASY, 200)) {
+            Assert.assertEquals(Topic.SHAPES, question.getTopic());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testFilesThatArentBanksAreRejected() throws Exception {
+        Path path = folder.newFile("questions.bank").toPath();
+        Files.write(path, new byte[4096]);
+        QuestionBank.open(path, questionGenerator);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedBanksAreRejected() throws Exception {
+        Path path = folder.newFile("questions.bank").toPath();
+        new QuestionBankWriter(questionGenerator, Runnable::run).write(path, 100, false);
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+        QuestionBank.open(path, questionGenerator);
+    }
+}
@@ -0,0 +1,94 @@
+package com.quizme.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionFeed;
+import com.quizme.generator.provider.QuestionGenerator;
+
+public class QuestionFeedTest {
+
+    private Question[] questions;
+
+    @Before
+    public void setUp() {
+        questions = new QuestionGenerator().generateQuestions(Topic.ALGEBRA, Difficulty.EASY, 3, false);
+    }
+
+    @Test
+    public void testQuestionsArePolledInOrder() throws Exception {
+        QuestionFeed feed = QuestionFeed.of(questions);
+
+        Assert.assertTrue(feed.isComplete());
+        for (Question question : questions) {
+            Assert.assertSame(question, feed.poll());
+        }
+
+        Assert.assertNull(feed.poll());
+    }
+
+    @Test
+    public void testWaitingForAQuestionRunsOnceItIsAdded() throws Exception {
+        QuestionFeed feed = new QuestionFeed(3);
+        AtomicInteger runs = new AtomicInteger();
+
+        feed.whenReady(runs::incrementAndGet);
+        Assert.assertEquals(0, runs.get());
+
+        feed.add(questions[0]);
+        feed.add(questions[1]);
+        Assert.assertEquals(1, runs.get());
+
+        //Runs straight away as a question is already ready
+        feed.whenReady(runs::incrementAndGet);
+        Assert.assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testQuestionsAddedOnAnotherThreadAreReceived() throws Exception {
+        QuestionFeed feed = new QuestionFeed(questions.length);
+        CountDownLatch ready = new CountDownLatch(1);
+
+        feed.whenReady(ready::countDown);
+        new Thread(() -> {
+            for (Question question : questions) {
+                feed.add(question);
+            }
+        }).start();
+
+        Assert.assertTrue(ready.await(10, TimeUnit.SECONDS));
+        Assert.assertSame(questions[0], feed.poll());
+    }
+
+    @Test
+    public void testClosedFeedStopsEarly() throws Exception {
+        QuestionFeed feed = new QuestionFeed(3);
+        AtomicInteger runs = new AtomicInteger();
+        RuntimeException failure = new RuntimeException("failed");
+
+        feed.add(questions[0]);
+        Assert.assertSame(questions[0], feed.poll());
+        feed.whenReady(runs::incrementAndGet);
+        feed.close(failure);
+
+        Assert.assertEquals(1, runs.get());
+        Assert.assertTrue(feed.isComplete());
+        Assert.assertEquals(1, feed.getAddedCount());
+        Assert.assertSame(failure, feed.getFailure());
+
+        //Questions that are ready after the feed is closed are ignored
+        feed.add(questions[1]);
+        Assert.assertNull(feed.poll());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFeedCantHaveMoreThanItsTotal() throws Exception {
+        QuestionFeed feed = QuestionFeed.of(questions);
+        feed.add(questions[0]);
+    }
+}
@@ -1,5 +1,10 @@
 package com.quizme.test;
 
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.*;
 import com.quizme.generator.models.Topic;
 import com.quizme.generator.models.Question;
@@ -88,4 +93,88 @@ public class QuestionGeneratorTest {
 
         Assert.assertTrue(differentTopic);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParallelGenerationGeneratesEveryRequestedQuestion() throws Exception {
+        int requestedAmount = 5000;
+        Question[] questions = questionGenerator.generateQuestionsParallel(Topic.ALGEBRA, Difficulty.HARD, requestedAmount, true);
+
+        Assert.assertEquals(requestedAmount, questions.length);
+
+        for (Question q : questions) {
+            Assert.assertNotNull(q);
+            Assert.assertEquals(Topic.ALGEBRA, q.getTopic());
+            Assert.assertTrue(q.isMultiChoice());
+        }
+    }
+
+    @Test
+    public void testParallelMixedGenerationGeneratesEveryRequestedQuestion() throws Exception {
+        int requestedAmount = 1000;
+        Question[] questions = questionGenerator.generateQuestionsParallel(Difficulty.EASY, requestedAmount, false);
+        boolean allGenerated = true;
+
+        for (Question q : questions) {
+            if (q == null || q.getDifficulty() != Difficulty.EASY) {
+                allGenerated = false;
+                break;
+            }
+        }
+
+        Assert.assertEquals(requestedAmount, questions.length);
+        Assert.assertTrue(allGenerated);
+    }
+
+    @Test
+    public void testQuestionStreamOnlyGeneratesWhatIsConsumed() throws Exception {
+        long shapesCount = questionGenerator.stream(Topic.SHAPES, Difficulty.HARD, true)
+                .limit(20)
+                .filter(q -> q.getTopic() == Topic.SHAPES && q.isMultiChoice())
+                .count();
+
+        Assert.assertEquals(20, shapesCount);
+    }
+
+    @Test
+    public void testMixedQuestionIteratorNeverRunsOut() throws Exception {
+        Iterator<Question> questions = questionGenerator.iterator(null, Difficulty.MEDIUM, false);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(questions.hasNext());
+            Assert.assertEquals(Difficulty.MEDIUM, questions.next().getDifficulty());
+        }
+
+        Assert.assertTrue(questionGenerator.stream(Difficulty.EASY, false).limit(50)
+                .map(Question::getTopic).collect(Collectors.toSet()).size() > 1);
+    }
+
+    @Test
+    public void testDefaultGeneratorCanBeSharedBetweenThreads() throws Exception {
+        QuestionGenerator shared = QuestionGenerator.getDefault();
+        Assert.assertSame(shared, QuestionGenerator.getDefault());
+
+        Thread[] threads = new Thread[8];
+        AtomicInteger generated = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 200; j++) {
+                        generated.addAndGet(shared.generateQuestions(Difficulty.HARD, 5, true).length);
+                    }
+                } catch (Throwable ex) {
+                    failure.set(ex);
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertNull(failure.get());
+        Assert.assertEquals(threads.length * 200 * 5, generated.get());
+    }
+}
@@ -0,0 +1,99 @@
+package com.quizme.test;
+
+import java.util.Set;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionPool;
+import com.quizme.generator.provider.QuestionGenerator;
+
+public class QuestionPoolTest {
+
+    private QuestionPool questionPool;
+
+    @Before
+    public void setUp() {
+        //Refills run straight away on the calling thread
+        questionPool = new QuestionPool(new QuestionGenerator(), Runnable::run, 20, 10);
+    }
+
+    private void assertQuestions(Question[] questions, int amount, Topic topic, Difficulty difficulty, boolean isMultiChoice) {
+        Assert.assertEquals(amount, questions.length);
+
+        for (Question question : questions) {
+            Assert.assertNotNull(question);
+            Assert.assertEquals(difficulty, question.getDifficulty());
+            Assert.assertEquals(isMultiChoice, question.isMultiChoice());
+
+            if (topic != null) {
+                Assert.assertEquals(topic, question.getTopic());
+            }
+        }
+    }
+
+    @Test
+    public void testWarmUpFillsEveryPool() throws Exception {
+        questionPool.warmUp();
+
+        for (Topic topic : new Topic[] {null, Topic.ALGEBRA, Topic.SHAPES}) {
+            for (Difficulty difficulty : new Difficulty[] {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD}) {
+                Assert.assertEquals(20, questionPool.size(topic, difficulty, true));
+                Assert.assertEquals(20, questionPool.size(topic, difficulty, false));
+            }
+
+            //The setup screen can't ask for NOT_APPLICABLE questions, so they aren't generated ahead of time
+            Assert.assertEquals(0, questionPool.size(topic, Difficulty.NOT_APPLICABLE, true));
+            Assert.assertEquals(0, questionPool.size(topic, Difficulty.NOT_APPLICABLE, false));
+        }
+    }
+
+    @Test
+    public void testPoolIsRefilledBelowTheLowWaterMark() throws Exception {
+        questionPool.warmUp();
+
+        assertQuestions(questionPool.take(Topic.SHAPES, Difficulty.HARD, 5, true), 5, Topic.SHAPES, Difficulty.HARD, true);
+        Assert.assertEquals(15, questionPool.size(Topic.SHAPES, Difficulty.HARD, true));
+
+        assertQuestions(questionPool.take(Topic.SHAPES, Difficulty.HARD, 6, true), 6, Topic.SHAPES, Difficulty.HARD, true);
+        Assert.assertEquals(20, questionPool.size(Topic.SHAPES, Difficulty.HARD, true));
+    }
+
+    @Test
+    public void testEmptyPoolStillReturnsEveryQuestion() throws Exception {
+        assertQuestions(questionPool.take(null, Difficulty.EASY, 50, false), 50, null, Difficulty.EASY, false);
+        assertQuestions(questionPool.take(Topic.ALGEBRA, Difficulty.MEDIUM, 0, false), 0, Topic.ALGEBRA, Difficulty.MEDIUM, false);
+    }
+
+    @Test
+    public void testConcurrentTakesNeverShareQuestions() throws Exception {
+        ExecutorService refiller = Executors.newSingleThreadExecutor();
+        ExecutorService takers = Executors.newFixedThreadPool(4);
+        QuestionPool pool = new QuestionPool(new QuestionGenerator(), refiller, 50, 25);
+        Set<Question> seen = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+
+        try {
+            pool.warmUp();
+
+            for (int i = 0; i < 200; i++) {
+                takers.execute(() -> {
+                    for (Question question : pool.take(Topic.ALGEBRA, Difficulty.EASY, 7, false)) {
+                        Assert.assertTrue(seen.add(question));
+                    }
+                });
+            }
+
+            takers.shutdown();
+            Assert.assertTrue(takers.awaitTermination(30, TimeUnit.SECONDS));
+            Assert.assertEquals(200 * 7, seen.size());
+        } finally {
+            refiller.shutdownNow();
+        }
+    }
+}
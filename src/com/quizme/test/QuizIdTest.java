@@ -0,0 +1,149 @@
+package com.quizme.test;
+
+import org.junit.*;
+import java.util.EnumMap;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.QuizId;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.base.GeneratorModuleProvider;
+import com.quizme.generator.base.AbstractQuestionGenerator;
+import com.quizme.generator.modules.algebra.AlgebraModuleProvider;
+import com.quizme.generator.provider.GeneratorModuleRegistry;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
+
+public class QuizIdTest {
+
+    private QuestionGenerator questionGenerator;
+
+    @Before
+    public void initializeQuestionGenerator() {
+        questionGenerator = new QuestionGenerator();
+    }
+
+    @Test
+    public void testQuizIdIsSixteenBytes() throws Exception {
+        QuizId quizId = questionGenerator.createQuizId(Topic.SHAPES, Difficulty.HARD, 99, true, false);
+        Assert.assertEquals(16, quizId.toBytes().length);
+        Assert.assertEquals(32, quizId.toString().length());
+    }
+
+    @Test
+    public void testQuizIdSurvivesARoundTrip() throws Exception {
+        QuizId quizId = new QuizId(-42L, null, Difficulty.MEDIUM, 25, true);
+
+        Assert.assertEquals(quizId, QuizId.fromBytes(quizId.toBytes()));
+        Assert.assertEquals(quizId, QuizId.parse(quizId.toString()));
+        Assert.assertNull(QuizId.parse(quizId.toString()).getTopic());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQuizIdIsRejected() throws Exception {
+        QuizId.parse("not a quiz id");
+    }
+
+    @Test
+    public void testSameQuizIdGeneratesTheSameQuestions() throws Exception {
+        QuizId quizId = new QuizId(1234L, null, Difficulty.HARD, 40, true);
+
+        Question[] first = questionGenerator.generateQuiz(quizId);
+        Question[] second = new QuestionGenerator().generateQuiz(quizId);
+
+        Assert.assertEquals(quizId.getAmount(), first.length);
+
+        for (int i = 0; i < first.length; i++) {
+            Assert.assertEquals(first[i].getQuestion(), second[i].getQuestion());
+            Assert.assertEquals(first[i].getAnswer(), second[i].getAnswer());
+            Assert.assertArrayEquals(first[i].getMultipleChoices(), second[i].getMultipleChoices());
+            Assert.assertEquals(first[i].hasImage(), second[i].hasImage());
+
+            if (first[i].hasImage()) {
+                Assert.assertArrayEquals(first[i].getRasterImage().getPixels(), second[i].getRasterImage().getPixels());
+            }
+        }
+    }
+
+    @Test
+    public void testDifferentSeedsGenerateDifferentQuestions() throws Exception {
+        Question[] first = questionGenerator.generateQuiz(new QuizId(1L, Topic.ALGEBRA, Difficulty.EASY, 10, false));
+        Question[] second = questionGenerator.generateQuiz(new QuizId(2L, Topic.ALGEBRA, Difficulty.EASY, 10, false));
+        boolean different = false;
+
+        for (int i = 0; i < first.length; i++) {
+            if (!first[i].getQuestion().equals(second[i].getQuestion())) {
+                different = true;
+            }
+        }
+
+        Assert.assertTrue(different);
+    }
+
+    @Test
+    public void testSettingsHashSurvivesARoundTrip() throws Exception {
+        QuizId quizId = new QuizId(7L, Topic.SHAPES, Difficulty.EASY, 10, false, true, 0xBEEF);
+
+        Assert.assertEquals(0xBEEF, QuizId.fromBytes(quizId.toBytes()).getSettingsHash());
+        Assert.assertEquals(quizId, QuizId.parse(quizId.toString()));
+        Assert.assertNotEquals(quizId, new QuizId(7L, Topic.SHAPES, Difficulty.EASY, 10, false, true, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyQuestionsAreRejected() throws Exception {
+        new QuizId(1L, null, Difficulty.EASY, QuizId.MAX_AMOUNT + 1, false);
+    }
+
+    @Test
+    public void testDefaultSettingsHashToZero() throws Exception {
+        Assert.assertEquals(0, questionGenerator.getSettingsHash(null));
+        Assert.assertEquals(0, questionGenerator.createQuizId(Topic.SHAPES, Difficulty.EASY, 5, false, false).getSettingsHash());
+    }
+
+    @Test
+    public void testQuizWithDifferentShapeWeightsIsRejected() throws Exception {
+        QuestionGenerator weightedGenerator = createWeightedShapesGenerator();
+        QuizId quizId = weightedGenerator.createQuizId(Topic.SHAPES, Difficulty.EASY, 5, false, false);
+
+        Assert.assertNotEquals(0, quizId.getSettingsHash());
+        Assert.assertEquals(5, weightedGenerator.generateQuiz(quizId).length);
+
+        try {
+            questionGenerator.generateQuiz(quizId);
+            Assert.fail("A quiz created with different shape weights was generated");
+        } catch (IllegalArgumentException ex) {
+            //Expected
+        }
+    }
+
+    @Test
+    public void testShapeWeightsDontAffectAlgebraQuizzes() throws Exception {
+        QuizId quizId = createWeightedShapesGenerator().createQuizId(Topic.ALGEBRA, Difficulty.EASY, 5, false, false);
+
+        Assert.assertEquals(0, quizId.getSettingsHash());
+        Assert.assertEquals(5, questionGenerator.generateQuiz(quizId).length);
+    }
+
+    private static QuestionGenerator createWeightedShapesGenerator() {
+        EnumMap<ShapeType, Double> weights = new EnumMap<>(ShapeType.class);
+        weights.put(ShapeType.RECTANGLE, 3.0);
+        weights.put(ShapeType.TRIANGLE, 1.0);
+
+        GeneratorModuleProvider weightedShapes = new GeneratorModuleProvider() {
+            @Override
+            public Topic getTopic() {
+                return Topic.SHAPES;
+            }
+
+            @Override
+            public AbstractQuestionGenerator create() {
+                return new ShapesQuestionGenerator(weights);
+            }
+        };
+
+        GeneratorModuleRegistry registry = new GeneratorModuleRegistry(Arrays.asList(new AlgebraModuleProvider(), weightedShapes));
+        return new QuestionGenerator(registry, ForkJoinPool.commonPool());
+    }
+}
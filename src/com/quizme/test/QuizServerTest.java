@@ -0,0 +1,149 @@
+package com.quizme.test;
+
+import java.net.URL;
+import java.net.URLEncoder;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.*;
+import com.quizme.server.QuizServer;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.QuizId;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.grading.GradingService;
+import com.quizme.generator.provider.QuestionGenerator;
+
+public class QuizServerTest {
+
+    private QuizServer quizServer;
+    private QuestionGenerator questionGenerator;
+
+    @Before
+    public void setUp() throws Exception {
+        questionGenerator = new QuestionGenerator();
+        quizServer = new QuizServer(new InetSocketAddress("localhost", 0), questionGenerator, new GradingService());
+        quizServer.start();
+    }
+
+    @After
+    public void tearDown() {
+        quizServer.stop(0);
+    }
+
+    private HttpURLConnection open(String path) throws Exception {
+        URL url = new URL("http", "localhost", quizServer.getAddress().getPort(), path);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private static byte[] readFully(HttpURLConnection connection) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (InputStream in = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testQuizIsGenerated() throws Exception {
+        HttpURLConnection connection = open("/quiz?topic=algebra&difficulty=medium&amount=5&multiChoice=true");
+        String json = new String(readFully(connection), StandardCharsets.UTF_8);
+
+        Assert.assertEquals(200, connection.getResponseCode());
+        Assert.assertTrue(connection.getContentType().startsWith("application/json"));
+        Assert.assertTrue(json.contains("\"index\":4"));
+        Assert.assertTrue(json.contains("\"choices\":["));
+    }
+
+    @Test
+    public void testQuizIsGradedFromItsId() throws Exception {
+        QuizId quizId = questionGenerator.createQuizId(null, Difficulty.EASY, 4, false, false);
+        Question[] questions = questionGenerator.generateQuiz(quizId);
+
+        HttpURLConnection connection = open("/grade");
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+
+        String body = "quiz=" + quizId + "&answer=" + URLEncoder.encode(questions[0].getAnswer(), "UTF-8")
+                + "&answer=wrong";
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String json = new String(readFully(connection), StandardCharsets.UTF_8);
+        Assert.assertEquals(200, connection.getResponseCode());
+        Assert.assertTrue(json, json.contains("\"correct\":[true,false,false,false]"));
+        Assert.assertTrue(json, json.contains("\"score\":{\"correct\":1,\"total\":4,\"percentage\":25.0}"));
+    }
+
+    @Test
+    public void testImageIsServedAsPng() throws Exception {
+        QuizId quizId = questionGenerator.createQuizId(Topic.SHAPES, Difficulty.HARD, 2, false, false);
+        HttpURLConnection connection = open("/image?quiz=" + quizId + "&index=1");
+        byte[] png = readFully(connection);
+
+        Assert.assertEquals(200, connection.getResponseCode());
+        Assert.assertEquals("image/png", connection.getContentType());
+        Assert.assertEquals((byte) 0x89, png[0]);
+        Assert.assertEquals('P', png[1]);
+    }
+
+    @Test
+    public void testImagesDoNotRegenerateTheQuiz() throws Exception {
+        AtomicInteger generatedQuizzes = new AtomicInteger();
+        AtomicInteger readQuestions = new AtomicInteger();
+        QuestionGenerator countingGenerator = new QuestionGenerator() {
+            @Override
+            public Question[] generateQuiz(QuizId quizId) {
+                generatedQuizzes.incrementAndGet();
+                return super.generateQuiz(quizId);
+            }
+
+            @Override
+            public Question readQuestion(long record) {
+                readQuestions.incrementAndGet();
+                return super.readQuestion(record);
+            }
+        };
+
+        QuizServer countingServer = new QuizServer(new InetSocketAddress("localhost", 0), countingGenerator, new GradingService());
+        countingServer.start();
+
+        try {
+            QuizId quizId = countingGenerator.createQuizId(Topic.SHAPES, Difficulty.EASY, QuizServer.MAX_AMOUNT, false, false);
+
+            for (int i = 0; i < 5; i++) {
+                URL url = new URL("http", "localhost", countingServer.getAddress().getPort(), "/image?quiz=" + quizId + "&index=" + i);
+                Assert.assertEquals(200, ((HttpURLConnection) url.openConnection()).getResponseCode());
+            }
+
+            Assert.assertEquals(1, generatedQuizzes.get());
+            //Every image is rendered from a copy of its question, so the cached quiz never holds an image
+            Assert.assertEquals(5, readQuestions.get());
+        } finally {
+            countingServer.stop(0);
+        }
+    }
+
+    @Test
+    public void testInvalidRequestsAreRejected() throws Exception {
+        Assert.assertEquals(400, open("/quiz?amount=0").getResponseCode());
+        Assert.assertEquals(400, open("/quiz?difficulty=impossible").getResponseCode());
+        Assert.assertEquals(400, open("/image?quiz=1234&index=0").getResponseCode());
+
+        HttpURLConnection connection = open("/grade");
+        Assert.assertEquals(405, connection.getResponseCode());
+    }
+}
@@ -0,0 +1,54 @@
+package com.quizme.test;
+
+import org.junit.*;
+import com.quizme.generator.rendering.LazyImage;
+import com.quizme.generator.rendering.ShapeRenderer;
+import com.quizme.generator.rendering.ShapeImageKey;
+import com.quizme.generator.rendering.ShapeImageCache;
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+
+public class ShapeImageCacheTest {
+
+    private ShapeImageCache cache;
+
+    @Before
+    public void initializeCache() {
+        cache = new ShapeImageCache(2);
+    }
+
+    private LazyImage getRectangle(int width, int height, int angle) {
+        ShapeImageKey key = new ShapeImageKey(ShapeType.RECTANGLE, Units.CM, angle, width, height);
+        return cache.get(key, () -> ShapeRenderer.drawRectangle(width + "cm", height + "cm", angle));
+    }
+
+    @Test
+    public void testIdenticalShapesShareOneImage() throws Exception {
+        LazyImage first = getRectangle(3, 4, 10);
+        LazyImage second = getRectangle(3, 4, 10);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testDifferentAnglesAreCachedSeparately() throws Exception {
+        Assert.assertNotSame(getRectangle(3, 4, 10), getRectangle(3, 4, 11));
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedImageIsEvicted() throws Exception {
+        LazyImage first = getRectangle(3, 4, 0);
+        getRectangle(5, 6, 0);
+
+        //Uses the first image again so the second one becomes the least recently used
+        getRectangle(3, 4, 0);
+        getRectangle(7, 8, 0);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertSame(first, getRectangle(3, 4, 0));
+    }
+}
@@ -0,0 +1,130 @@
+package com.quizme.test;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.io.IOException;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.rendering.ShapeImageKey;
+import com.quizme.generator.rendering.ShapeImageStore;
+import com.quizme.generator.rendering.ShapeImageStoreWriter;
+import com.quizme.generator.modules.shapes.models.Units;
+import com.quizme.generator.modules.shapes.models.ShapeType;
+import com.quizme.generator.modules.shapes.base.ShapeQuestion;
+import com.quizme.generator.modules.shapes.modules.TriangleQuestionGenerator;
+import com.quizme.generator.modules.shapes.modules.RectangleQuestionGenerator;
+
+public class ShapeImageStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Every image the modules can generate would take minutes to render, so only some of the angles are used
+     */
+    private List<ShapeQuestion> getSomeImageQuestions() {
+        List<ShapeQuestion> questions = new ArrayList<>();
+        List<ShapeQuestion> rectangles = new ArrayList<>();
+        new TriangleQuestionGenerator().forEachImageQuestion(Difficulty.EASY, 15, question -> {
+            if (question.getAngle() % 45 == 0) {
+                questions.add(question);
+            }
+        });
+
+        new RectangleQuestionGenerator().forEachImageQuestion(Difficulty.EASY, 15, question -> {
+            if (question.getAngle() == 30 && rectangles.size() < 40) {
+                rectangles.add(question);
+            }
+        });
+
+        questions.addAll(rectangles);
+        return questions;
+    }
+
+    private ShapeImageStore writeStore(Path path, List<ShapeQuestion> questions) throws IOException {
+        List<ShapeImageKey> keys = new ArrayList<>();
+        questions.forEach(question -> keys.add(question.getImageKey()));
+
+        new ShapeImageStoreWriter(Runnable::run).write(path, keys, 15, key -> {
+            for (ShapeQuestion question : questions) {
+                if (question.getImageKey().equals(key)) {
+                    return question.renderImage();
+                }
+            }
+
+            throw new AssertionError("Unexpected key " + key);
+        });
+
+        return ShapeImageStore.open(path);
+    }
+
+    @Test
+    public void testStoredImagesAreIdenticalToDrawnImages() throws Exception {
+        List<ShapeQuestion> questions = getSomeImageQuestions();
+        ShapeImageStore store = writeStore(folder.newFile("shapes.store").toPath(), questions);
+
+        Assert.assertEquals(questions.size(), store.size());
+
+        for (ShapeQuestion question : questions) {
+            RasterImage drawn = question.renderImage();
+            RasterImage stored = store.get(question.getImageKey());
+
+            Assert.assertEquals(drawn.getWidth(), stored.getWidth());
+            Assert.assertEquals(drawn.getHeight(), stored.getHeight());
+            Assert.assertArrayEquals(drawn.getPixels(), stored.getPixels());
+        }
+    }
+
+    @Test
+    public void testImagesThatArentStoredAreMissing() throws Exception {
+        ShapeImageStore store = writeStore(folder.newFile("shapes.store").toPath(), getSomeImageQuestions());
+
+        Assert.assertNull(store.get(new ShapeImageKey(ShapeType.TRIANGLE, Units.CM, 1, 13, 12, 5)));
+        Assert.assertFalse(store.contains(new ShapeImageKey(ShapeType.RECTANGLE, Units.M, 30, 5000, 3)));
+        Assert.assertTrue(store.contains(new ShapeImageKey(ShapeType.RECTANGLE, Units.CM, 30, 3, 3)));
+    }
+
+    @Test
+    public void testStoresKeepTheirAngleStep() throws Exception {
+        Assert.assertEquals(15, writeStore(folder.newFile("shapes.store").toPath(), getSomeImageQuestions()).getAngleStep());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAnglesBetweenStepsAreRejected() throws Exception {
+        List<ShapeImageKey> keys = Arrays.asList(new ShapeImageKey(ShapeType.RECTANGLE, Units.CM, 20, 3, 4));
+        new ShapeImageStoreWriter(Runnable::run).write(folder.newFile("shapes.store").toPath(), keys, 15,
+                key -> { throw new AssertionError("Unexpected key " + key); });
+    }
+
+    @Test
+    public void testEachImageIsOnlyStoredOnce() throws Exception {
+        List<ShapeQuestion> questions = getSomeImageQuestions();
+        List<ShapeQuestion> duplicated = new ArrayList<>(questions);
+        duplicated.addAll(questions);
+
+        Assert.assertEquals(questions.size(), writeStore(folder.newFile("shapes.store").toPath(), duplicated).size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testFilesThatArentStoresAreRejected() throws Exception {
+        Path path = folder.newFile("shapes.store").toPath();
+        Files.write(path, new byte[4096]);
+        ShapeImageStore.open(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedStoresAreRejected() throws Exception {
+        Path path = folder.newFile("shapes.store").toPath();
+        writeStore(path, getSomeImageQuestions());
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+        ShapeImageStore.open(path);
+    }
+}
@@ -0,0 +1,86 @@
+package com.quizme.test;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.*;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.rendering.LazyImage;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.rendering.ShapeRenderer;
+import com.quizme.generator.modules.shapes.base.ShapesQuestionGenerator;
+
+public class ShapeRendererTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int GREEN = 0xFF008000;
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    public void testUnrotatedRectangleIsDrawnOnTheFullCanvas() throws Exception {
+        RasterImage image = ShapeRenderer.drawRectangle("10cm", "20cm", 0);
+
+        Assert.assertEquals(350, image.getWidth());
+        Assert.assertEquals(350, image.getHeight());
+        Assert.assertEquals(WHITE, image.getArgb(5, 5));
+        Assert.assertEquals(GREEN, image.getArgb(140, 180));
+    }
+
+    @Test
+    public void testRotatedTriangleImageGrowsToFitTheRotatedCanvas() throws Exception {
+        RasterImage image = ShapeRenderer.drawTriangle("4cm", "5cm", "3cm", 45);
+
+        Assert.assertTrue(image.getWidth() > 350);
+        Assert.assertEquals(image.getWidth(), image.getHeight());
+        Assert.assertEquals(WHITE, image.getArgb(0, 0));
+    }
+
+    @Test
+    public void testTriangleIsDrawnInRed() throws Exception {
+        RasterImage image = ShapeRenderer.drawTriangle("4cm", "5cm", "3cm", 0);
+        Assert.assertEquals(RED, image.getArgb(120, 250));
+    }
+
+    @Test
+    public void testShapeQuestionsCanBeGeneratedOffTheFxThread() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        ShapesQuestionGenerator generator = new ShapesQuestionGenerator();
+        List<Future<Question[]>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> generator.generateQuestions(5, Difficulty.HARD, true)));
+            }
+
+            for (Future<Question[]> result : results) {
+                for (Question q : result.get()) {
+                    Assert.assertNotNull(q.getRasterImage());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLazyImageIsOnlyRenderedOnceWhenFirstRequested() throws Exception {
+        AtomicInteger renderCount = new AtomicInteger();
+        LazyImage image = new LazyImage(() -> {
+            renderCount.incrementAndGet();
+            return ShapeRenderer.drawRectangle("3m", "4m", 10);
+        });
+
+        Assert.assertFalse(image.isRendered());
+        Assert.assertEquals(0, renderCount.get());
+
+        RasterImage first = image.getRaster();
+        Assert.assertTrue(image.isRendered());
+        Assert.assertSame(first, image.getRaster());
+        Assert.assertEquals(1, renderCount.get());
+    }
+}
\ No newline at end of file
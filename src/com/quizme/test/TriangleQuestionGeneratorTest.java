@@ -0,0 +1,55 @@
+package com.quizme.test;
+
+import java.util.Set;
+import java.util.HashSet;
+
+import org.junit.*;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.modules.shapes.modules.TriangleQuestion;
+import com.quizme.generator.modules.shapes.modules.TriangleQuestionGenerator;
+
+public class TriangleQuestionGeneratorTest {
+
+    private TriangleQuestionGenerator generator;
+
+    @Before
+    public void setUp() {
+        generator = new TriangleQuestionGenerator();
+    }
+
+    @Test
+    public void testEveryTriangleIsARightAngledTriangle() throws Exception {
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < 2000; i++) {
+                TriangleQuestion question = (TriangleQuestion) generator.generateQuestion(difficulty, true);
+                int hypotenuse = question.getHypotenuse();
+                int adjacent = question.getAdjacent();
+                int opposite = question.getOpposite();
+
+                Assert.assertTrue(hypotenuse > adjacent && adjacent > opposite && opposite >= 3);
+                Assert.assertEquals(hypotenuse, Math.round(Math.hypot(adjacent, opposite)));
+            }
+        }
+    }
+
+    @Test
+    public void testSidesStayWithinTheDifficultyMaximums() throws Exception {
+        int[][] maximums = {{25, 15, 5}, {35, 15, 4}, {42, 22, 11}};
+        Difficulty[] difficulties = {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD};
+
+        for (int d = 0; d < difficulties.length; d++) {
+            Set<String> triangles = new HashSet<>();
+
+            for (int i = 0; i < 5000; i++) {
+                TriangleQuestion question = (TriangleQuestion) generator.generateQuestion(difficulties[d], false);
+                Assert.assertTrue(question.getHypotenuse() <= maximums[d][0]);
+                Assert.assertTrue(question.getAdjacent() <= maximums[d][1]);
+                Assert.assertTrue(question.getOpposite() <= maximums[d][2]);
+                triangles.add(question.getHypotenuse() + "/" + question.getAdjacent() + "/" + question.getOpposite());
+            }
+
+            //The easiest difficulties still have a variety of triangles
+            Assert.assertTrue(triangles.size() >= 10);
+        }
+    }
+}
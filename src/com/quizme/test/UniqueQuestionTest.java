@@ -0,0 +1,111 @@
+package com.quizme.test;
+
+import java.util.Set;
+import java.util.Map;
+import java.util.HashSet;
+import java.util.HashMap;
+
+import org.junit.*;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.QuizId;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.AnswerKey;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.provider.UniqueQuestionGenerator;
+import com.quizme.generator.provider.QuestionSpaceExhaustedException;
+import com.quizme.generator.uniqueness.BloomQuestionFilter;
+import com.quizme.generator.uniqueness.ExactQuestionFilter;
+
+public class UniqueQuestionTest {
+
+    private QuestionGenerator questionGenerator;
+
+    @Before
+    public void setUp() {
+        questionGenerator = new QuestionGenerator();
+    }
+
+    @Test
+    public void testQuestionsWithTheSameFingerprintAskTheSameThing() throws Exception {
+        for (Topic topic : Topic.values()) {
+            Map<Long, Question> byFingerprint = new HashMap<>();
+
+            for (Question question : questionGenerator.generateQuestions(topic, Difficulty.EASY, 20000, false)) {
+                Question previous = byFingerprint.putIfAbsent(question.getFingerprint(), question);
+
+                if (previous != null) {
+                    Assert.assertEquals(previous.getAnswerKey(), question.getAnswerKey());
+                    Assert.assertEquals(previous.getTopic(), question.getTopic());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUniqueQuizNeverRepeatsAQuestion() throws Exception {
+        QuizId quizId = questionGenerator.createQuizId(null, Difficulty.EASY, 300, true, true);
+        Question[] questions = questionGenerator.generateQuiz(quizId);
+        Set<Long> fingerprints = new HashSet<>();
+
+        for (Question question : questions) {
+            Assert.assertTrue(fingerprints.add(question.getFingerprint()));
+        }
+
+        //The quiz id still regenerates the same questions
+        Question[] regenerated = questionGenerator.generateQuiz(QuizId.parse(quizId.toString()));
+        for (int i = 0; i < questions.length; i++) {
+            Assert.assertEquals(questions[i].getQuestion(), regenerated[i].getQuestion());
+            Assert.assertEquals(questions[i].getAnswer(), regenerated[i].getAnswer());
+        }
+    }
+
+    @Test
+    public void testRunningOutOfQuestionsIsReported() throws Exception {
+        UniqueQuestionGenerator generator = new UniqueQuestionGenerator(questionGenerator, new ExactQuestionFilter());
+        generator.generateQuestions(Topic.SHAPES, Difficulty.EASY, 10, false);
+        Assert.assertFalse(generator.isNearlyExhausted());
+
+        try {
+            generator.generateQuestions(Topic.SHAPES, Difficulty.EASY, 1000000, false);
+            Assert.fail("Generated more unique questions than there are");
+        } catch (QuestionSpaceExhaustedException ex) {
+            Assert.assertEquals(Difficulty.EASY, ex.getDifficulty());
+            Assert.assertEquals(generator.getFilter().size(), ex.getUniqueCount());
+        }
+
+        Assert.assertTrue(generator.isNearlyExhausted());
+    }
+
+    @Test
+    public void testFilterIsSharedAcrossCalls() throws Exception {
+        UniqueQuestionGenerator generator = new UniqueQuestionGenerator(questionGenerator, new ExactQuestionFilter());
+        Set<Long> fingerprints = new HashSet<>();
+
+        for (int i = 0; i < 10; i++) {
+            for (Question question : generator.generateQuestions(Topic.ALGEBRA, Difficulty.HARD, 50, false)) {
+                Assert.assertTrue(fingerprints.add(question.getFingerprint()));
+            }
+        }
+
+        Assert.assertEquals(500, generator.getFilter().size());
+    }
+
+    @Test
+    public void testBloomFilterRejectsEveryRepeat() throws Exception {
+        int amount = 100000;
+        BloomQuestionFilter filter = new BloomQuestionFilter(amount, 0.01);
+        int falsePositives = 0;
+
+        for (long i = 0; i < amount; i++) {
+            falsePositives += filter.add(i * 31) ? 0 : 1;
+        }
+
+        for (long i = 0; i < amount; i++) {
+            Assert.assertFalse(filter.add(i * 31));
+        }
+
+        Assert.assertTrue("False positives " + falsePositives, falsePositives < amount * 0.02);
+        Assert.assertEquals(amount - falsePositives, filter.size());
+    }
+}
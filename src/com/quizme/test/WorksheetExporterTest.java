@@ -0,0 +1,168 @@
+package com.quizme.test;
+
+import java.util.List;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.*;
+import javax.imageio.ImageIO;
+import com.quizme.generator.models.Topic;
+import com.quizme.generator.models.Question;
+import com.quizme.generator.models.Difficulty;
+import com.quizme.generator.rendering.RasterImage;
+import com.quizme.generator.export.WorksheetItem;
+import com.quizme.generator.export.WorksheetWriter;
+import com.quizme.generator.export.WorksheetExporter;
+import com.quizme.generator.provider.QuestionGenerator;
+import com.quizme.generator.export.PdfWorksheetWriter;
+import com.quizme.generator.export.HtmlWorksheetWriter;
+
+public class WorksheetExporterTest {
+
+    private static final int AMOUNT = 40;
+
+    private List<Question> questions;
+
+    @Before
+    public void initializeQuestions() {
+        questions = new ArrayList<>();
+        new QuestionGenerator().stream(Difficulty.MEDIUM, true).limit(AMOUNT).forEach(questions::add);
+    }
+
+    private static int count(String text, String find) {
+        Matcher matcher = Pattern.compile(Pattern.quote(find)).matcher(text);
+        int count = 0;
+
+        while (matcher.find()) {
+            count++;
+        }
+
+        return count;
+    }
+
+    @Test
+    public void testHtmlWorksheetAndAnswers() throws IOException {
+        ByteArrayOutputStream worksheet = new ByteArrayOutputStream();
+        ByteArrayOutputStream answers = new ByteArrayOutputStream();
+
+        try (WorksheetWriter worksheetWriter = new HtmlWorksheetWriter(worksheet, "Worksheet", false);
+             WorksheetWriter answersWriter = new HtmlWorksheetWriter(answers, "Answers", true)) {
+            int exported = new WorksheetExporter(Runnable::run, 1).export(questions.iterator(), AMOUNT, worksheetWriter, answersWriter);
+            Assert.assertEquals(AMOUNT, exported);
+        }
+
+        String worksheetHtml = new String(worksheet.toByteArray(), StandardCharsets.UTF_8);
+        String answersHtml = new String(answers.toByteArray(), StandardCharsets.UTF_8);
+        long imageCount = questions.stream().filter(Question::hasImage).count();
+
+        Assert.assertTrue(worksheetHtml.endsWith("</html>\n"));
+        Assert.assertEquals(AMOUNT, count(worksheetHtml, "<li value="));
+        Assert.assertEquals(imageCount, count(worksheetHtml, "data:image/png;base64,"));
+        Assert.assertEquals(AMOUNT, count(answersHtml, "<p class=\"answer\">"));
+        Assert.assertEquals(0, count(answersHtml, "<img"));
+        Assert.assertEquals(-1, worksheetHtml.indexOf('\0'));
+
+        for (int i = 0; i < questions.size(); i++) {
+            WorksheetItem item = WorksheetItem.of(i + 1, questions.get(i), 0, 0);
+            String answer = WorksheetItem.getChoiceLetter(item.getAnswerChoice()) + ") ";
+            Assert.assertTrue(answersHtml.contains("<li value=\"" + (i + 1) + "\"><p>"));
+            Assert.assertTrue(answersHtml.contains(answer));
+        }
+    }
+
+    @Test
+    public void testChoicesContainAnswer() {
+        for (int i = 0; i < questions.size(); i++) {
+            WorksheetItem item = WorksheetItem.of(i + 1, questions.get(i), 0, 0);
+            Assert.assertEquals(questions.get(i).getAnswer(), item.getChoice(item.getAnswerChoice()));
+            Assert.assertEquals(questions.get(i).getMultipleChoices().length + 1, item.getChoiceCount());
+        }
+    }
+
+    @Test
+    public void testPngImagesMatchPixels() throws IOException {
+        Question question = questions.stream().filter(Question::hasImage).findFirst().orElse(null);
+        Assume.assumeNotNull(question);
+
+        RasterImage image = question.getRasterImage();
+        byte[] png = Base64.getDecoder().decode(new HtmlWorksheetWriter(new ByteArrayOutputStream(), "", false).encodeImage(image));
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(png));
+
+        Assert.assertEquals(image.getWidth(), decoded.getWidth());
+        Assert.assertEquals(image.getHeight(), decoded.getHeight());
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                Assert.assertEquals(image.getArgb(x, y) & 0xFFFFFF, decoded.getRGB(x, y) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @Test
+    public void testPdfStructure() throws IOException {
+        ByteArrayOutputStream worksheet = new ByteArrayOutputStream();
+
+        try (WorksheetWriter writer = new PdfWorksheetWriter(worksheet, "Worksheet", false)) {
+            new WorksheetExporter(Runnable::run, 1).export(questions.iterator(), AMOUNT, writer);
+        }
+
+        String pdf = new String(worksheet.toByteArray(), StandardCharsets.ISO_8859_1);
+        Assert.assertTrue(pdf.startsWith("%PDF-1.4"));
+        Assert.assertTrue(pdf.endsWith("%%EOF\n"));
+
+        Matcher startXref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(pdf);
+        Assert.assertTrue(startXref.find());
+        Assert.assertTrue(pdf.startsWith("xref", Integer.parseInt(startXref.group(1))));
+        Assert.assertTrue(count(pdf, "/Type /Page ") > 0);
+    }
+
+    @Test
+    public void testPdfItemsStayAboveTheBottomMargin() throws IOException {
+        Question question = new QuestionGenerator().generateQuestions(Topic.SHAPES, Difficulty.MEDIUM, 1, false)[0];
+        Pattern positions = Pattern.compile("([\\d.]+) Td |([\\d.]+) cm /Im");
+
+        //Questions with an image and no choices are the tallest items, every image height fills the pages differently
+        for (int imageHeight = 100; imageHeight <= 500; imageHeight += 5) {
+            ByteArrayOutputStream worksheet = new ByteArrayOutputStream();
+
+            try (WorksheetWriter writer = new PdfWorksheetWriter(worksheet, "Worksheet", false)) {
+                for (int i = 1; i <= 20; i++) {
+                    writer.write(WorksheetItem.of(i, question, 350, imageHeight), new byte[1]);
+                }
+            }
+
+            Matcher matcher = positions.matcher(new String(worksheet.toByteArray(), StandardCharsets.ISO_8859_1));
+
+            while (matcher.find()) {
+                String y = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                Assert.assertTrue("An item is drawn at y=" + y, Double.parseDouble(y) >= 50);
+            }
+        }
+    }
+
+    @Test
+    public void testStopsWhenQuestionsRunOut() throws IOException {
+        Iterator<Question> fewer = questions.subList(0, 5).iterator();
+
+        try (WorksheetWriter writer = new HtmlWorksheetWriter(new ByteArrayOutputStream(), "Worksheet", false)) {
+            Assert.assertEquals(5, new WorksheetExporter(Runnable::run, 1).export(fewer, AMOUNT, writer));
+        }
+    }
+
+    @Test
+    public void testExportsAtMostAmount() throws IOException {
+        Iterator<Question> endless = new QuestionGenerator().iterator(Topic.ALGEBRA, Difficulty.EASY, false);
+
+        try (WorksheetWriter writer = new HtmlWorksheetWriter(new ByteArrayOutputStream(), "Worksheet", false)) {
+            Assert.assertEquals(7, new WorksheetExporter().export(endless, 7, writer));
+        }
+    }
+}